@@ -0,0 +1,112 @@
+package mx.unam.ciencias.edd.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link ArbolAVL} y {@link ArbolRojinegro}: construir el árbol agregando
+ * todos los elementos, buscar, y eliminar un elemento y volverlo a agregar, para que el
+ * árbol mantenga su tamaño entre invocaciones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolBenchmark {
+
+  /** Los árboles que se miden. */
+  public enum Tipo {
+    /** {@link ArbolAVL}. */
+    AVL,
+    /** {@link ArbolRojinegro}. */
+    ROJINEGRO;
+
+    /**
+     * Regresa un árbol vacío de este tipo.
+     * @return el árbol.
+     */
+    ArbolBinarioOrdenado<Integer> nuevo() {
+      return this == AVL ? new ArbolAVL<>() : new ArbolRojinegro<>();
+    }
+  }
+
+  /* El número de elementos. */
+  @Param({ "1000", "10000", "100000" })
+  public int n;
+  /* La distribución de los elementos. */
+  @Param
+  public Distribucion distribucion;
+  /* El árbol que se mide. */
+  @Param
+  public Tipo tipo;
+
+  /* Los elementos. */
+  private Integer[] elementos;
+  /* Un árbol con los elementos. */
+  private ArbolBinarioOrdenado<Integer> arbol;
+  /* Generador para escoger elementos. */
+  private Random random;
+
+  /** Genera los elementos y el árbol. */
+  @Setup
+  public void prepara() {
+    int[] llaves = distribucion.llaves(n, 42);
+    elementos = new Integer[n];
+    arbol = tipo.nuevo();
+    for (int i = 0; i < n; i++) {
+      elementos[i] = llaves[i];
+      arbol.agrega(elementos[i]);
+    }
+    random = new Random(42);
+  }
+
+  /**
+   * Agrega todos los elementos a un árbol vacío.
+   * @return el árbol.
+   */
+  @Benchmark
+  public ArbolBinarioOrdenado<Integer> agrega() {
+    ArbolBinarioOrdenado<Integer> a = tipo.nuevo();
+    for (Integer e : elementos)
+      a.agrega(e);
+    return a;
+  }
+
+  /**
+   * Busca un elemento que está en el árbol.
+   * @return el vértice del elemento.
+   */
+  @Benchmark
+  public VerticeArbolBinario<Integer> busca() {
+    return arbol.busca(elementos[random.nextInt(n)]);
+  }
+
+  /**
+   * Elimina un elemento del árbol y lo vuelve a agregar.
+   * @return el árbol.
+   */
+  @Benchmark
+  public ArbolBinarioOrdenado<Integer> eliminaAgrega() {
+    Integer e = elementos[random.nextInt(n)];
+    arbol.elimina(e);
+    arbol.agrega(e);
+    return arbol;
+  }
+}
@@ -0,0 +1,59 @@
+package mx.unam.ciencias.edd.jmh;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark de {@link Arreglos#quickSort}. El pivote es el primer elemento, así que con
+ * entradas ordenadas o inversas el tiempo es cuadrático y la recursión tiene profundidad
+ * n; por eso los tamaños son menores que en los otros benchmarks y la pila es más grande.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+public class ArreglosBenchmark {
+
+  /* El número de elementos. */
+  @Param({ "1000", "10000" })
+  public int n;
+  /* La distribución de los elementos. */
+  @Param
+  public Distribucion distribucion;
+
+  /* Los elementos sin ordenar. */
+  private Integer[] elementos;
+
+  /** Genera los elementos. */
+  @Setup
+  public void prepara() {
+    int[] llaves = distribucion.llaves(n, 42);
+    elementos = new Integer[n];
+    for (int i = 0; i < n; i++)
+      elementos[i] = llaves[i];
+  }
+
+  /**
+   * Ordena una copia de los elementos.
+   * @return la copia ordenada.
+   */
+  @Benchmark
+  public Integer[] quickSort() {
+    Integer[] a = elementos.clone();
+    Arreglos.quickSort(a, (x, y) -> x.compareTo(y));
+    return a;
+  }
+}
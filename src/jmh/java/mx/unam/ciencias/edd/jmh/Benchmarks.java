@@ -0,0 +1,33 @@
+package mx.unam.ciencias.edd.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de <code>target/benchmarks.jar</code>. Acepta las mismas opciones que
+ * el <code>Main</code> de JMH, pero siempre agrega el perfilador de GC para reportar la
+ * tasa de asignación (<code>gc.alloc.rate.norm</code>) junto con los tiempos.
+ * <p>
+ * Se construye con <code>mvn -P jmh package</code> y se ejecuta, por ejemplo, con
+ * <code>java -jar target/benchmarks.jar Diccionario -p n=100000</code>.
+ */
+public class Benchmarks {
+
+  /* Constructor privado para evitar instanciación. */
+  private Benchmarks() {}
+
+  /**
+   * Corre los benchmarks que coincidan con los argumentos.
+   * @param args las opciones de JMH.
+   * @throws RunnerException si falla algún benchmark.
+   * @throws CommandLineOptionException si las opciones son inválidas.
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions opciones = new CommandLineOptions(args);
+    new Runner(new OptionsBuilder().parent(opciones).addProfiler(GCProfiler.class).build()).run();
+  }
+}
@@ -0,0 +1,100 @@
+package mx.unam.ciencias.edd.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Diccionario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link Diccionario}: agregar con y sin crecer, búsquedas exitosas con
+ * <code>get</code> y búsquedas con <code>contiene</code> que fallan la mitad de las veces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiccionarioBenchmark {
+
+  /* El número de llaves. */
+  @Param({ "1000", "10000", "100000" })
+  public int n;
+  /* La distribución de las llaves. */
+  @Param
+  public Distribucion distribucion;
+
+  /* Las llaves. */
+  private Integer[] llaves;
+  /* Un diccionario con las llaves. */
+  private Diccionario<Integer, Integer> diccionario;
+  /* Generador para las búsquedas. */
+  private Random random;
+
+  /** Genera las llaves y el diccionario. */
+  @Setup
+  public void prepara() {
+    int[] l = distribucion.llaves(n, 42);
+    llaves = new Integer[n];
+    diccionario = new Diccionario<>();
+    for (int i = 0; i < n; i++) {
+      llaves[i] = l[i];
+      diccionario.agrega(llaves[i], i);
+    }
+    random = new Random(42);
+  }
+
+  /**
+   * Agrega todas las llaves a un diccionario con la capacidad por omisión, así que se
+   * incluye el costo de crecer.
+   * @return el diccionario.
+   */
+  @Benchmark
+  public Diccionario<Integer, Integer> agrega() {
+    Diccionario<Integer, Integer> d = new Diccionario<>();
+    for (int i = 0; i < n; i++)
+      d.agrega(llaves[i], i);
+    return d;
+  }
+
+  /**
+   * Agrega todas las llaves a un diccionario creado con capacidad suficiente; la
+   * diferencia con {@link #agrega} es el costo de crecer.
+   * @return el diccionario.
+   */
+  @Benchmark
+  public Diccionario<Integer, Integer> agregaSinCrecer() {
+    Diccionario<Integer, Integer> d = new Diccionario<>(n);
+    for (int i = 0; i < n; i++)
+      d.agrega(llaves[i], i);
+    return d;
+  }
+
+  /**
+   * Busca una llave que está en el diccionario.
+   * @return el valor.
+   */
+  @Benchmark
+  public Integer get() {
+    return diccionario.get(llaves[random.nextInt(n)]);
+  }
+
+  /**
+   * Busca una llave que está en el diccionario la mitad de las veces.
+   * @return si está.
+   */
+  @Benchmark
+  public boolean contiene() {
+    return diccionario.contiene(random.nextBoolean() ? llaves[random.nextInt(n)] : random.nextInt());
+  }
+}
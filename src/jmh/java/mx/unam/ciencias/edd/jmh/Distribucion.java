@@ -0,0 +1,38 @@
+package mx.unam.ciencias.edd.jmh;
+
+import java.util.Random;
+
+/**
+ * Distribuciones de las llaves con las que se alimentan los benchmarks.
+ */
+public enum Distribucion {
+
+  /** Enteros uniformes en todo el rango. */
+  ALEATORIA,
+  /** 0, 1, ..., n-1. */
+  ORDENADA,
+  /** n-1, n-2, ..., 0. */
+  INVERSA,
+  /** Enteros uniformes en [0, n/16), así que cada uno se repite unas 16 veces. */
+  REPETIDA;
+
+  /**
+   * Genera las llaves con esta distribución.
+   * @param n el número de llaves.
+   * @param semilla la semilla del generador, para que todas las corridas usen las mismas.
+   * @return un arreglo con las llaves.
+   */
+  public int[] llaves(int n, long semilla) {
+    Random random = new Random(semilla);
+    int[] llaves = new int[n];
+    for (int i = 0; i < n; i++) {
+      switch (this) {
+      case ALEATORIA: llaves[i] = random.nextInt(); break;
+      case ORDENADA:  llaves[i] = i; break;
+      case INVERSA:   llaves[i] = n - 1 - i; break;
+      default:        llaves[i] = random.nextInt(Math.max(1, n / 16));
+      }
+    }
+    return llaves;
+  }
+}
@@ -0,0 +1,96 @@
+package mx.unam.ciencias.edd.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link Lista}: agregar, acceso por índice, recorrido y MergeSort.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListaBenchmark {
+
+  /* El número de elementos. */
+  @Param({ "1000", "10000", "100000" })
+  public int n;
+  /* La distribución de los elementos. */
+  @Param
+  public Distribucion distribucion;
+
+  /* Los elementos. */
+  private Integer[] elementos;
+  /* Una lista con los elementos. */
+  private Lista<Integer> lista;
+  /* Generador para los índices de get(i). */
+  private Random random;
+
+  /** Genera los elementos y la lista. */
+  @Setup
+  public void prepara() {
+    int[] llaves = distribucion.llaves(n, 42);
+    elementos = new Integer[n];
+    lista = new Lista<>();
+    for (int i = 0; i < n; i++) {
+      elementos[i] = llaves[i];
+      lista.agrega(elementos[i]);
+    }
+    random = new Random(42);
+  }
+
+  /**
+   * Agrega todos los elementos a una lista vacía.
+   * @return la lista.
+   */
+  @Benchmark
+  public Lista<Integer> agrega() {
+    Lista<Integer> l = new Lista<>();
+    for (Integer e : elementos)
+      l.agrega(e);
+    return l;
+  }
+
+  /**
+   * Obtiene el elemento de un índice aleatorio.
+   * @return el elemento.
+   */
+  @Benchmark
+  public Integer get() {
+    return lista.get(random.nextInt(n));
+  }
+
+  /**
+   * Recorre la lista con su iterador.
+   * @param hoyo donde se consumen los elementos.
+   */
+  @Benchmark
+  public void recorre(Blackhole hoyo) {
+    for (Integer e : lista)
+      hoyo.consume(e);
+  }
+
+  /**
+   * Ordena la lista con MergeSort.
+   * @return la lista ordenada.
+   */
+  @Benchmark
+  public Lista<Integer> mergeSort() {
+    return lista.mergeSort((a, b) -> a.compareTo(b));
+  }
+}
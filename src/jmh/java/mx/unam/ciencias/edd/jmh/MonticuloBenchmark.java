@@ -0,0 +1,118 @@
+package mx.unam.ciencias.edd.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloArreglo;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+import mx.unam.ciencias.edd.ValorIndexable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks de {@link MonticuloMinimo} y {@link MonticuloArreglo}: construirlos a partir
+ * de una colección (heapify), vaciarlos con <code>elimina</code> y, en el mínimo,
+ * <code>reordena</code> después de cambiar un valor. Vaciar incluye construir, así que el
+ * costo de eliminar es la diferencia.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonticuloBenchmark {
+
+  /* El número de elementos. */
+  @Param({ "1000", "10000", "100000" })
+  public int n;
+  /* La distribución de los valores. */
+  @Param
+  public Distribucion distribucion;
+
+  /* Los elementos. */
+  private Lista<ValorIndexable<Integer>> elementos;
+  /* Los elementos de monticulo, aparte porque los otros montículos cambian sus índices. */
+  private ValorIndexable<Integer>[] arreglo;
+  /* Un montículo mínimo con los elementos. */
+  private MonticuloMinimo<ValorIndexable<Integer>> monticulo;
+  /* Generador para reordena. */
+  private Random random;
+
+  /** Genera los elementos y el montículo. */
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void prepara() {
+    int[] valores = distribucion.llaves(n, 42);
+    elementos = new Lista<>();
+    Lista<ValorIndexable<Integer>> copia = new Lista<>();
+    arreglo = (ValorIndexable<Integer>[]) new ValorIndexable[n];
+    for (int i = 0; i < n; i++) {
+      elementos.agrega(new ValorIndexable<>(i, valores[i]));
+      arreglo[i] = new ValorIndexable<>(i, valores[i]);
+      copia.agrega(arreglo[i]);
+    }
+    monticulo = new MonticuloMinimo<>(copia, n);
+    random = new Random(42);
+  }
+
+  /**
+   * Construye un montículo mínimo con todos los elementos.
+   * @return el montículo.
+   */
+  @Benchmark
+  public MonticuloMinimo<ValorIndexable<Integer>> heapifyMinimo() {
+    return new MonticuloMinimo<>(elementos, n);
+  }
+
+  /**
+   * Construye un montículo de arreglo con todos los elementos.
+   * @return el montículo.
+   */
+  @Benchmark
+  public MonticuloArreglo<ValorIndexable<Integer>> heapifyArreglo() {
+    return new MonticuloArreglo<>(elementos, n);
+  }
+
+  /**
+   * Construye un montículo mínimo y lo vacía.
+   * @param hoyo donde se consumen los elementos.
+   */
+  @Benchmark
+  public void eliminaMinimo(Blackhole hoyo) {
+    MonticuloMinimo<ValorIndexable<Integer>> m = new MonticuloMinimo<>(elementos, n);
+    while (!m.esVacia())
+      hoyo.consume(m.elimina());
+  }
+
+  /**
+   * Construye un montículo de arreglo y lo vacía.
+   * @param hoyo donde se consumen los elementos.
+   */
+  @Benchmark
+  public void eliminaArreglo(Blackhole hoyo) {
+    MonticuloArreglo<ValorIndexable<Integer>> m = new MonticuloArreglo<>(elementos, n);
+    while (!m.esVacia())
+      hoyo.consume(m.elimina());
+  }
+
+  /**
+   * Cambia el valor de un elemento al azar del montículo mínimo y lo reordena.
+   */
+  @Benchmark
+  public void reordena() {
+    ValorIndexable<Integer> e = arreglo[random.nextInt(n)];
+    e.setValor(random.nextInt());
+    monticulo.reordena(e);
+  }
+}
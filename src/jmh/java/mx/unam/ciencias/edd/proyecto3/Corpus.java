@@ -0,0 +1,74 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Laberinto fijo de los benchmarks del flujo completo: se genera con DFS y una semilla, y
+ * se guardan los bytes de su archivo .mze y la matriz de enteros que recibe
+ * {@link Maze#build(int[][])}.
+ *
+ * @author Yael Lozano
+ */
+final class Corpus {
+  /** Número de columnas y de renglones. */
+  final int size;
+  /** La semilla. */
+  final long seed;
+  /** Los bytes del archivo .mze. */
+  final byte[] bytes;
+  /** La cuadrícula como matriz, un entero por celda. */
+  final int[][] matrix;
+
+  /**
+   * Genera el laberinto.
+   *
+   * @param size número de columnas y de renglones
+   * @param seed la semilla
+   */
+  Corpus(int size, long seed) {
+    this.size = size;
+    this.seed = seed;
+    try {
+      Maze maze = new Maze();
+      maze.build(size, size, seed);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      maze.saveMaze(out);
+      bytes = out.toByteArray();
+      Grid grid = read().getGrid();
+      matrix = new int[size][size];
+      for (int y = 0; y < size; y++)
+        for (int x = 0; x < size; x++)
+          matrix[y][x] = grid.get(grid.index(x, y));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Lee el archivo .mze, como {@link Main#read} de la entrada estándar.
+   *
+   * @return el lector con la cuadrícula leída
+   * @throws IOException nunca, los bytes están en memoria y son válidos
+   */
+  MazeReader read() throws IOException {
+    MazeReader reader = new MazeReader();
+    reader.read(new ByteArrayInputStream(bytes));
+    return reader;
+  }
+
+  /**
+   * Regresa un laberinto construido con la matriz, sin resolver.
+   *
+   * @return el laberinto
+   */
+  Maze maze() {
+    Maze maze = new Maze();
+    maze.width = size;
+    maze.height = size;
+    maze.build(matrix);
+    return maze;
+  }
+}
@@ -0,0 +1,58 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark de {@link Maze#solve} con cada {@link Engine} sobre los mismos laberintos que
+ * {@link PipelineBenchmark}, incluyendo construir la gráfica en los motores que la usan.
+ *
+ * @author Yael Lozano
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+  /** Número de columnas y de renglones. */
+  @Param({ "31", "127", "255" })
+  public int size;
+  /** La semilla del laberinto. */
+  @Param({ "1", "42", "2023" })
+  public long seed;
+  /** El motor. */
+  @Param
+  public Engine engine;
+
+  /** El laberinto. */
+  private Maze maze;
+
+  /** Construye el laberinto. */
+  @Setup
+  public void setUp() {
+    maze = new Corpus(size, seed).maze();
+    maze.engine = engine;
+  }
+
+  /**
+   * Resuelve el laberinto.
+   *
+   * @return la solución
+   */
+  @Benchmark
+  public int[] solve() {
+    return maze.solve();
+  }
+}
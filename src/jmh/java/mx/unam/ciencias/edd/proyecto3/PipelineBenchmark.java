@@ -0,0 +1,194 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de cada etapa del flujo de <code>proyecto3</code> por separado y del flujo
+ * completo, sobre laberintos fijos ({@link Corpus}) de varios tamaños hasta 255x255. Cada
+ * etapa empieza de lo que dejaría la anterior, preparado fuera de la medición; como
+ * {@link Maze#connectEm} necesita una gráfica sin aristas, se mide junto con
+ * {@link Maze#createGraph} y su costo es la diferencia.
+ * <p>
+ * Con <code>java -jar target/benchmarks.jar Pipeline</code> se reporta además la tasa de
+ * asignación de cada etapa.
+ *
+ * @author Yael Lozano
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+  /** Número de columnas y de renglones. */
+  @Param({ "31", "127", "255" })
+  public int size;
+  /** La semilla del laberinto. */
+  @Param({ "1", "42", "2023" })
+  public long seed;
+
+  /** El laberinto fijo. */
+  private Corpus corpus;
+  /** Laberinto construido de la matriz, sin gráfica. */
+  private Maze built;
+  /** Laberinto con la gráfica completa. */
+  private Maze connected;
+  /** Laberinto ya resuelto. */
+  private Maze solved;
+  /** Laberinto generado, para guardarlo. */
+  private Maze generated;
+  /** Flujo que descarta lo que se escribe. */
+  private final OutputStream sink = OutputStream.nullOutputStream();
+
+  /** Prepara el laberinto fijo y lo que necesita cada etapa. */
+  @Setup
+  public void setUp() {
+    corpus = new Corpus(size, seed);
+    built = corpus.maze();
+    connected = corpus.maze();
+    connected.createGraph();
+    connected.connectEm();
+    solved = corpus.maze();
+    solved.solve();
+    generated = new Maze();
+    generated.build(size, size, seed);
+  }
+
+  /**
+   * Lee el archivo .mze.
+   *
+   * @return el lector
+   * @throws IOException nunca
+   */
+  @Benchmark
+  public MazeReader read() throws IOException {
+    return corpus.read();
+  }
+
+  /**
+   * Construye el laberinto de la matriz de enteros.
+   *
+   * @return el laberinto
+   */
+  @Benchmark
+  public Maze buildMatrix() {
+    return corpus.maze();
+  }
+
+  /**
+   * Agrega las celdas como vértices de la gráfica.
+   *
+   * @return el laberinto
+   */
+  @Benchmark
+  public Maze createGraph() {
+    built.createGraph();
+    return built;
+  }
+
+  /**
+   * Agrega las celdas como vértices y las conecta.
+   *
+   * @return el laberinto
+   */
+  @Benchmark
+  public Maze createGraphConnectEm() {
+    built.createGraph();
+    built.connectEm();
+    return built;
+  }
+
+  /**
+   * Busca la trayectoria mínima entre los extremos con Dijkstra en la gráfica.
+   *
+   * @return la trayectoria
+   */
+  @Benchmark
+  public Lista<VerticeGrafica<Integer>> dijkstra() {
+    return connected.graph().dijkstra(connected.start, connected.end);
+  }
+
+  /**
+   * Dibuja el laberinto sin la solución.
+   *
+   * @return el SVG
+   */
+  @Benchmark
+  public String drawMaze() {
+    return solved.drawMaze(false);
+  }
+
+  /**
+   * Dibuja la solución.
+   *
+   * @return el SVG
+   */
+  @Benchmark
+  public String drawSolution() {
+    return solved.drawSolution();
+  }
+
+  /**
+   * Genera un laberinto con DFS.
+   *
+   * @return el laberinto
+   */
+  @Benchmark
+  public Maze generate() {
+    generated.generate();
+    return generated;
+  }
+
+  /**
+   * Guarda el laberinto generado en formato .mze.
+   *
+   * @throws IOException nunca
+   */
+  @Benchmark
+  public void saveMaze() throws IOException {
+    generated.saveMaze(sink);
+  }
+
+  /**
+   * Flujo completo de resolver con la gráfica: leer, construir, resolver con Dijkstra y
+   * dibujar el SVG.
+   *
+   * @throws IOException nunca
+   */
+  @Benchmark
+  public void solvePipeline() throws IOException {
+    MazeReader reader = corpus.read();
+    Maze maze = new Maze();
+    maze.engine = Engine.GRAFICA;
+    maze.build(reader.getGrid(), reader.getStart(), reader.getEnd());
+    maze.writeMaze(sink, true);
+  }
+
+  /**
+   * Flujo completo de generar: generar con DFS y guardar.
+   *
+   * @throws IOException nunca
+   */
+  @Benchmark
+  public void generatePipeline() throws IOException {
+    Maze maze = new Maze();
+    maze.build(size, size, seed);
+    maze.saveMaze(sink);
+  }
+}
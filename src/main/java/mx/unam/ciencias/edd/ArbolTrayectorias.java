@@ -0,0 +1,60 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Interfaz para árboles de trayectorias mínimas en una gráfica, desde un
+ * elemento de origen. Cada vértice alcanzado conoce a su predecesor en el
+ * árbol, así que una trayectoria se obtiene siguiendo a los predecesores
+ * desde el destino. Las trayectorias se calculan bajo demanda: cada consulta
+ * continúa la búsqueda sólo hasta definir al elemento pedido, por lo que
+ * varias consultas desde el mismo origen reutilizan el trabajo previo.</p>
+ *
+ * <p>El árbol sólo es válido mientras la gráfica no sea modificada ni se
+ * realice otra búsqueda en ella.</p>
+ */
+public interface ArbolTrayectorias<T> {
+
+    /**
+     * Regresa el elemento de origen del árbol.
+     * @return el elemento de origen del árbol.
+     */
+    public T getOrigen();
+
+    /**
+     * Regresa la distancia mínima del origen al elemento recibido.
+     * @param destino el elemento de destino.
+     * @return la distancia mínima del origen al elemento, o {@link
+     *         Double#POSITIVE_INFINITY} si están en componentes conexas
+     *         distintas.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     * @throws IllegalStateException si la gráfica fue modificada o se realizó
+     *         otra búsqueda en ella.
+     */
+    public double distancia(T destino);
+
+    /**
+     * Regresa una trayectoria mínima del origen al elemento recibido.
+     * @param destino el elemento de destino.
+     * @return una lista con vértices de la gráfica que forman una trayectoria
+     *         mínima del origen al destino. Si están en componentes conexas
+     *         distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     * @throws IllegalStateException si la gráfica fue modificada o se realizó
+     *         otra búsqueda en ella.
+     */
+    public Lista<VerticeGrafica<T>> trayectoria(T destino);
+
+    /**
+     * Regresa el predecesor del elemento recibido en su trayectoria mínima
+     * desde el origen.
+     * @param elemento el elemento del que queremos el predecesor.
+     * @return el vértice anterior al elemento en su trayectoria mínima, o
+     *         <code>null</code> si el elemento es el origen o no es alcanzable
+     *         desde él.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     * @throws IllegalStateException si la gráfica fue modificada o se realizó
+     *         otra búsqueda en ella.
+     */
+    public VerticeGrafica<T> predecesor(T elemento);
+}
@@ -0,0 +1,337 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase genérica para listas respaldadas por un arreglo.</p>
+ *
+ * <p>A diferencia de {@link Lista}, obtener el <em>i</em>-ésimo elemento
+ * cuesta O(1) y agregar al final cuesta O(1) amortizado sin crear un nodo por
+ * elemento; a cambio, agregar o eliminar en otra posición recorre los
+ * elementos que le siguen. Al limpiar la lista el arreglo conserva su
+ * capacidad, así que una misma lista puede reutilizarse en un ciclo sin
+ * volver a crecer.</p>
+ *
+ * <p>Las listas no aceptan a <code>null</code> como elemento.</p>
+ *
+ * @param <T> El tipo de los elementos de la lista.
+ */
+public class ArrayLista<T> implements Coleccion<T> {
+
+  /* Clase interna privada para iteradores. */
+  private class Iterador implements IteradorLista<T> {
+    /* El índice del elemento siguiente. */
+    private int siguiente;
+
+    /* Construye un nuevo iterador. */
+    private Iterador() {
+      siguiente = 0;
+    }
+
+    /* Nos dice si hay un elemento siguiente. */
+    @Override public boolean hasNext() {
+      return siguiente < longitud;
+    }
+
+    /* Nos da el elemento siguiente. */
+    @Override public T next() {
+      if (!hasNext()) throw new NoSuchElementException("No hay un elemento posterior.");
+      return elemento(siguiente++);
+    }
+
+    /* Nos dice si hay un elemento anterior. */
+    @Override public boolean hasPrevious() {
+      return siguiente > 0;
+    }
+
+    /* Nos da el elemento anterior. */
+    @Override public T previous() {
+      if (!hasPrevious()) throw new NoSuchElementException("No hay un elemento anterior.");
+      return elemento(--siguiente);
+    }
+
+    /* Mueve el iterador al inicio de la lista. */
+    @Override public void start() {
+      siguiente = 0;
+    }
+
+    /* Mueve el iterador al final de la lista. */
+    @Override public void end() {
+      siguiente = longitud;
+    }
+  }
+
+  /* Capacidad inicial del arreglo. */
+  private static final int CAPACIDAD_INICIAL = 16;
+
+  /* Los elementos de la lista; los índices a partir de la longitud son null. */
+  private Object[] elementos;
+  /* Número de elementos en la lista. */
+  private int longitud;
+
+  /**
+   * Construye una lista vacía con la capacidad inicial por omisión.
+   */
+  public ArrayLista() {
+    this(CAPACIDAD_INICIAL);
+  }
+
+  /**
+   * Construye una lista vacía con capacidad para el número de elementos
+   * recibido antes de crecer.
+   * @param capacidad la capacidad inicial.
+   * @throws IllegalArgumentException si la capacidad es negativa.
+   */
+  public ArrayLista(int capacidad) {
+    if (capacidad < 0) throw new IllegalArgumentException("Capacidad inválida.");
+    elementos = new Object[Math.max(capacidad, 1)];
+  }
+
+  /**
+   * Regresa la longitud de la lista. El método es idéntico a {@link
+   * #getElementos}.
+   * @return la longitud de la lista, el número de elementos que contiene.
+   */
+  public int getLongitud() {
+    return longitud;
+  }
+
+  /**
+   * Regresa el número elementos en la lista. El método es idéntico a {@link
+   * #getLongitud}.
+   * @return el número elementos en la lista.
+   */
+  @Override public int getElementos() {
+    return longitud;
+  }
+
+  /**
+   * Nos dice si la lista es vacía.
+   * @return <code>true</code> si la lista es vacía, <code>false</code> en
+   *         otro caso.
+   */
+  @Override public boolean esVacia() {
+    return longitud == 0;
+  }
+
+  /**
+   * Agrega un elemento al final de la lista, duplicando el arreglo si está
+   * lleno. El método es idéntico a {@link #agregaFinal}.
+   * @param elemento el elemento a agregar.
+   * @throws IllegalArgumentException si <code>elemento</code> es
+   *         <code>null</code>.
+   */
+  @Override public void agrega(T elemento) {
+    if (elemento == null) throw new IllegalArgumentException("El elemento es null.");
+    if (longitud == elementos.length) crece(longitud + 1);
+    elementos[longitud++] = elemento;
+  }
+
+  /**
+   * Agrega un elemento al final de la lista. El método es idéntico a {@link
+   * #agrega}.
+   * @param elemento el elemento a agregar.
+   * @throws IllegalArgumentException si <code>elemento</code> es
+   *         <code>null</code>.
+   */
+  public void agregaFinal(T elemento) {
+    agrega(elemento);
+  }
+
+  /**
+   * Inserta un elemento en un índice explícito, recorriendo los elementos a
+   * partir de ese índice. Si el índice es menor o igual que cero, el elemento
+   * se agrega al inicio de la lista; si es mayor o igual que el número de
+   * elementos, se agrega al final.
+   * @param i el índice dónde insertar el elemento.
+   * @param elemento el elemento a insertar.
+   * @throws IllegalArgumentException si <code>elemento</code> es
+   *         <code>null</code>.
+   */
+  public void inserta(int i, T elemento) {
+    if (elemento == null) throw new IllegalArgumentException("El elemento es null.");
+    if (i >= longitud) { agrega(elemento); return; }
+    if (i < 0) i = 0;
+    if (longitud == elementos.length) crece(longitud + 1);
+    System.arraycopy(elementos, i, elementos, i + 1, longitud - i);
+    elementos[i] = elemento;
+    longitud++;
+  }
+
+  /**
+   * Elimina la primera aparición de un elemento de la lista, recorriendo los
+   * elementos que le siguen. Si el elemento no está contenido en la lista,
+   * el método no la modifica.
+   * @param elemento el elemento a eliminar.
+   */
+  @Override public void elimina(T elemento) {
+    int i = indiceDe(elemento);
+    if (i != -1) eliminaIndice(i);
+  }
+
+  /**
+   * Elimina el elemento en el índice recibido y lo regresa, recorriendo los
+   * elementos que le siguen.
+   * @param i el índice del elemento a eliminar.
+   * @return el elemento eliminado.
+   * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+   *         igual que el número de elementos en la lista.
+   */
+  public T eliminaIndice(int i) {
+    T elemento = get(i);
+    System.arraycopy(elementos, i + 1, elementos, i, longitud - i - 1);
+    elementos[--longitud] = null;
+    return elemento;
+  }
+
+  /**
+   * Elimina el último elemento de la lista y lo regresa.
+   * @return el último elemento de la lista antes de eliminarlo.
+   * @throws NoSuchElementException si la lista es vacía.
+   */
+  public T eliminaUltimo() {
+    if (longitud == 0) throw new NoSuchElementException("La lista esta vacia.");
+    T elemento = elemento(--longitud);
+    elementos[longitud] = null;
+    return elemento;
+  }
+
+  /**
+   * Nos dice si un elemento está en la lista.
+   * @param elemento el elemento que queremos saber si está en la lista.
+   * @return <code>true</code> si <code>elemento</code> está en la lista,
+   *         <code>false</code> en otro caso.
+   */
+  @Override public boolean contiene(T elemento) {
+    return indiceDe(elemento) != -1;
+  }
+
+  /**
+   * Limpia la lista de elementos, dejándola vacía. El arreglo conserva su
+   * capacidad.
+   */
+  @Override public void limpia() {
+    for (int i = 0; i < longitud; i++)
+      elementos[i] = null;
+    longitud = 0;
+  }
+
+  /**
+   * Regresa el primer elemento de la lista.
+   * @return el primer elemento de la lista.
+   * @throws NoSuchElementException si la lista es vacía.
+   */
+  public T getPrimero() {
+    if (longitud == 0) throw new NoSuchElementException("La lista esta vacia.");
+    return elemento(0);
+  }
+
+  /**
+   * Regresa el último elemento de la lista.
+   * @return el último elemento de la lista.
+   * @throws NoSuchElementException si la lista es vacía.
+   */
+  public T getUltimo() {
+    if (longitud == 0) throw new NoSuchElementException("La lista esta vacia.");
+    return elemento(longitud - 1);
+  }
+
+  /**
+   * Regresa el <em>i</em>-ésimo elemento de la lista.
+   * @param i el índice del elemento que queremos.
+   * @return el <em>i</em>-ésimo elemento de la lista.
+   * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+   *         igual que el número de elementos en la lista.
+   */
+  public T get(int i) {
+    if (i < 0 || i >= longitud) throw new ExcepcionIndiceInvalido("Indice invalido.");
+    return elemento(i);
+  }
+
+  /**
+   * Reemplaza el <em>i</em>-ésimo elemento de la lista.
+   * @param i el índice del elemento a reemplazar.
+   * @param elemento el nuevo elemento.
+   * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+   *         igual que el número de elementos en la lista.
+   * @throws IllegalArgumentException si <code>elemento</code> es
+   *         <code>null</code>.
+   */
+  public void set(int i, T elemento) {
+    if (i < 0 || i >= longitud) throw new ExcepcionIndiceInvalido("Indice invalido.");
+    if (elemento == null) throw new IllegalArgumentException("El elemento es null.");
+    elementos[i] = elemento;
+  }
+
+  /**
+   * Regresa el índice del elemento recibido en la lista.
+   * @param elemento el elemento del que se busca el índice.
+   * @return el índice del elemento recibido en la lista, o -1 si el elemento
+   *         no está contenido en la lista.
+   */
+  public int indiceDe(T elemento) {
+    for (int i = 0; i < longitud; i++)
+      if (elementos[i].equals(elemento)) return i;
+    return -1;
+  }
+
+  /**
+   * Regresa una representación en cadena de la lista.
+   * @return una representación en cadena de la lista.
+   */
+  @Override public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < longitud; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append(elementos[i]);
+    }
+    return sb.append(']').toString();
+  }
+
+  /**
+   * Nos dice si la lista es igual al objeto recibido.
+   * @param objeto el objeto con el que hay que comparar.
+   * @return <code>true</code> si la lista es igual al objeto recibido;
+   *         <code>false</code> en otro caso.
+   */
+  @Override public boolean equals(Object objeto) {
+    if (objeto == null || getClass() != objeto.getClass())
+      return false;
+    @SuppressWarnings("unchecked") ArrayLista<T> lista = (ArrayLista<T>)objeto;
+    if (lista.longitud != longitud) return false;
+    for (int i = 0; i < longitud; i++)
+      if (!elementos[i].equals(lista.elementos[i])) return false;
+    return true;
+  }
+
+  /**
+   * Regresa un iterador para recorrer la lista en una dirección.
+   * @return un iterador para recorrer la lista en una dirección.
+   */
+  @Override public Iterator<T> iterator() {
+    return new Iterador();
+  }
+
+  /**
+   * Regresa un iterador para recorrer la lista en ambas direcciones.
+   * @return un iterador para recorrer la lista en ambas direcciones.
+   */
+  public IteradorLista<T> iteradorLista() {
+    return new Iterador();
+  }
+
+  /* Regresa el elemento en el índice, sin revisarlo. */
+  @SuppressWarnings("unchecked") private T elemento(int i) {
+    return (T) elementos[i];
+  }
+
+  /* Duplica el arreglo hasta que quepan los elementos recibidos. */
+  private void crece(int minimo) {
+    int capacidad = elementos.length;
+    while (capacidad < minimo) capacidad *= 2;
+    Object[] nuevo = new Object[capacidad];
+    System.arraycopy(elementos, 0, nuevo, 0, longitud);
+    elementos = nuevo;
+  }
+}
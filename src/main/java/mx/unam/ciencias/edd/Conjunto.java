@@ -8,7 +8,7 @@ import java.util.Iterator;
 public class Conjunto<T> implements Coleccion<T> {
 
   /* El conjunto de elementos. */
-  private Diccionario<T, T> conjunto;
+  private Mapa<T, T> conjunto;
 
   /**
    * Crea un nuevo conjunto.
@@ -25,6 +25,16 @@ public class Conjunto<T> implements Coleccion<T> {
     conjunto = new Diccionario<>(n);
   }
 
+  /**
+   * Crea un nuevo conjunto para un número determinado de elementos, guardado
+   * en un diccionario del tipo recibido.
+   * @param n el número tentativo de elementos.
+   * @param tipo el tipo de diccionario a utilizar.
+   */
+  public Conjunto(int n, TipoDiccionario tipo) {
+    conjunto = FabricaDiccionarios.diccionario(tipo, n);
+  }
+
   /**
    * Agrega un elemento al conjunto.
    * @param elemento el elemento que queremos agregar al conjunto.
@@ -117,13 +127,16 @@ public class Conjunto<T> implements Coleccion<T> {
    * Nos dice si el conjunto es igual al objeto recibido.
    * @param o el objeto que queremos saber si es igual al conjunto.
    * @return <code>true</code> si el objeto recibido es instancia de Conjunto,
-   *         y tiene los mismos elementos.
+   *         y tiene los mismos elementos, sin importar el tipo de diccionario
+   *         de cada uno.
    */
   @Override public boolean equals(Object o) {
     if (o == null || getClass() != o.getClass())
       return false;
     @SuppressWarnings("unchecked") Conjunto<T> c = (Conjunto<T>)o;
-    return conjunto.equals(c.conjunto);
+    if (c.getElementos() != getElementos()) return false;
+    for (T e : conjunto) if (!c.contiene(e)) return false;
+    return true;
   }
 
   /**
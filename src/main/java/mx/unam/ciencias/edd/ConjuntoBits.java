@@ -0,0 +1,218 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para conjuntos de enteros no negativos representados con un
+ * arreglo de bits: el entero <i>i</i> está en el conjunto si el bit
+ * <i>i</i> está prendido. Cada elemento posible ocupa un solo bit, así que es
+ * la mejor opción para rangos densos, como los índices de las celdas de una
+ * cuadrícula; para enteros dispersos conviene más {@link ConjuntoEnteros}.</p>
+ *
+ * <p>El arreglo crece cuando se agrega un entero mayor a la capacidad.</p>
+ */
+public class ConjuntoBits implements Coleccion<Integer> {
+
+  /* Clase interna privada para iteradores. */
+  private class Iterador implements PrimitiveIterator.OfInt {
+
+    /* El siguiente elemento, -1 si no hay. */
+    private int siguiente;
+
+    /* Construye un nuevo iterador, empezando por el menor elemento. */
+    public Iterador() {
+      siguiente = siguiente(0);
+    }
+
+    /* Nos dice si hay un siguiente elemento. */
+    @Override public boolean hasNext() {
+      return siguiente != -1;
+    }
+
+    /* Regresa el siguiente elemento. */
+    @Override public int nextInt() {
+      if (!hasNext()) throw new NoSuchElementException("No hay siguiente elemento.");
+      int e = siguiente;
+      siguiente = siguiente(e + 1);
+      return e;
+    }
+  }
+
+  /* Los bits del conjunto, 64 por palabra. */
+  private long[] bits;
+  /* Número de elementos. */
+  private int elementos;
+
+  /**
+   * Crea un nuevo conjunto para los enteros de 0 a 63.
+   */
+  public ConjuntoBits() {
+    this(64);
+  }
+
+  /**
+   * Crea un nuevo conjunto para los enteros de 0 a <code>n</code> - 1.
+   * @param n el número tentativo de elementos.
+   * @throws IllegalArgumentException si <code>n</code> es negativo.
+   */
+  public ConjuntoBits(int n) {
+    if (n < 0) throw new IllegalArgumentException("La capacidad no puede ser negativa.");
+    bits = new long[(n + 63) >>> 6];
+  }
+
+  /**
+   * Agrega un elemento al conjunto.
+   * @param elemento el elemento que queremos agregar al conjunto.
+   * @throws IllegalArgumentException si el elemento es negativo.
+   */
+  public void agrega(int elemento) {
+    if (elemento < 0) throw new IllegalArgumentException("El elemento no puede ser negativo.");
+    int p = elemento >>> 6;
+    if (p >= bits.length) crece(p + 1);
+    long b = 1L << elemento;
+    if ((bits[p] & b) == 0) elementos++;
+    bits[p] |= b;
+  }
+
+  /**
+   * Agrega un elemento al conjunto.
+   * @param elemento el elemento que queremos agregar al conjunto.
+   * @throws IllegalArgumentException si el elemento es <code>null</code> o
+   *         negativo.
+   */
+  @Override public void agrega(Integer elemento) {
+    if (elemento == null) throw new IllegalArgumentException("El elemento no puede ser nulo.");
+    agrega(elemento.intValue());
+  }
+
+  /**
+   * Nos dice si el elemento está en el conjunto.
+   * @param elemento el elemento que queremos saber si está en el conjunto.
+   * @return <code>true</code> si el elemento está en el conjunto,
+   *         <code>false</code> en otro caso.
+   */
+  public boolean contiene(int elemento) {
+    int p = elemento >>> 6;
+    return elemento >= 0 && p < bits.length && (bits[p] & (1L << elemento)) != 0;
+  }
+
+  /**
+   * Nos dice si el elemento está en el conjunto.
+   * @param elemento el elemento que queremos saber si está en el conjunto.
+   * @return <code>true</code> si el elemento está en el conjunto,
+   *         <code>false</code> en otro caso.
+   */
+  @Override public boolean contiene(Integer elemento) {
+    return elemento != null && contiene(elemento.intValue());
+  }
+
+  /**
+   * Elimina el elemento del conjunto, si está.
+   * @param elemento el elemento que queremos eliminar del conjunto.
+   */
+  public void elimina(int elemento) {
+    if (!contiene(elemento)) return;
+    bits[elemento >>> 6] &= ~(1L << elemento);
+    elementos--;
+  }
+
+  /**
+   * Elimina el elemento del conjunto, si está.
+   * @param elemento el elemento que queremos eliminar del conjunto.
+   */
+  @Override public void elimina(Integer elemento) {
+    if (elemento != null) elimina(elemento.intValue());
+  }
+
+  /**
+   * Regresa el menor elemento del conjunto que es mayor o igual al recibido.
+   * @param desde el entero desde el que se busca.
+   * @return el menor elemento mayor o igual a <code>desde</code>, o -1 si no
+   *         hay.
+   */
+  public int siguiente(int desde) {
+    if (desde < 0) desde = 0;
+    int p = desde >>> 6;
+    if (p >= bits.length) return -1;
+    long palabra = bits[p] & (-1L << desde);
+    while (palabra == 0) {
+      if (++p == bits.length) return -1;
+      palabra = bits[p];
+    }
+    return (p << 6) + Long.numberOfTrailingZeros(palabra);
+  }
+
+  /**
+   * Nos dice si el conjunto es vacío.
+   * @return <code>true</code> si el conjunto es vacío, <code>false</code> en
+   *         otro caso.
+   */
+  @Override public boolean esVacia() {
+    return elementos == 0;
+  }
+
+  /**
+   * Regresa el número de elementos en el conjunto.
+   * @return el número de elementos en el conjunto.
+   */
+  @Override public int getElementos() {
+    return elementos;
+  }
+
+  /**
+   * Limpia el conjunto de elementos, dejándolo vacío. Conserva la capacidad.
+   */
+  @Override public void limpia() {
+    for (int i = 0; i < bits.length; i++)
+      bits[i] = 0;
+    elementos = 0;
+  }
+
+  /**
+   * Regresa una representación en cadena del conjunto.
+   * @return una representación en cadena del conjunto.
+   */
+  @Override public String toString() {
+    String s = "{ ";
+    int i = elementos;
+    for (int e = siguiente(0); e != -1; e = siguiente(e + 1))
+      s += e + (i-- > 1 ? ", " : " }");
+    return s;
+  }
+
+  /**
+   * Nos dice si el conjunto es igual al objeto recibido.
+   * @param o el objeto que queremos saber si es igual al conjunto.
+   * @return <code>true</code> si el objeto recibido es instancia de
+   *         ConjuntoBits, y tiene los mismos elementos.
+   */
+  @Override public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass())
+      return false;
+    ConjuntoBits c = (ConjuntoBits)o;
+    if (c.elementos != elementos) return false;
+    int m = Math.min(bits.length, c.bits.length);
+    for (int i = 0; i < m; i++)
+      if (bits[i] != c.bits[i]) return false;
+    return true;
+  }
+
+  /**
+   * Regresa un iterador para iterar el conjunto en orden ascendente. El
+   * iterador puede recorrerse sin empacar los elementos con {@link
+   * PrimitiveIterator.OfInt#nextInt}.
+   * @return un iterador para iterar el conjunto.
+   */
+  @Override public PrimitiveIterator.OfInt iterator() {
+    return new Iterador();
+  }
+
+  /* Hace crecer el arreglo para tener al menos el número de palabras
+   * recibido. */
+  private void crece(int palabras) {
+    long[] nuevos = new long[Math.max(palabras, bits.length * 2)];
+    System.arraycopy(bits, 0, nuevos, 0, bits.length);
+    bits = nuevos;
+  }
+}
@@ -0,0 +1,251 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para conjuntos de enteros. Los elementos se guardan en un arreglo
+ * de <code>int</code> con direccionamiento abierto, igual que las llaves de
+ * {@link DiccionarioEnteros}, así que agregar o buscar un elemento no crea
+ * objetos.</p>
+ *
+ * <p>Un índice vacío se marca con el 0, por lo que el 0 se guarda aparte.
+ * Para rangos densos de enteros no negativos, como los índices de las celdas
+ * de una cuadrícula, conviene más {@link ConjuntoBits}.</p>
+ */
+public class ConjuntoEnteros implements Coleccion<Integer> {
+
+  /* Clase interna privada para iteradores. */
+  private class Iterador implements PrimitiveIterator.OfInt {
+
+    /* El índice del siguiente elemento; -1 si sigue el cero. */
+    private int siguiente;
+
+    /* Construye un nuevo iterador, empezando por el cero si está. */
+    public Iterador() {
+      siguiente = -1;
+      if (!cero) mueve();
+    }
+
+    /* Nos dice si hay un siguiente elemento. */
+    @Override public boolean hasNext() {
+      return siguiente < elementos.length;
+    }
+
+    /* Regresa el siguiente elemento. */
+    @Override public int nextInt() {
+      if (!hasNext()) throw new NoSuchElementException("No hay siguiente elemento.");
+      int e = siguiente == -1 ? 0 : elementos[siguiente];
+      mueve();
+      return e;
+    }
+
+    private void mueve() {
+      while (++siguiente < elementos.length && elementos[siguiente] == 0);
+    }
+  }
+
+  /** Máxima carga permitida por el conjunto. */
+  public static final double MAXIMA_CARGA = 0.72;
+
+  /* Capacidad predeterminada, la misma que la de Conjunto. */
+  private static final int CAPACIDAD_PREDETERMINADA = 64;
+  /* Capacidad mínima. */
+  private static final int MINIMA_CAPACIDAD = 2;
+
+  /* Los elementos distintos de cero; un índice vacío tiene 0. */
+  private int[] elementos;
+  /* Nos dice si el 0 está en el conjunto. */
+  private boolean cero;
+  /* Número de elementos. */
+  private int n;
+
+  /**
+   * Crea un nuevo conjunto.
+   */
+  public ConjuntoEnteros() {
+    this(CAPACIDAD_PREDETERMINADA);
+  }
+
+  /**
+   * Crea un nuevo conjunto para un número determinado de elementos.
+   * @param n el número tentativo de elementos.
+   */
+  public ConjuntoEnteros(int n) {
+    n = n < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : n;
+    elementos = new int[Integer.highestOneBit(n * 2 - 1) << 1];
+  }
+
+  /**
+   * Agrega un elemento al conjunto.
+   * @param elemento el elemento que queremos agregar al conjunto.
+   */
+  public void agrega(int elemento) {
+    if (elemento == 0) {
+      if (!cero) n++;
+      cero = true;
+      return;
+    }
+    int i = busca(elemento);
+    if (elementos[i] != 0) return;
+    elementos[i] = elemento;
+    n++;
+    if ((double) n / elementos.length >= MAXIMA_CARGA) reordenar();
+  }
+
+  /**
+   * Agrega un elemento al conjunto.
+   * @param elemento el elemento que queremos agregar al conjunto.
+   * @throws IllegalArgumentException si el elemento es <code>null</code>.
+   */
+  @Override public void agrega(Integer elemento) {
+    if (elemento == null) throw new IllegalArgumentException("El elemento no puede ser nulo.");
+    agrega(elemento.intValue());
+  }
+
+  /**
+   * Nos dice si el elemento está en el conjunto.
+   * @param elemento el elemento que queremos saber si está en el conjunto.
+   * @return <code>true</code> si el elemento está en el conjunto,
+   *         <code>false</code> en otro caso.
+   */
+  public boolean contiene(int elemento) {
+    return elemento == 0 ? cero : elementos[busca(elemento)] != 0;
+  }
+
+  /**
+   * Nos dice si el elemento está en el conjunto.
+   * @param elemento el elemento que queremos saber si está en el conjunto.
+   * @return <code>true</code> si el elemento está en el conjunto,
+   *         <code>false</code> en otro caso.
+   */
+  @Override public boolean contiene(Integer elemento) {
+    return elemento != null && contiene(elemento.intValue());
+  }
+
+  /**
+   * Elimina el elemento del conjunto, si está.
+   * @param elemento el elemento que queremos eliminar del conjunto.
+   */
+  public void elimina(int elemento) {
+    if (elemento == 0) {
+      if (cero) n--;
+      cero = false;
+      return;
+    }
+    int hueco = busca(elemento);
+    if (elementos[hueco] == 0) return;
+    int mascara = elementos.length - 1;
+    for (int j = (hueco + 1) & mascara; elementos[j] != 0; j = (j + 1) & mascara) {
+      int k = indice(elementos[j]);
+      /* El elemento en j puede ocupar el hueco si su índice no está en el
+       * intervalo circular (hueco, j]. */
+      if (((j - k) & mascara) >= ((j - hueco) & mascara)) {
+        elementos[hueco] = elementos[j];
+        hueco = j;
+      }
+    }
+    elementos[hueco] = 0;
+    n--;
+  }
+
+  /**
+   * Elimina el elemento del conjunto, si está.
+   * @param elemento el elemento que queremos eliminar del conjunto.
+   */
+  @Override public void elimina(Integer elemento) {
+    if (elemento != null) elimina(elemento.intValue());
+  }
+
+  /**
+   * Nos dice si el conjunto es vacío.
+   * @return <code>true</code> si el conjunto es vacío, <code>false</code> en
+   *         otro caso.
+   */
+  @Override public boolean esVacia() {
+    return n == 0;
+  }
+
+  /**
+   * Regresa el número de elementos en el conjunto.
+   * @return el número de elementos en el conjunto.
+   */
+  @Override public int getElementos() {
+    return n;
+  }
+
+  /**
+   * Limpia el conjunto de elementos, dejándolo vacío. Conserva la capacidad.
+   */
+  @Override public void limpia() {
+    for (int i = 0; i < elementos.length; i++)
+      elementos[i] = 0;
+    cero = false;
+    n = 0;
+  }
+
+  /**
+   * Regresa una representación en cadena del conjunto.
+   * @return una representación en cadena del conjunto.
+   */
+  @Override public String toString() {
+    String s = "{ ";
+    int i = n;
+    PrimitiveIterator.OfInt it = iterator();
+    while (it.hasNext())
+      s += it.nextInt() + (i-- > 1 ? ", " : " }");
+    return s;
+  }
+
+  /**
+   * Nos dice si el conjunto es igual al objeto recibido.
+   * @param o el objeto que queremos saber si es igual al conjunto.
+   * @return <code>true</code> si el objeto recibido es instancia de
+   *         ConjuntoEnteros, y tiene los mismos elementos.
+   */
+  @Override public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass())
+      return false;
+    ConjuntoEnteros c = (ConjuntoEnteros)o;
+    if (c.n != n || c.cero != cero) return false;
+    for (int e : elementos)
+      if (e != 0 && !c.contiene(e)) return false;
+    return true;
+  }
+
+  /**
+   * Regresa un iterador para iterar el conjunto, sin ningún orden
+   * específico. El iterador puede recorrerse sin empacar los elementos con
+   * {@link PrimitiveIterator.OfInt#nextInt}.
+   * @return un iterador para iterar el conjunto.
+   */
+  @Override public PrimitiveIterator.OfInt iterator() {
+    return new Iterador();
+  }
+
+  /* Regresa el índice que le corresponde al elemento. */
+  private int indice(int elemento) {
+    return (elemento ^ (elemento >>> 16)) & (elementos.length - 1);
+  }
+
+  /* Regresa el índice donde está el elemento, o el primer índice vacío de su
+   * corrida si no está. El elemento no puede ser 0. */
+  private int busca(int elemento) {
+    int mascara = elementos.length - 1;
+    int i = indice(elemento);
+    while (elementos[i] != 0 && elementos[i] != elemento) i = (i + 1) & mascara;
+    return i;
+  }
+
+  private void reordenar() {
+    int[] viejos = elementos;
+    elementos = new int[viejos.length * 2];
+    int mascara = elementos.length - 1;
+    for (int e : viejos) {
+      if (e == 0) continue;
+      int i = indice(e);
+      while (elementos[i] != 0) i = (i + 1) & mascara;
+      elementos[i] = e;
+    }
+  }
+}
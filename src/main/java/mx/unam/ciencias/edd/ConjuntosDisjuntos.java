@@ -0,0 +1,127 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para particiones de los enteros de 0 a <i>n</i> - 1 en conjuntos
+ * disjuntos (<em>union-find</em>). Al inicio cada entero está en su propio
+ * conjunto; {@link #une} junta dos conjuntos y {@link #encuentra} regresa el
+ * representante del conjunto de un entero.</p>
+ *
+ * <p>Se usan unión por rango y compresión de trayectorias, así que cualquier
+ * sucesión de <i>m</i> operaciones toma tiempo <i>O</i>(<i>m</i>
+ * α(<i>n</i>)), donde α es la inversa de la función de Ackermann; en la
+ * práctica, tiempo constante por operación. Toda la estructura vive en dos
+ * arreglos.</p>
+ */
+public class ConjuntosDisjuntos {
+
+  /* El padre de cada entero; los representantes son su propio padre. */
+  private int[] padres;
+  /* Cota superior de la altura del árbol de cada representante. */
+  private byte[] rangos;
+  /* Número de conjuntos. */
+  private int conjuntos;
+
+  /**
+   * Crea una partición de los enteros de 0 a <code>n</code> - 1, cada uno
+   * en su propio conjunto.
+   * @param n el número de enteros.
+   * @throws IllegalArgumentException si <code>n</code> es negativo.
+   */
+  public ConjuntosDisjuntos(int n) {
+    if (n < 0) throw new IllegalArgumentException("El número de elementos no puede ser negativo.");
+    padres = new int[n];
+    rangos = new byte[n];
+    limpia();
+  }
+
+  /**
+   * Regresa la partición a su estado inicial, con cada entero en su propio
+   * conjunto. No crea arreglos nuevos.
+   */
+  public void limpia() {
+    for (int i = 0; i < padres.length; i++) {
+      padres[i] = i;
+      rangos[i] = 0;
+    }
+    conjuntos = padres.length;
+  }
+
+  /**
+   * Regresa el representante del conjunto del entero recibido. De paso, todos
+   * los enteros en el camino al representante quedan apuntando a él.
+   * @param i el entero.
+   * @return el representante de su conjunto.
+   * @throws NoSuchElementException si el entero no está en la partición.
+   */
+  public int encuentra(int i) {
+    valida(i);
+    int r = i;
+    while (padres[r] != r) r = padres[r];
+    while (padres[i] != r) {
+      int p = padres[i];
+      padres[i] = r;
+      i = p;
+    }
+    return r;
+  }
+
+  /**
+   * Une los conjuntos de los dos enteros recibidos. El árbol de menor rango
+   * se cuelga del de mayor rango.
+   * @param i un entero.
+   * @param j otro entero.
+   * @return <code>true</code> si estaban en conjuntos distintos y se unieron,
+   *         <code>false</code> si ya estaban en el mismo conjunto.
+   * @throws NoSuchElementException si alguno de los enteros no está en la
+   *         partición.
+   */
+  public boolean une(int i, int j) {
+    int a = encuentra(i), b = encuentra(j);
+    if (a == b) return false;
+    if (rangos[a] < rangos[b]) {
+      int t = a;
+      a = b;
+      b = t;
+    }
+    padres[b] = a;
+    if (rangos[a] == rangos[b]) rangos[a]++;
+    conjuntos--;
+    return true;
+  }
+
+  /**
+   * Nos dice si los dos enteros recibidos están en el mismo conjunto.
+   * @param i un entero.
+   * @param j otro entero.
+   * @return <code>true</code> si están en el mismo conjunto,
+   *         <code>false</code> en otro caso.
+   * @throws NoSuchElementException si alguno de los enteros no está en la
+   *         partición.
+   */
+  public boolean mismoConjunto(int i, int j) {
+    return encuentra(i) == encuentra(j);
+  }
+
+  /**
+   * Regresa el número de conjuntos en la partición.
+   * @return el número de conjuntos en la partición.
+   */
+  public int getConjuntos() {
+    return conjuntos;
+  }
+
+  /**
+   * Regresa el número de enteros en la partición.
+   * @return el número de enteros en la partición.
+   */
+  public int getElementos() {
+    return padres.length;
+  }
+
+  /* Verifica que el entero esté en la partición. */
+  private void valida(int i) {
+    if (i < 0 || i >= padres.length) throw new NoSuchElementException("El elemento no está en la partición: " + i);
+  }
+}
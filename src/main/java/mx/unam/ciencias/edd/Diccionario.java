@@ -9,7 +9,7 @@ import java.util.NoSuchElementException;
  * concepto de arreglo, mapeando un conjunto de <em>llaves</em> a una colección
  * de <em>valores</em>.
  */
-public class Diccionario<K, V> implements Iterable<V> {
+public class Diccionario<K, V> implements Mapa<K, V> {
 
   /* Clase interna privada para entradas. */
   private class Entrada {
@@ -323,6 +323,7 @@ public class Diccionario<K, V> implements Iterable<V> {
   }
 
   private void reordenar() {
+    EventoReordenar evento = Grabacion.activa() ? new EventoReordenar() : null;
     Lista<Entrada>[] n = nuevoArreglo(entradas.length * 2);
     Iterador it = new Iterador();
     while (it.hasNext()) {
@@ -331,6 +332,7 @@ public class Diccionario<K, V> implements Iterable<V> {
       if (n[i] == null) n[i] = new Lista<Entrada>();
       n[i].agrega(e);
     }
+    if (evento != null) evento.registra("Diccionario", elementos, entradas.length, n.length);
     entradas = n;
   }
 }
@@ -0,0 +1,361 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para diccionarios con direccionamiento abierto (<em>open
+ * addressing</em>). Tiene la misma interfaz que {@link Diccionario}, pero las
+ * llaves y los valores se guardan directamente en dos arreglos paralelos en
+ * lugar de en listas de entradas, así que agregar un elemento no crea
+ * objetos.</p>
+ *
+ * <p>Las colisiones se resuelven con sondeo lineal: si el índice de una llave
+ * está ocupado, se prueba el siguiente, y así sucesivamente. Al eliminar, las
+ * llaves que siguen en la misma corrida se recorren hacia atrás, por lo que no
+ * hacen falta marcas de borrado. La carga nunca supera {@link
+ * #MAXIMA_CARGA}.</p>
+ */
+public class DiccionarioAbierto<K, V> implements Mapa<K, V> {
+
+  /* Clase interna privada para iteradores. */
+  private class Iterador {
+
+    /* El índice del siguiente elemento. */
+    private int siguiente;
+    /* El índice del último elemento regresado. */
+    protected int actual;
+
+    /* Construye un nuevo iterador, empezando por el primer índice
+     * ocupado. */
+    public Iterador() {
+      siguiente = -1;
+      mueve();
+    }
+
+    /* Nos dice si hay un siguiente elemento. */
+    public boolean hasNext() {
+      return siguiente < llaves.length;
+    }
+
+    /* Avanza al siguiente índice ocupado. */
+    protected void avanza() {
+      if (!hasNext()) throw new NoSuchElementException("No hay siguiente elemento.");
+      actual = siguiente;
+      mueve();
+    }
+
+    private void mueve() {
+      while (++siguiente < llaves.length && llaves[siguiente] == null);
+    }
+  }
+
+  /* Clase interna privada para iteradores de llaves. */
+  private class IteradorLlaves extends Iterador
+    implements Iterator<K> {
+
+    /* Regresa el siguiente elemento. */
+    @Override public K next() {
+      avanza();
+      return llave(actual);
+    }
+  }
+
+  /* Clase interna privada para iteradores de valores. */
+  private class IteradorValores extends Iterador
+    implements Iterator<V> {
+
+    /* Regresa el siguiente elemento. */
+    @Override public V next() {
+      avanza();
+      return valor(actual);
+    }
+  }
+
+  /** Máxima carga permitida por el diccionario. */
+  public static final double MAXIMA_CARGA = 0.72;
+
+  /* Capacidad predeterminada, la misma que la de Diccionario. */
+  private static final int CAPACIDAD_PREDETERMINADA = 64;
+  /* Capacidad mínima; los diccionarios abiertos pueden ser pequeños porque
+   * un índice vacío sólo ocupa una referencia. */
+  private static final int MINIMA_CAPACIDAD = 2;
+
+  /* Dispersor. */
+  private Dispersor<K> dispersor;
+  /* Las llaves; un índice vacío tiene null. */
+  private Object[] llaves;
+  /* Los valores, paralelos a las llaves. */
+  private Object[] valores;
+  /* Número de valores. */
+  private int elementos;
+
+  /**
+   * Construye un diccionario con una capacidad inicial y dispersor
+   * predeterminados.
+   */
+  public DiccionarioAbierto() {
+    this(CAPACIDAD_PREDETERMINADA, (K llave) -> llave.hashCode());
+  }
+
+  /**
+   * Construye un diccionario con una capacidad inicial definida por el
+   * usuario, y un dispersor predeterminado.
+   * @param capacidad la capacidad a utilizar.
+   */
+  public DiccionarioAbierto(int capacidad) {
+    this(capacidad, (K llave) -> llave.hashCode());
+  }
+
+  /**
+   * Construye un diccionario con una capacidad inicial predeterminada, y un
+   * dispersor definido por el usuario.
+   * @param dispersor el dispersor a utilizar.
+   */
+  public DiccionarioAbierto(Dispersor<K> dispersor) {
+    this(CAPACIDAD_PREDETERMINADA, dispersor);
+  }
+
+  /**
+   * Construye un diccionario con una capacidad inicial y un método de
+   * dispersor definidos por el usuario. A diferencia de {@link Diccionario},
+   * se respetan capacidades pequeñas, lo que conviene para muchos diccionarios
+   * con pocos elementos, como los vecinos de una gráfica.
+   * @param capacidad la capacidad inicial del diccionario.
+   * @param dispersor el dispersor a utilizar.
+   */
+  public DiccionarioAbierto(int capacidad, Dispersor<K> dispersor) {
+    this.dispersor = dispersor;
+    capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+    int n = Integer.highestOneBit(capacidad * 2 - 1) << 1;
+    llaves = new Object[n];
+    valores = new Object[n];
+  }
+
+  /**
+   * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+   * la llave ya había sido utilizada antes para agregar un valor, el
+   * diccionario reemplaza ese valor con el recibido aquí.
+   * @param llave la llave para agregar el valor.
+   * @param valor el valor a agregar.
+   * @throws IllegalArgumentException si la llave o el valor son nulos.
+   */
+  @Override public void agrega(K llave, V valor) {
+    if (llave == null || valor == null) throw new IllegalArgumentException("La llave y el valor no deben ser nulos.");
+    int i = busca(llave);
+    if (llaves[i] == null) {
+      llaves[i] = llave;
+      elementos++;
+    }
+    valores[i] = valor;
+
+    if (carga() >= MAXIMA_CARGA) reordenar();
+  }
+
+  /**
+   * Regresa el valor del diccionario asociado a la llave proporcionada.
+   * @param llave la llave para buscar el valor.
+   * @return el valor correspondiente a la llave.
+   * @throws IllegalArgumentException si la llave es nula.
+   * @throws NoSuchElementException si la llave no está en el diccionario.
+   */
+  @Override public V get(K llave) {
+    if (llave == null) throw new IllegalArgumentException("La llave no debe ser nula.");
+    int i = busca(llave);
+    if (llaves[i] == null) throw new NoSuchElementException("No existe un elemento con esta llave.");
+    return valor(i);
+  }
+
+  /**
+   * Nos dice si una llave se encuentra en el diccionario.
+   * @param llave la llave que queremos ver si está en el diccionario.
+   * @return <code>true</code> si la llave está en el diccionario,
+   *         <code>false</code> en otro caso.
+   */
+  @Override public boolean contiene(K llave) {
+    return llave != null && llaves[busca(llave)] != null;
+  }
+
+  /**
+   * Elimina el valor del diccionario asociado a la llave proporcionada. Las
+   * llaves que siguen en la misma corrida se recorren para ocupar el hueco.
+   * @param llave la llave para buscar el valor a eliminar.
+   * @throws IllegalArgumentException si la llave es nula.
+   * @throws NoSuchElementException si la llave no se encuentra en
+   *         el diccionario.
+   */
+  @Override public void elimina(K llave) {
+    if (llave == null) throw new IllegalArgumentException("La llave no debe ser nula.");
+    int hueco = busca(llave);
+    if (llaves[hueco] == null) throw new NoSuchElementException("No existe un elemento con esta llave.");
+    int mascara = llaves.length - 1;
+    for (int j = (hueco + 1) & mascara; llaves[j] != null; j = (j + 1) & mascara) {
+      int k = indice(llave(j));
+      /* La llave en j puede ocupar el hueco si su índice no está en el
+       * intervalo circular (hueco, j]. */
+      if (((j - k) & mascara) >= ((j - hueco) & mascara)) {
+        llaves[hueco] = llaves[j];
+        valores[hueco] = valores[j];
+        hueco = j;
+      }
+    }
+    llaves[hueco] = null;
+    valores[hueco] = null;
+    elementos--;
+  }
+
+  /**
+   * Nos dice cuántas colisiones hay en el diccionario, es decir, cuántas
+   * llaves no están en el índice que les corresponde.
+   * @return cuántas colisiones hay en el diccionario.
+   */
+  @Override public int colisiones() {
+    int total = 0;
+    for (int i = 0; i < llaves.length; i++)
+      if (llaves[i] != null && indice(llave(i)) != i) total++;
+    return total;
+  }
+
+  /**
+   * Nos dice el máximo número de colisiones para una misma llave que tenemos
+   * en el diccionario, es decir, la mayor distancia entre el índice que le
+   * corresponde a una llave y el índice donde está.
+   * @return el máximo número de colisiones para una misma llave.
+   */
+  @Override public int colisionMaxima() {
+    int max = 0, mascara = llaves.length - 1;
+    for (int i = 0; i < llaves.length; i++)
+      if (llaves[i] != null) max = Math.max(max, (i - indice(llave(i))) & mascara);
+    return max;
+  }
+
+  /**
+   * Nos dice la carga del diccionario.
+   * @return la carga del diccionario.
+   */
+  @Override public double carga() {
+    return (double) elementos / llaves.length;
+  }
+
+  /**
+   * Regresa el número de entradas en el diccionario.
+   * @return el número de entradas en el diccionario.
+   */
+  @Override public int getElementos() {
+    return elementos;
+  }
+
+  /**
+   * Nos dice si el diccionario es vacío.
+   * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+   *         en otro caso.
+   */
+  @Override public boolean esVacia() {
+    return elementos == 0;
+  }
+
+  /**
+   * Limpia el diccionario de elementos, dejándolo vacío. Conserva la
+   * capacidad.
+   */
+  @Override public void limpia() {
+    elementos = 0;
+    for (int i = 0; i < llaves.length; i++) {
+      llaves[i] = null;
+      valores[i] = null;
+    }
+  }
+
+  /**
+   * Regresa una representación en cadena del diccionario.
+   * @return una representación en cadena del diccionario.
+   */
+  @Override public String toString() {
+    if (elementos == 0) return "{}";
+    String s = "{ ";
+    for (int i = 0; i < llaves.length; i++)
+      if (llaves[i] != null)
+        s += "\'" + llaves[i] + "\': \'" + valores[i] + "\', ";
+    return s + "}";
+  }
+
+  /**
+   * Nos dice si el diccionario es igual al objeto recibido.
+   * @param o el objeto que queremos saber si es igual al diccionario.
+   * @return <code>true</code> si el objeto recibido es instancia de
+   *         DiccionarioAbierto, y tiene las mismas llaves asociadas a los
+   *         mismos valores.
+   */
+  @Override public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass())
+      return false;
+    @SuppressWarnings("unchecked") DiccionarioAbierto<K, V> d = (DiccionarioAbierto<K, V>) o;
+    if (d.elementos != elementos) return false;
+    for (int i = 0; i < llaves.length; i++)
+      if (llaves[i] != null &&
+          (!d.contiene(llave(i)) || !d.get(llave(i)).equals(valores[i])))
+        return false;
+    return true;
+  }
+
+  /**
+   * Regresa un iterador para iterar las llaves del diccionario. El
+   * diccionario se itera sin ningún orden específico.
+   * @return un iterador para iterar las llaves del diccionario.
+   */
+  @Override public Iterator<K> iteradorLlaves() {
+    return new IteradorLlaves();
+  }
+
+  /**
+   * Regresa un iterador para iterar los valores del diccionario. El
+   * diccionario se itera sin ningún orden específico.
+   * @return un iterador para iterar los valores del diccionario.
+   */
+  @Override public Iterator<V> iterator() {
+    return new IteradorValores();
+  }
+
+  @SuppressWarnings("unchecked") private K llave(int i) {
+    return (K) llaves[i];
+  }
+
+  @SuppressWarnings("unchecked") private V valor(int i) {
+    return (V) valores[i];
+  }
+
+  /* Regresa el índice que le corresponde a la llave. Se mezclan los bits
+   * altos con los bajos porque el sondeo lineal es sensible a dispersiones
+   * que sólo difieren en los bits altos. */
+  private int indice(K llave) {
+    int h = dispersor.dispersa(llave);
+    return (h ^ (h >>> 16)) & (llaves.length - 1);
+  }
+
+  /* Regresa el índice donde está la llave, o el primer índice vacío de su
+   * corrida si no está. Siempre hay índices vacíos porque la carga es menor
+   * a uno. */
+  private int busca(K llave) {
+    int mascara = llaves.length - 1;
+    int i = indice(llave);
+    while (llaves[i] != null && !llaves[i].equals(llave)) i = (i + 1) & mascara;
+    return i;
+  }
+
+  private void reordenar() {
+    EventoReordenar evento = Grabacion.activa() ? new EventoReordenar() : null;
+    Object[] viejasLlaves = llaves, viejosValores = valores;
+    llaves = new Object[viejasLlaves.length * 2];
+    valores = new Object[viejasLlaves.length * 2];
+    int mascara = llaves.length - 1;
+    for (int j = 0; j < viejasLlaves.length; j++) {
+      if (viejasLlaves[j] == null) continue;
+      @SuppressWarnings("unchecked") K llave = (K) viejasLlaves[j];
+      int i = indice(llave);
+      while (llaves[i] != null) i = (i + 1) & mascara;
+      llaves[i] = llave;
+      valores[i] = viejosValores[j];
+    }
+    if (evento != null) evento.registra("DiccionarioAbierto", elementos, viejasLlaves.length, llaves.length);
+  }
+}
@@ -0,0 +1,365 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>Clase para diccionarios con llaves enteras. Funciona como un {@link
+ * DiccionarioAbierto}, pero las llaves se guardan en un arreglo de
+ * <code>int</code>, así que ni agregar ni buscar una llave crea objetos.</p>
+ *
+ * <p>Los métodos terminados en <em>Entero</em> reciben un <code>int</code> y
+ * no empacan la llave; los que reciben un {@link Integer} existen para que el
+ * diccionario pueda usarse como cualquier {@link Mapa}. Tienen nombres
+ * distintos para que una llamada como <code>agrega(1, 2)</code> en un
+ * <code>DiccionarioEnteros&lt;Integer&gt;</code> no sea ambigua.</p>
+ */
+public class DiccionarioEnteros<V> implements Mapa<Integer, V> {
+
+  /* Clase interna privada para iteradores. */
+  private class Iterador {
+
+    /* El índice del siguiente elemento. */
+    private int siguiente;
+    /* El índice del último elemento regresado. */
+    protected int actual;
+
+    /* Construye un nuevo iterador, empezando por el primer índice
+     * ocupado. */
+    public Iterador() {
+      siguiente = -1;
+      mueve();
+    }
+
+    /* Nos dice si hay un siguiente elemento. */
+    public boolean hasNext() {
+      return siguiente < llaves.length;
+    }
+
+    /* Avanza al siguiente índice ocupado. */
+    protected void avanza() {
+      if (!hasNext()) throw new NoSuchElementException("No hay siguiente elemento.");
+      actual = siguiente;
+      mueve();
+    }
+
+    private void mueve() {
+      while (++siguiente < llaves.length && valores[siguiente] == null);
+    }
+  }
+
+  /* Clase interna privada para iteradores de llaves. */
+  private class IteradorLlaves extends Iterador
+    implements PrimitiveIterator.OfInt {
+
+    /* Regresa el siguiente elemento. */
+    @Override public int nextInt() {
+      avanza();
+      return llaves[actual];
+    }
+  }
+
+  /* Clase interna privada para iteradores de valores. */
+  private class IteradorValores extends Iterador
+    implements Iterator<V> {
+
+    /* Regresa el siguiente elemento. */
+    @Override public V next() {
+      avanza();
+      return valor(actual);
+    }
+  }
+
+  /** Máxima carga permitida por el diccionario. */
+  public static final double MAXIMA_CARGA = 0.72;
+
+  /* Capacidad predeterminada, la misma que la de Diccionario. */
+  private static final int CAPACIDAD_PREDETERMINADA = 64;
+  /* Capacidad mínima. */
+  private static final int MINIMA_CAPACIDAD = 2;
+
+  /* Las llaves; sólo son válidas donde hay un valor. */
+  private int[] llaves;
+  /* Los valores, paralelos a las llaves; un índice vacío tiene null. */
+  private Object[] valores;
+  /* Número de valores. */
+  private int elementos;
+
+  /**
+   * Construye un diccionario con una capacidad inicial predeterminada.
+   */
+  public DiccionarioEnteros() {
+    this(CAPACIDAD_PREDETERMINADA);
+  }
+
+  /**
+   * Construye un diccionario con una capacidad inicial definida por el
+   * usuario.
+   * @param capacidad la capacidad inicial del diccionario.
+   */
+  public DiccionarioEnteros(int capacidad) {
+    capacidad = capacidad < MINIMA_CAPACIDAD ? MINIMA_CAPACIDAD : capacidad;
+    int n = Integer.highestOneBit(capacidad * 2 - 1) << 1;
+    llaves = new int[n];
+    valores = new Object[n];
+  }
+
+  /**
+   * Agrega un nuevo valor al diccionario, usando la llave proporcionada. Si
+   * la llave ya había sido utilizada antes para agregar un valor, el
+   * diccionario reemplaza ese valor con el recibido aquí.
+   * @param llave la llave para agregar el valor.
+   * @param valor el valor a agregar.
+   * @throws IllegalArgumentException si el valor es nulo.
+   */
+  public void agregaEntero(int llave, V valor) {
+    if (valor == null) throw new IllegalArgumentException("El valor no debe ser nulo.");
+    int i = busca(llave);
+    if (valores[i] == null) {
+      llaves[i] = llave;
+      elementos++;
+    }
+    valores[i] = valor;
+
+    if (carga() >= MAXIMA_CARGA) reordenar();
+  }
+
+  /**
+   * Agrega un nuevo valor al diccionario, usando la llave proporcionada.
+   * @param llave la llave para agregar el valor.
+   * @param valor el valor a agregar.
+   * @throws IllegalArgumentException si la llave o el valor son nulos.
+   */
+  @Override public void agrega(Integer llave, V valor) {
+    if (llave == null) throw new IllegalArgumentException("La llave y el valor no deben ser nulos.");
+    agregaEntero(llave.intValue(), valor);
+  }
+
+  /**
+   * Regresa el valor del diccionario asociado a la llave proporcionada.
+   * @param llave la llave para buscar el valor.
+   * @return el valor correspondiente a la llave.
+   * @throws NoSuchElementException si la llave no está en el diccionario.
+   */
+  public V getEntero(int llave) {
+    int i = busca(llave);
+    if (valores[i] == null) throw new NoSuchElementException("No existe un elemento con esta llave.");
+    return valor(i);
+  }
+
+  /**
+   * Regresa el valor del diccionario asociado a la llave proporcionada.
+   * @param llave la llave para buscar el valor.
+   * @return el valor correspondiente a la llave.
+   * @throws IllegalArgumentException si la llave es nula.
+   * @throws NoSuchElementException si la llave no está en el diccionario.
+   */
+  @Override public V get(Integer llave) {
+    if (llave == null) throw new IllegalArgumentException("La llave no debe ser nula.");
+    return getEntero(llave.intValue());
+  }
+
+  /**
+   * Nos dice si una llave se encuentra en el diccionario.
+   * @param llave la llave que queremos ver si está en el diccionario.
+   * @return <code>true</code> si la llave está en el diccionario,
+   *         <code>false</code> en otro caso.
+   */
+  public boolean contieneEntero(int llave) {
+    return valores[busca(llave)] != null;
+  }
+
+  /**
+   * Nos dice si una llave se encuentra en el diccionario.
+   * @param llave la llave que queremos ver si está en el diccionario.
+   * @return <code>true</code> si la llave está en el diccionario,
+   *         <code>false</code> en otro caso.
+   */
+  @Override public boolean contiene(Integer llave) {
+    return llave != null && contieneEntero(llave.intValue());
+  }
+
+  /**
+   * Elimina el valor del diccionario asociado a la llave proporcionada.
+   * @param llave la llave para buscar el valor a eliminar.
+   * @throws NoSuchElementException si la llave no se encuentra en
+   *         el diccionario.
+   */
+  public void eliminaEntero(int llave) {
+    int hueco = busca(llave);
+    if (valores[hueco] == null) throw new NoSuchElementException("No existe un elemento con esta llave.");
+    int mascara = llaves.length - 1;
+    for (int j = (hueco + 1) & mascara; valores[j] != null; j = (j + 1) & mascara) {
+      int k = indice(llaves[j]);
+      /* La llave en j puede ocupar el hueco si su índice no está en el
+       * intervalo circular (hueco, j]. */
+      if (((j - k) & mascara) >= ((j - hueco) & mascara)) {
+        llaves[hueco] = llaves[j];
+        valores[hueco] = valores[j];
+        hueco = j;
+      }
+    }
+    valores[hueco] = null;
+    elementos--;
+  }
+
+  /**
+   * Elimina el valor del diccionario asociado a la llave proporcionada.
+   * @param llave la llave para buscar el valor a eliminar.
+   * @throws IllegalArgumentException si la llave es nula.
+   * @throws NoSuchElementException si la llave no se encuentra en
+   *         el diccionario.
+   */
+  @Override public void elimina(Integer llave) {
+    if (llave == null) throw new IllegalArgumentException("La llave no debe ser nula.");
+    eliminaEntero(llave.intValue());
+  }
+
+  /**
+   * Nos dice cuántas colisiones hay en el diccionario, es decir, cuántas
+   * llaves no están en el índice que les corresponde.
+   * @return cuántas colisiones hay en el diccionario.
+   */
+  @Override public int colisiones() {
+    int total = 0;
+    for (int i = 0; i < llaves.length; i++)
+      if (valores[i] != null && indice(llaves[i]) != i) total++;
+    return total;
+  }
+
+  /**
+   * Nos dice el máximo número de colisiones para una misma llave que tenemos
+   * en el diccionario, es decir, la mayor distancia entre el índice que le
+   * corresponde a una llave y el índice donde está.
+   * @return el máximo número de colisiones para una misma llave.
+   */
+  @Override public int colisionMaxima() {
+    int max = 0, mascara = llaves.length - 1;
+    for (int i = 0; i < llaves.length; i++)
+      if (valores[i] != null) max = Math.max(max, (i - indice(llaves[i])) & mascara);
+    return max;
+  }
+
+  /**
+   * Nos dice la carga del diccionario.
+   * @return la carga del diccionario.
+   */
+  @Override public double carga() {
+    return (double) elementos / llaves.length;
+  }
+
+  /**
+   * Regresa el número de entradas en el diccionario.
+   * @return el número de entradas en el diccionario.
+   */
+  @Override public int getElementos() {
+    return elementos;
+  }
+
+  /**
+   * Nos dice si el diccionario es vacío.
+   * @return <code>true</code> si el diccionario es vacío, <code>false</code>
+   *         en otro caso.
+   */
+  @Override public boolean esVacia() {
+    return elementos == 0;
+  }
+
+  /**
+   * Limpia el diccionario de elementos, dejándolo vacío. Conserva la
+   * capacidad.
+   */
+  @Override public void limpia() {
+    elementos = 0;
+    for (int i = 0; i < valores.length; i++)
+      valores[i] = null;
+  }
+
+  /**
+   * Regresa una representación en cadena del diccionario.
+   * @return una representación en cadena del diccionario.
+   */
+  @Override public String toString() {
+    if (elementos == 0) return "{}";
+    String s = "{ ";
+    for (int i = 0; i < llaves.length; i++)
+      if (valores[i] != null)
+        s += "\'" + llaves[i] + "\': \'" + valores[i] + "\', ";
+    return s + "}";
+  }
+
+  /**
+   * Nos dice si el diccionario es igual al objeto recibido.
+   * @param o el objeto que queremos saber si es igual al diccionario.
+   * @return <code>true</code> si el objeto recibido es instancia de
+   *         DiccionarioEnteros, y tiene las mismas llaves asociadas a los
+   *         mismos valores.
+   */
+  @Override public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass())
+      return false;
+    @SuppressWarnings("unchecked") DiccionarioEnteros<V> d = (DiccionarioEnteros<V>) o;
+    if (d.elementos != elementos) return false;
+    for (int i = 0; i < llaves.length; i++)
+      if (valores[i] != null &&
+          (!d.contieneEntero(llaves[i]) || !d.getEntero(llaves[i]).equals(valores[i])))
+        return false;
+    return true;
+  }
+
+  /**
+   * Regresa un iterador para iterar las llaves del diccionario. El
+   * diccionario se itera sin ningún orden específico. El iterador puede
+   * recorrerse sin empacar las llaves con {@link
+   * PrimitiveIterator.OfInt#nextInt}.
+   * @return un iterador para iterar las llaves del diccionario.
+   */
+  @Override public PrimitiveIterator.OfInt iteradorLlaves() {
+    return new IteradorLlaves();
+  }
+
+  /**
+   * Regresa un iterador para iterar los valores del diccionario. El
+   * diccionario se itera sin ningún orden específico.
+   * @return un iterador para iterar los valores del diccionario.
+   */
+  @Override public Iterator<V> iterator() {
+    return new IteradorValores();
+  }
+
+  @SuppressWarnings("unchecked") private V valor(int i) {
+    return (V) valores[i];
+  }
+
+  /* Regresa el índice que le corresponde a la llave. */
+  private int indice(int llave) {
+    return (llave ^ (llave >>> 16)) & (llaves.length - 1);
+  }
+
+  /* Regresa el índice donde está la llave, o el primer índice vacío de su
+   * corrida si no está. */
+  private int busca(int llave) {
+    int mascara = llaves.length - 1;
+    int i = indice(llave);
+    while (valores[i] != null && llaves[i] != llave) i = (i + 1) & mascara;
+    return i;
+  }
+
+  private void reordenar() {
+    EventoReordenar evento = Grabacion.activa() ? new EventoReordenar() : null;
+    int[] viejasLlaves = llaves;
+    Object[] viejosValores = valores;
+    llaves = new int[viejasLlaves.length * 2];
+    valores = new Object[viejasLlaves.length * 2];
+    int mascara = llaves.length - 1;
+    for (int j = 0; j < viejasLlaves.length; j++) {
+      if (viejosValores[j] == null) continue;
+      int i = indice(viejasLlaves[j]);
+      while (valores[i] != null) i = (i + 1) & mascara;
+      llaves[i] = viejasLlaves[j];
+      valores[i] = viejosValores[j];
+    }
+    if (evento != null) evento.registra("DiccionarioEnteros", elementos, viejasLlaves.length, llaves.length);
+  }
+}
@@ -0,0 +1,50 @@
+package mx.unam.ciencias.edd;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de Java Flight Recorder para las búsquedas y recorridos de {@link
+ * Grafica}. Sólo se crea si {@link Grabacion#activa} regresa
+ * <code>true</code>, así que sin Flight Recorder la clase ni siquiera se
+ * carga; los campos sólo se llenan si {@link #shouldCommit} regresa
+ * <code>true</code>.
+ */
+@Name("mx.unam.ciencias.edd.Busqueda")
+@Label("Búsqueda en gráfica")
+@Category({ "EDD", "Gráficas" })
+@Description("Una búsqueda de trayectorias mínimas o un recorrido en una gráfica.")
+final class EventoBusqueda extends Event {
+
+  /* El algoritmo de la búsqueda. */
+  @Label("Algoritmo")
+  String algoritmo;
+
+  /* Número de vértices de la gráfica. */
+  @Label("Vértices")
+  int vertices;
+
+  /* Número de aristas de la gráfica. */
+  @Label("Aristas")
+  int aristas;
+
+  /* Aristas que mejoraron la distancia de un vértice o lo descubrieron. */
+  @Label("Aristas relajadas")
+  long relajaciones;
+
+  /* Operaciones de montículo de la búsqueda. */
+  @Label("Operaciones de montículo")
+  long operacionesMonticulo;
+
+  /* Máximo de vértices pendientes en el montículo, la cola o la pila. */
+  @Label("Máximo de pendientes")
+  int maximoPendientes;
+
+  /* Construye el evento y empieza a medir su duración. */
+  EventoBusqueda() {
+    begin();
+  }
+}
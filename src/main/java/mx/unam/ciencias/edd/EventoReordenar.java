@@ -0,0 +1,56 @@
+package mx.unam.ciencias.edd;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de Java Flight Recorder para cuando un diccionario crece y reordena
+ * sus entradas. Como {@link EventoBusqueda}, sólo se crea si {@link
+ * Grabacion#activa} regresa <code>true</code>.
+ */
+@Name("mx.unam.ciencias.edd.Reordenar")
+@Label("Reordenar diccionario")
+@Category({ "EDD", "Diccionarios" })
+@Description("Un diccionario duplicó su arreglo y reordenó sus entradas.")
+final class EventoReordenar extends Event {
+
+  /* La clase del diccionario. */
+  @Label("Diccionario")
+  String diccionario;
+
+  /* Número de elementos del diccionario. */
+  @Label("Elementos")
+  int elementos;
+
+  /* Tamaño del arreglo antes de reordenar. */
+  @Label("Tamaño anterior")
+  int tamanoAnterior;
+
+  /* Tamaño del arreglo después de reordenar. */
+  @Label("Tamaño nuevo")
+  int tamanoNuevo;
+
+  /* Construye el evento y empieza a medir su duración. */
+  EventoReordenar() {
+    begin();
+  }
+
+  /**
+   * Registra el evento si está habilitado.
+   * @param diccionario la clase del diccionario.
+   * @param elementos el número de elementos.
+   * @param tamanoAnterior el tamaño del arreglo antes de reordenar.
+   * @param tamanoNuevo el tamaño del arreglo después de reordenar.
+   */
+  void registra(String diccionario, int elementos, int tamanoAnterior, int tamanoNuevo) {
+    if (!shouldCommit()) return;
+    this.diccionario = diccionario;
+    this.elementos = elementos;
+    this.tamanoAnterior = tamanoAnterior;
+    this.tamanoNuevo = tamanoNuevo;
+    commit();
+  }
+}
@@ -0,0 +1,30 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para fabricar diccionarios.
+ */
+public class FabricaDiccionarios {
+
+    /* Constructor privado para evitar instanciación. */
+    private FabricaDiccionarios() {}
+
+    /**
+     * Regresa un nuevo mapa del tipo solicitado.
+     * @param <K> el tipo de las llaves.
+     * @param <V> el tipo de los valores.
+     * @param tipo el tipo de diccionario que se desea.
+     * @param capacidad la capacidad inicial del diccionario.
+     * @return un nuevo mapa vacío del tipo solicitado.
+     * @throws IllegalArgumentException si recibe un tipo no reconocido.
+     */
+    public static <K, V> Mapa<K, V>
+    diccionario(TipoDiccionario tipo, int capacidad) {
+        switch (tipo) {
+        case ENCADENADO:
+            return new Diccionario<>(capacidad);
+        case ABIERTO:
+            return new DiccionarioAbierto<>(capacidad);
+        default: throw new IllegalArgumentException("Tipo inválido");
+        }
+    }
+}
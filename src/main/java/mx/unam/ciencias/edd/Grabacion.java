@@ -0,0 +1,28 @@
+package mx.unam.ciencias.edd;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Clase para saber si hay que crear eventos de Java Flight Recorder. Cargar
+ * la primera subclase de {@link jdk.jfr.Event} inicializa la maquinaria de
+ * eventos aunque no haya grabaciones, lo que cuesta cientos de milisegundos;
+ * por eso {@link EventoBusqueda} y {@link EventoReordenar} sólo se crean si
+ * Flight Recorder ya se inicializó, al empezar una grabación con
+ * <code>-XX:StartFlightRecording</code> o <code>jcmd JFR.start</code>. Esta
+ * clase no hace referencia a los eventos, así que consultarla no los carga.
+ */
+final class Grabacion {
+
+  /* Constructor privado para evitar instanciación. */
+  private Grabacion() {}
+
+  /**
+   * Nos dice si Flight Recorder está inicializado, y por lo tanto si vale la
+   * pena crear eventos.
+   * @return <code>true</code> si Flight Recorder está inicializado,
+   *         <code>false</code> en otro caso.
+   */
+  static boolean activa() {
+    return FlightRecorder.isInitialized();
+  }
+}
@@ -41,16 +41,24 @@ public class Grafica<T> implements Coleccion<T> {
     private Color color;
     /* La distancia del vértice. */
     private double distancia;
+    /* El vértice anterior en la última trayectoria mínima calculada. */
+    private Vertice anterior;
+    /* La distancia estimada al destino; sólo se usa en A*. */
+    private double estimacion;
+    /* La etiqueta del vértice en la búsqueda bidireccional desde el origen. */
+    private Etiqueta ida;
+    /* La etiqueta del vértice en la búsqueda bidireccional desde el destino. */
+    private Etiqueta vuelta;
     /* El índice del vértice. */
     private int indice;
     /* El diccionario de vecinos del vértice. */
-    private Diccionario<T, Vecino> vecinos;
+    private Mapa<T, Vecino> vecinos;
 
     /* Crea un nuevo vértice a partir de un elemento. */
     public Vertice(T elemento) {
       this.elemento = elemento;
       color = Color.NINGUNO;
-      vecinos = new Diccionario<>();
+      vecinos = FabricaDiccionarios.diccionario(tipo, CAPACIDAD_VECINOS);
     }
 
     /* Regresa el elemento del vértice. */
@@ -83,9 +91,10 @@ public class Grafica<T> implements Coleccion<T> {
       return indice;
     }
 
-    /* Compara dos vértices por distancia. */
+    /* Compara dos vértices por distancia más distancia estimada. */
     @Override public int compareTo(Vertice vertice) {
-      return Double.compare(distancia, vertice.distancia);
+      return Double.compare(distancia + estimacion,
+                            vertice.distancia + vertice.estimacion);
     }
   }
 
@@ -125,24 +134,230 @@ public class Grafica<T> implements Coleccion<T> {
     }
   }
 
-  /* Interface para poder usar lambdas al buscar el elemento que sigue al
-   * reconstruir un camino. */
-  @FunctionalInterface
-  private interface BuscadorCamino<T> {
-    /* Regresa true si el vértice se sigue del vecino. */
-    public boolean seSiguen(Grafica<T>.Vertice v, Grafica<T>.Vecino a);
+  /* Clase interna privada para las etiquetas de los vértices en la búsqueda
+   * bidireccional; cada dirección tiene su propio montículo, así que cada una
+   * necesita su propio índice. */
+  private class Etiqueta implements ComparableIndexable<Etiqueta> {
+
+    /* El vértice etiquetado. */
+    private Vertice vertice;
+    /* La distancia desde el extremo de la dirección. */
+    private double distancia;
+    /* La etiqueta anterior en la trayectoria desde el extremo. */
+    private Etiqueta anterior;
+    /* El índice de la etiqueta en el montículo. */
+    private int indice;
+    /* Nos dice si la distancia ya es definitiva. */
+    private boolean definida;
+
+    /* Crea una etiqueta para el vértice con la distancia y anterior dados. */
+    public Etiqueta(Vertice vertice, double distancia, Etiqueta anterior) {
+      this.vertice = vertice;
+      this.distancia = distancia;
+      this.anterior = anterior;
+      indice = -1;
+    }
+
+    /* Define el índice de la etiqueta. */
+    @Override public void setIndice(int indice) {
+      this.indice = indice;
+    }
+
+    /* Regresa el índice de la etiqueta. */
+    @Override public int getIndice() {
+      return indice;
+    }
+
+    /* Compara dos etiquetas por distancia. */
+    @Override public int compareTo(Etiqueta etiqueta) {
+      return Double.compare(distancia, etiqueta.distancia);
+    }
   }
 
+  /* Clase interna privada abstracta para búsquedas de trayectorias mínimas
+   * que se continúan bajo demanda. Cada vértice alcanzado guarda su distancia
+   * y su predecesor en la trayectoria. */
+  private abstract class Busqueda implements ArbolTrayectorias<T> {
+
+    /* El vértice de origen. */
+    protected Vertice origen;
+    /* La versión de la gráfica al iniciar la búsqueda. */
+    private int version;
+
+    /* Inicia una búsqueda desde el vértice de origen. */
+    public Busqueda(Vertice origen) {
+      this.origen = origen;
+      reinicia();
+      origen.distancia = 0;
+      version = ++Grafica.this.version;
+      relajaciones = operacionesMonticulo = 0;
+      maximoPendientes = 0;
+    }
+
+    /* Regresa el elemento de origen. */
+    @Override public T getOrigen() {
+      return origen.elemento;
+    }
+
+    /* Regresa la distancia mínima al destino. */
+    @Override public double distancia(T destino) {
+      Vertice v = define(destino);
+      return v.distancia == Double.MAX_VALUE ? Double.POSITIVE_INFINITY : v.distancia;
+    }
+
+    /* Regresa una trayectoria mínima al destino. */
+    @Override public Lista<VerticeGrafica<T>> trayectoria(T destino) {
+      return reconstruyeTrayectoria(define(destino));
+    }
+
+    /* Regresa el predecesor del elemento en su trayectoria mínima. */
+    @Override public VerticeGrafica<T> predecesor(T elemento) {
+      return define(elemento).anterior;
+    }
+
+    /* Nos dice si el vértice ya tiene su distancia definitiva. */
+    protected abstract boolean definido(Vertice v);
+
+    /* Procesa un vértice más de la búsqueda; regresa false si ya no hay
+     * vértices por procesar. */
+    protected abstract boolean avanza();
+
+    /* Continúa la búsqueda hasta que el vértice del elemento tenga su
+     * distancia definitiva, y lo regresa. */
+    private Vertice define(T elemento) {
+      if (version != Grafica.this.version) throw new IllegalStateException("La gráfica cambió desde que se inició la búsqueda.");
+      Vertice d = (Vertice) vertice(elemento);
+      while (!definido(d) && avanza());
+      return d;
+    }
+  }
+
+  /* Clase interna privada para búsquedas de Dijkstra. Un vértice tiene su
+   * distancia definitiva cuando ya salió del montículo, es decir, cuando su
+   * índice es -1. */
+  private class BusquedaDijkstra extends Busqueda {
+
+    /* El montículo con los vértices que aún no tienen distancia definitiva. */
+    private MonticuloDijkstra<Vertice> monticulo;
+
+    /* Inicia una búsqueda de Dijkstra desde el vértice de origen. */
+    public BusquedaDijkstra(Vertice origen) {
+      super(origen);
+      monticulo = nuevoMonticulo();
+      operacionesMonticulo = maximoPendientes = vertices.getElementos();
+    }
+
+    /* Nos dice si el vértice ya salió del montículo. */
+    @Override protected boolean definido(Vertice v) {
+      return v.indice == -1;
+    }
+
+    /* Saca el mínimo del montículo y relaja sus aristas. */
+    @Override protected boolean avanza() {
+      if (monticulo.esVacia()) return false;
+      Vertice v = monticulo.elimina();
+      operacionesMonticulo++;
+      for (Vecino n : v.vecinos)
+        if (n.vecino.distancia > v.distancia + n.peso) {
+          n.vecino.distancia = v.distancia + n.peso;
+          n.vecino.anterior = v;
+          monticulo.reordena(n.vecino);
+          relajaciones++;
+          operacionesMonticulo++;
+        }
+      return true;
+    }
+  }
+
+  /* Clase interna privada para búsquedas a lo ancho, donde todas las aristas
+   * pesan 1. Un vértice tiene su distancia definitiva en cuanto se descubre. */
+  private class BusquedaAnchura extends Busqueda {
+
+    /* La cola de vértices descubiertos por procesar. */
+    private Cola<Vertice> cola;
+    /* Número de vértices en la cola. */
+    private int pendientes;
+
+    /* Inicia una búsqueda a lo ancho desde el vértice de origen. */
+    public BusquedaAnchura(Vertice origen) {
+      super(origen);
+      cola = new Cola<>();
+      cola.mete(origen);
+      pendientes = maximoPendientes = 1;
+    }
+
+    /* Nos dice si el vértice ya fue descubierto. */
+    @Override protected boolean definido(Vertice v) {
+      return v.distancia != Double.MAX_VALUE;
+    }
+
+    /* Saca un vértice de la cola y descubre a sus vecinos. */
+    @Override protected boolean avanza() {
+      if (cola.esVacia()) return false;
+      Vertice v = cola.saca();
+      pendientes--;
+      for (Vecino n : v.vecinos)
+        if (n.vecino.distancia == Double.MAX_VALUE) {
+          n.vecino.distancia = v.distancia + 1;
+          n.vecino.anterior = v;
+          cola.mete(n.vecino);
+          relajaciones++;
+          if (++pendientes > maximoPendientes) maximoPendientes = pendientes;
+        }
+      return true;
+    }
+  }
+
+  /* Capacidad inicial de los vértices de la gráfica. */
+  private static final int CAPACIDAD_VERTICES = 64;
+  /* Capacidad inicial de los vecinos de cada vértice. */
+  private static final int CAPACIDAD_VECINOS = 4;
+
+  /* El tipo de diccionario para los vértices y sus vecinos. */
+  private TipoDiccionario tipo;
   /* Vértices. */
-  private Diccionario<T, Vertice> vertices;
+  private Mapa<T, Vertice> vertices;
   /* Número de aristas. */
   private int aristas;
+  /* Versión de la gráfica; cambia con cada modificación o búsqueda. */
+  private int version;
+  /* El peso máximo que ha tenido una arista. */
+  private double pesoMaximo;
+  /* Nos dice si todas las aristas han tenido pesos enteros. */
+  private boolean pesosEnteros = true;
+  /* Relajaciones de la última búsqueda de trayectorias de peso mínimo. */
+  private long relajaciones;
+  /* Operaciones de montículo de la última búsqueda de trayectorias de peso
+   * mínimo. */
+  private long operacionesMonticulo;
+  /* Máximo de vértices pendientes en el montículo, la cola o la pila de la
+   * última búsqueda o recorrido. */
+  private int maximoPendientes;
 
   /**
-   * Constructor único.
+   * Peso máximo de las aristas para que {@link #dijkstra} utilice un
+   * {@link MonticuloCubetas} cuando todos los pesos son enteros.
+   */
+  public static final int MAXIMO_PESO_CUBETAS = 1 << 10;
+
+  /**
+   * Construye una gráfica que guarda sus vértices y vecinos en diccionarios
+   * encadenados.
    */
   public Grafica() {
-    vertices = new Diccionario<>();
+    this(TipoDiccionario.ENCADENADO);
+  }
+
+  /**
+   * Construye una gráfica que guarda sus vértices y vecinos en diccionarios
+   * del tipo recibido. Con {@link TipoDiccionario#ABIERTO} los vecinos de cada
+   * vértice ocupan un par de arreglos pequeños en lugar de una tabla de
+   * listas, lo que reduce mucho la memoria de gráficas grandes y ralas.
+   * @param tipo el tipo de diccionario a utilizar.
+   */
+  public Grafica(TipoDiccionario tipo) {
+    this.tipo = tipo;
+    vertices = FabricaDiccionarios.diccionario(tipo, CAPACIDAD_VERTICES);
   }
 
   /**
@@ -162,6 +377,27 @@ public class Grafica<T> implements Coleccion<T> {
     return aristas;
   }
 
+  /**
+   * Regresa el número de relajaciones de la última búsqueda o recorrido, es
+   * decir, las veces que se mejoró la distancia de un vértice o, en los
+   * recorridos y búsquedas sin pesos, que se descubrió. Una búsqueda de {@link
+   * #dijkstra(Object)} sólo cuenta lo que ha avanzado.
+   * @return el número de relajaciones de la última búsqueda.
+   */
+  public long getRelajaciones() {
+    return relajaciones;
+  }
+
+  /**
+   * Regresa el número de operaciones de montículo de la última búsqueda de
+   * trayectorias de peso mínimo: los vértices agregados, eliminados y
+   * reordenados.
+   * @return el número de operaciones de montículo de la última búsqueda.
+   */
+  public long getOperacionesMonticulo() {
+    return operacionesMonticulo;
+  }
+
   /**
    * Agrega un nuevo elemento a la gráfica.
    * @param elemento el elemento a agregar.
@@ -173,6 +409,7 @@ public class Grafica<T> implements Coleccion<T> {
     if (contiene(elemento)) throw new IllegalArgumentException("El elemento ya está en los vértices.");
     Vertice v = new Vertice(elemento);
     vertices.agrega(elemento, v);
+    version++;
   }
 
   /**
@@ -207,7 +444,9 @@ public class Grafica<T> implements Coleccion<T> {
 
     vA.vecinos.agrega(b, new Vecino(vB, peso));
     vB.vecinos.agrega(a, new Vecino(vA, peso));
+    registraPeso(peso);
     aristas++;
+    version++;
   }
 
   /**
@@ -226,6 +465,7 @@ public class Grafica<T> implements Coleccion<T> {
     vA.vecinos.elimina(b);
     vB.vecinos.elimina(a);
     aristas--;
+    version++;
   }
 
   /**
@@ -246,8 +486,13 @@ public class Grafica<T> implements Coleccion<T> {
    */
   @Override public void elimina(T elemento) {
     Vertice v = (Vertice) vertice(elemento);
-    for (Vecino n : v.vecinos) desconecta(v.elemento, n.vecino.elemento);
+    /* Se quitan las aristas de regreso sin modificar v.vecinos mientras se
+     * itera: en un DiccionarioAbierto eliminar recorre las entradas. */
+    for (Vecino n : v.vecinos) n.vecino.vecinos.elimina(v.elemento);
+    aristas -= v.vecinos.getElementos();
+    v.vecinos.limpia();
     vertices.elimina(elemento);
+    version++;
   }
 
   /**
@@ -299,6 +544,8 @@ public class Grafica<T> implements Coleccion<T> {
     if (peso <= 0) throw new IllegalArgumentException("El peso no puede ser negativo.");
     vA.vecinos.get(b).peso = peso;
     vB.vecinos.get(a).peso = peso;
+    registraPeso(peso);
+    version++;
   }
 
   /**
@@ -347,6 +594,38 @@ public class Grafica<T> implements Coleccion<T> {
     return true;
   }
 
+  /**
+   * Congela la gráfica en una {@link GraficaCompacta}: los vértices se
+   * numeran en el orden en que se itera la gráfica y sus vecinos se guardan en
+   * arreglos contiguos. Modificar la gráfica después no afecta a la gráfica
+   * compacta.
+   * @return una gráfica compacta e inmutable con los mismos vértices y aristas.
+   */
+  public GraficaCompacta<T> congela() {
+    int n = vertices.getElementos();
+    Object[] elementos = new Object[n];
+    Diccionario<T, Integer> ids = new Diccionario<>(n);
+    int[] inicios = new int[n + 1];
+    int[] vecinos = new int[2 * aristas];
+    double[] pesos = new double[2 * aristas];
+    int i = 0;
+    for (Vertice v : vertices) {
+      elementos[i] = v.elemento;
+      ids.agrega(v.elemento, i++);
+    }
+    i = 0;
+    int a = 0;
+    for (Vertice v : vertices) {
+      inicios[i++] = a;
+      for (Vecino u : v.vecinos) {
+        vecinos[a] = ids.get(u.vecino.elemento);
+        pesos[a++] = u.peso;
+      }
+    }
+    inicios[n] = a;
+    return new GraficaCompacta<>(elementos, ids, inicios, vecinos, pesos);
+  }
+
   /**
    * Realiza la acción recibida en cada uno de los vértices de la gráfica, en
    * el orden en que fueron agregados.
@@ -367,8 +646,10 @@ public class Grafica<T> implements Coleccion<T> {
    * @throws NoSuchElementException si el elemento no está en la gráfica.
    */
   public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
+    EventoBusqueda evento = Grabacion.activa() ? new EventoBusqueda() : null;
     recorrer(elemento, accion, new Cola<>());
     paraCadaVertice((v) -> setColor(v, Color.NINGUNO));
+    registra(evento, "bfs");
   }
 
   /**
@@ -382,8 +663,10 @@ public class Grafica<T> implements Coleccion<T> {
    * @throws NoSuchElementException si el elemento no está en la gráfica.
    */
   public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
+    EventoBusqueda evento = Grabacion.activa() ? new EventoBusqueda() : null;
     recorrer(elemento, accion, new Pila<>());
     paraCadaVertice((v) ->setColor(v, Color.NINGUNO));
+    registra(evento, "dfs");
   }
 
   /**
@@ -401,6 +684,9 @@ public class Grafica<T> implements Coleccion<T> {
   @Override public void limpia() {
     vertices.limpia();
     aristas = 0;
+    pesoMaximo = 0;
+    pesosEnteros = true;
+    version++;
   }
 
   /**
@@ -467,93 +753,219 @@ public class Grafica<T> implements Coleccion<T> {
    */
   public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino) {
     if (!contiene(destino) || !contiene(origen)) throw new NoSuchElementException("Los elementos no son parte de la gráfica.");
+    EventoBusqueda evento = Grabacion.activa() ? new EventoBusqueda() : null;
+    Lista<VerticeGrafica<T>> tray = trayectoriaMinima(origen).trayectoria(destino);
+    registra(evento, "trayectoriaMinima");
+    return tray;
+  }
 
-    Vertice v = (Vertice) vertice(origen);
-    if (origen.equals(destino)) {
-      Lista<VerticeGrafica<T>> l = new Lista<>();
-      l.agrega(v);
-      return l;
-    }
-
-    paraCadaVertice((va) -> setDistancia((Vertice) va, Double.MAX_VALUE));
-    v.distancia = 0;
+  /**
+   * Inicia una búsqueda a lo ancho desde el elemento de origen, para calcular
+   * trayectorias de distancia mínima sin tomar en cuenta los pesos. La
+   * búsqueda avanza sólo lo necesario para responder cada consulta del árbol
+   * regresado.
+   * @param origen el vértice de origen.
+   * @return el árbol de trayectorias de distancia mínima desde el origen.
+   *         Deja de ser válido si la gráfica se modifica o se realiza otra
+   *         búsqueda.
+   * @throws NoSuchElementException si el elemento no está en la gráfica.
+   */
+  public ArbolTrayectorias<T> trayectoriaMinima(T origen) {
+    return new BusquedaAnchura((Vertice) vertice(origen));
+  }
 
-    Cola<Vertice> i = new Cola<>();
-    i.mete(v);
+  /**
+   * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+   * de destino. La búsqueda termina en cuanto el destino tiene su distancia
+   * definitiva.
+   * @param origen el vértice origen.
+   * @param destino el vértice destino.
+   * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+   *         el vértice <code>destino</code>. Si los vértices están en componentes
+   *         conexas distintas, regresa una lista vacía.
+   * @throws NoSuchElementException si alguno de los dos elementos no está en
+   *         la gráfica.
+   */
+  public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino) {
+    if (!contiene(destino) || !contiene(origen)) throw new NoSuchElementException("Los elementos no son parte de la gráfica.");
+    EventoBusqueda evento = Grabacion.activa() ? new EventoBusqueda() : null;
+    Lista<VerticeGrafica<T>> tray = dijkstra(origen).trayectoria(destino);
+    registra(evento, "dijkstra");
+    return tray;
+  }
 
-    while (!i.esVacia()) {
-      v = i.saca();
-      for (Vecino n : v.vecinos)
-        if (n.vecino.distancia == Double.MAX_VALUE) {
-          setDistancia((Vertice) n.vecino, v.distancia + 1);
-          i.mete(n.vecino);
-        }
-    }
-    
-    return reconstruyeTrayectoria(
-            (a, n) -> n.vecino.distancia == a.distancia - 1,
-            (Vertice) vertice(destino));
+  /**
+   * Inicia una búsqueda de Dijkstra desde el elemento de origen. La búsqueda
+   * avanza sólo lo necesario para responder cada consulta del árbol regresado,
+   * así que varias consultas desde el mismo origen comparten el trabajo.
+   * Si todas las aristas tienen pesos enteros no mayores a {@link
+   * #MAXIMO_PESO_CUBETAS} se utiliza un {@link MonticuloCubetas}; si no, un
+   * {@link MonticuloArreglo} o un {@link MonticuloMinimo} dependiendo de la
+   * densidad de la gráfica.
+   * @param origen el vértice origen.
+   * @return el árbol de trayectorias de peso mínimo desde el origen. Deja de
+   *         ser válido si la gráfica se modifica o se realiza otra búsqueda.
+   * @throws NoSuchElementException si el elemento no está en la gráfica.
+   */
+  public ArbolTrayectorias<T> dijkstra(T origen) {
+    return new BusquedaDijkstra((Vertice) vertice(origen));
   }
 
   /**
    * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
-   * de destino.
+   * de destino con el algoritmo A*: los vértices se procesan en orden de su
+   * distancia al origen más la distancia estimada al destino, y sólo se
+   * agregan al montículo al ser descubiertos. Con una heurística consistente
+   * la trayectoria tiene el mismo peso que la de {@link #dijkstra(Object,
+   * Object)}, y con una heurística que siempre regresa 0 es igual a Dijkstra.
    * @param origen el vértice origen.
    * @param destino el vértice destino.
+   * @param heuristica la estimación de la distancia de cada elemento al
+   *        destino; no debe sobreestimarla, y si además es consistente
+   *        ningún vértice se procesa dos veces.
    * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
    *         el vértice <code>destino</code>. Si los vértices están en componentes
    *         conexas distintas, regresa una lista vacía.
    * @throws NoSuchElementException si alguno de los dos elementos no está en
    *         la gráfica.
    */
-  public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino) {
+  public Lista<VerticeGrafica<T>> aEstrella(T origen, T destino, Heuristica<T> heuristica) {
     if (!contiene(destino) || !contiene(origen)) throw new NoSuchElementException("Los elementos no son parte de la gráfica.");
-    
-    paraCadaVertice((v) -> setDistancia((Vertice) v, Double.MAX_VALUE));
+    EventoBusqueda evento = Grabacion.activa() ? new EventoBusqueda() : null;
+    reinicia();
+    version++;
     Vertice vo = (Vertice) vertice(origen);
+    Vertice vd = (Vertice) vertice(destino);
     vo.distancia = 0;
+    vo.estimacion = heuristica.estima(origen);
+    relajaciones = 0;
+    operacionesMonticulo = maximoPendientes = 1;
+
+    MonticuloMinimo<Vertice> abiertos = new MonticuloMinimo<>();
+    abiertos.agrega(vo);
+    while (!abiertos.esVacia()) {
+      Vertice v = abiertos.elimina();
+      operacionesMonticulo++;
+      if (v == vd) break;
+      for (Vecino n : v.vecinos) {
+        Vertice u = n.vecino;
+        if (u.distancia <= v.distancia + n.peso) continue;
+        if (u.distancia == Double.MAX_VALUE) u.estimacion = heuristica.estima(u.elemento);
+        u.distancia = v.distancia + n.peso;
+        u.anterior = v;
+        relajaciones++;
+        operacionesMonticulo++;
+        /* Con una heurística consistente un vértice procesado nunca mejora;
+         * si no lo es, el vértice se vuelve a abrir. */
+        if (abiertos.contiene(u)) abiertos.reordena(u);
+        else abiertos.agrega(u);
+      }
+      if (abiertos.getElementos() > maximoPendientes) maximoPendientes = abiertos.getElementos();
+    }
+    registra(evento, "aEstrella");
+    return reconstruyeTrayectoria(vd);
+  }
 
-    MonticuloDijkstra<Vertice> i;
-    if (aristas > ((vertices.getElementos()*(vertices.getElementos() - 1))/2) - vertices.getElementos()) i = new MonticuloArreglo<>(vertices, vertices.getElementos());
-    else i = new MonticuloMinimo<>(vertices, vertices.getElementos());
-
-    while(!i.esVacia()) {
-      Vertice v = i.elimina();
-      for (Vecino n : v.vecinos)
-        if (n.vecino.distancia > v.distancia + n.peso) {
-          setDistancia((Vertice) n.vecino, v.distancia + n.peso);
-          i.reordena(n.vecino); 
+  /**
+   * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+   * de destino con el algoritmo de Dijkstra bidireccional: se busca al mismo
+   * tiempo desde el origen y desde el destino, avanzando siempre la dirección
+   * con el menor mínimo en su montículo. Cada vez que una arista une a las
+   * dos búsquedas se actualiza el peso de la mejor trayectoria conocida, y la
+   * búsqueda termina cuando la suma de los mínimos de ambos montículos no es
+   * menor que ese peso, por lo que la trayectoria es óptima. Como la gráfica
+   * no es dirigida, ambas direcciones usan las mismas aristas.
+   * @param origen el vértice origen.
+   * @param destino el vértice destino.
+   * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+   *         el vértice <code>destino</code>. Si los vértices están en componentes
+   *         conexas distintas, regresa una lista vacía.
+   * @throws NoSuchElementException si alguno de los dos elementos no está en
+   *         la gráfica.
+   */
+  public Lista<VerticeGrafica<T>> dijkstraBidireccional(T origen, T destino) {
+    if (!contiene(destino) || !contiene(origen)) throw new NoSuchElementException("Los elementos no son parte de la gráfica.");
+    Vertice vo = (Vertice) vertice(origen);
+    Vertice vd = (Vertice) vertice(destino);
+    Lista<VerticeGrafica<T>> tray = new Lista<>();
+    if (vo == vd) {
+      tray.agrega(vo);
+      return tray;
+    }
+    EventoBusqueda evento = Grabacion.activa() ? new EventoBusqueda() : null;
+    reinicia();
+    version++;
+
+    /* La dirección 0 busca desde el origen y la 1 desde el destino. */
+    MonticuloMinimo<Etiqueta> ida = new MonticuloMinimo<>();
+    MonticuloMinimo<Etiqueta> vuelta = new MonticuloMinimo<>();
+    vo.ida = new Etiqueta(vo, 0, null);
+    vd.vuelta = new Etiqueta(vd, 0, null);
+    ida.agrega(vo.ida);
+    vuelta.agrega(vd.vuelta);
+    relajaciones = 0;
+    operacionesMonticulo = maximoPendientes = 2;
+    /* El peso de la mejor trayectoria conocida y la arista donde se unen. */
+    double mejor = Double.MAX_VALUE;
+    Etiqueta unionIda = null, unionVuelta = null;
+
+    while (!ida.esVacia() && !vuelta.esVacia()) {
+      double minIda = ida.get(0).distancia;
+      double minVuelta = vuelta.get(0).distancia;
+      if (minIda + minVuelta >= mejor) break;
+      int d = minIda <= minVuelta ? 0 : 1;
+      MonticuloMinimo<Etiqueta> monticulo = d == 0 ? ida : vuelta;
+      Etiqueta e = monticulo.elimina();
+      e.definida = true;
+      operacionesMonticulo++;
+      for (Vecino n : e.vertice.vecinos) {
+        Etiqueta u = etiqueta(n.vecino, d);
+        double distancia = e.distancia + n.peso;
+        if (u == null) {
+          u = new Etiqueta(n.vecino, distancia, e);
+          setEtiqueta(n.vecino, d, u);
+          monticulo.agrega(u);
+          relajaciones++;
+          operacionesMonticulo++;
+        } else if (!u.definida && distancia < u.distancia) {
+          u.distancia = distancia;
+          u.anterior = e;
+          monticulo.reordena(u);
+          relajaciones++;
+          operacionesMonticulo++;
         }
+        Etiqueta otra = etiqueta(n.vecino, 1 - d);
+        if (otra != null && distancia + otra.distancia < mejor) {
+          mejor = distancia + otra.distancia;
+          unionIda = d == 0 ? e : otra;
+          unionVuelta = d == 0 ? otra : e;
+        }
+      }
+      if (ida.getElementos() + vuelta.getElementos() > maximoPendientes)
+        maximoPendientes = ida.getElementos() + vuelta.getElementos();
     }
 
-    return reconstruyeTrayectoria(
-            (v, n) -> n.vecino.distancia + n.peso == v.distancia,
-            (Vertice) vertice(destino));
+    registra(evento, "dijkstraBidireccional");
+    if (unionIda == null) return tray;
+    for (Etiqueta e = unionIda; e != null; e = e.anterior)
+      tray.agregaInicio(e.vertice);
+    for (Etiqueta e = unionVuelta; e != null; e = e.anterior)
+      tray.agrega(e.vertice);
+    return tray;
   }
 
   /**
-   * Reconstruye la trayectoria desde el vértice destino hasta
-   * el vertice de origen.
-   * @param buscador nos indica si dos vertices son vecinos.
+   * Reconstruye la trayectoria desde el vértice destino hasta el vértice de
+   * origen, siguiendo a los predecesores.
    * @param destino el vértice desde el cuál se reconstruye la tractoria.
    * @return la trayectoria en forma de lista.
    */
-  private Lista<VerticeGrafica<T>> reconstruyeTrayectoria(BuscadorCamino<T> buscador, Vertice destino) {
-    Vertice v = destino;
-    if (v.distancia == Double.MAX_VALUE) return new Lista<VerticeGrafica<T>>();
-
+  private Lista<VerticeGrafica<T>> reconstruyeTrayectoria(Vertice destino) {
     Lista<VerticeGrafica<T>> tray = new Lista<>();
-    tray.agrega(v);
-    while (v.distancia != 0) {
-      for (Vecino n : v.vecinos) {
-        if (buscador.seSiguen(v, n)) {
-          tray.agrega(n.vecino);
-          v = n.vecino;
-          break;
-        }
-      }
-    }
-    return tray.reversa();
+    if (destino.distancia == Double.MAX_VALUE) return tray;
+    for (Vertice v = destino; v != null; v = v.anterior)
+      tray.agregaInicio(v);
+    return tray;
   }
 
   private void recorrer(T elemento, AccionVerticeGrafica<T> accion, MeteSaca<Vertice> i) {
@@ -561,20 +973,80 @@ public class Grafica<T> implements Coleccion<T> {
     paraCadaVertice((e) -> setColor(e, Color.ROJO));
     v.color = Color.NEGRO;
     i.mete(v);
+    int pendientes = 1;
+    relajaciones = operacionesMonticulo = 0;
+    maximoPendientes = 1;
 
     while(!i.esVacia()) {
       v = i.saca();
+      pendientes--;
       accion.actua(v);
       for (Vecino n : v.vecinos) {
         if (n.vecino.color == Color.ROJO) {
           n.vecino.color = Color.NEGRO;
           i.mete(n.vecino);
+          relajaciones++;
+          if (++pendientes > maximoPendientes) maximoPendientes = pendientes;
         }
       }
     }
   }
 
-  private void setDistancia(Vertice v, Double distancia) {
-    v.distancia = distancia;
+  /* Registra el evento de una búsqueda o recorrido, con los contadores de la
+   * gráfica, si se creó y está habilitado. */
+  private void registra(EventoBusqueda evento, String algoritmo) {
+    if (evento == null || !evento.shouldCommit()) return;
+    evento.algoritmo = algoritmo;
+    evento.vertices = vertices.getElementos();
+    evento.aristas = aristas;
+    evento.relajaciones = relajaciones;
+    evento.operacionesMonticulo = operacionesMonticulo;
+    evento.maximoPendientes = maximoPendientes;
+    evento.commit();
+  }
+
+  /* Olvida las distancias, predecesores, estimaciones y etiquetas de todos
+   * los vértices. */
+  private void reinicia() {
+    for (Vertice v : vertices) {
+      v.distancia = Double.MAX_VALUE;
+      v.anterior = null;
+      v.estimacion = 0;
+      v.ida = v.vuelta = null;
+    }
+  }
+
+  /* Regresa la etiqueta del vértice en la dirección dada. */
+  private Etiqueta etiqueta(Vertice v, int direccion) {
+    return direccion == 0 ? v.ida : v.vuelta;
+  }
+
+  /* Define la etiqueta del vértice en la dirección dada. */
+  private void setEtiqueta(Vertice v, int direccion, Etiqueta e) {
+    if (direccion == 0) v.ida = e;
+    else v.vuelta = e;
+  }
+
+  /* Crea el montículo más adecuado para Dijkstra con todos los vértices. */
+  private MonticuloDijkstra<Vertice> nuevoMonticulo() {
+    if (usaCubetas()) return new MonticuloCubetas<>(vertices, vertices.getElementos(),
+                                                   (v) -> v.distancia == Double.MAX_VALUE ? Integer.MAX_VALUE : (int) v.distancia,
+                                                   (int) pesoMaximo);
+    if (aristas > ((vertices.getElementos()*(vertices.getElementos() - 1))/2) - vertices.getElementos())
+      return new MonticuloArreglo<>(vertices, vertices.getElementos());
+    return new MonticuloMinimo<>(vertices, vertices.getElementos());
+  }
+
+  /* Actualiza el peso máximo y si los pesos son enteros. */
+  private void registraPeso(double peso) {
+    if (peso > pesoMaximo) pesoMaximo = peso;
+    if (peso != Math.rint(peso)) pesosEnteros = false;
+  }
+
+  /* Nos dice si las distancias de Dijkstra caben en un montículo de cubetas:
+     pesos enteros acotados y distancias representables como int. */
+  private boolean usaCubetas() {
+    return pesosEnteros && pesoMaximo <= MAXIMO_PESO_CUBETAS &&
+      pesoMaximo * vertices.getElementos() < Integer.MAX_VALUE;
   }
 }
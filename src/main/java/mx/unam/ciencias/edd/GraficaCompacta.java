@@ -0,0 +1,322 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para gráficas inmutables en formato compacto (<em>compressed sparse
+ * row</em>). Se obtienen congelando una {@link Grafica} con {@link
+ * Grafica#congela}.</p>
+ *
+ * <p>Los vértices se identifican con enteros de 0 a <i>n</i> - 1, en el orden
+ * en que la gráfica los itera. Los vecinos del vértice <i>v</i> están en las
+ * posiciones <code>inicios[v]</code> a <code>inicios[v + 1] - 1</code> de los
+ * arreglos de vecinos y pesos; como la gráfica no es dirigida cada arista
+ * aparece dos veces.</p>
+ *
+ * <p>Los recorridos y Dijkstra usan arreglos de trabajo creados junto con la
+ * gráfica, así que no crean objetos; por lo mismo, una gráfica compacta no
+ * debe usarse desde varios hilos al mismo tiempo. Las consultas de distancia
+ * y trayectoria se refieren a la última búsqueda realizada.</p>
+ */
+public class GraficaCompacta<T> {
+
+  /* Los elementos, indexados por vértice. */
+  private Object[] elementos;
+  /* Los vértices, indexados por elemento. */
+  private Diccionario<T, Integer> ids;
+  /* Dónde empiezan los vecinos de cada vértice; tiene n + 1 entradas. */
+  private int[] inicios;
+  /* Los vecinos de todos los vértices. */
+  private int[] vecinos;
+  /* Los pesos de las aristas, paralelos a los vecinos. */
+  private double[] pesos;
+
+  /* Distancia de cada vértice al origen de la última búsqueda. */
+  private double[] distancias;
+  /* Vértice anterior en la trayectoria de la última búsqueda, -1 si no tiene. */
+  private int[] anteriores;
+  /* Cola, pila o montículo de trabajo. */
+  private int[] trabajo;
+  /* Posición de cada vértice en el montículo, -1 si no está. */
+  private int[] posiciones;
+
+  /* Construye la gráfica compacta a partir de sus arreglos; sólo la crea
+   * Grafica. */
+  GraficaCompacta(Object[] elementos, Diccionario<T, Integer> ids,
+                  int[] inicios, int[] vecinos, double[] pesos) {
+    this.elementos = elementos;
+    this.ids = ids;
+    this.inicios = inicios;
+    this.vecinos = vecinos;
+    this.pesos = pesos;
+    int n = elementos.length;
+    distancias = new double[n];
+    anteriores = new int[n];
+    trabajo = new int[n];
+    posiciones = new int[n];
+  }
+
+  /**
+   * Regresa el número de vértices.
+   * @return el número de vértices.
+   */
+  public int getElementos() {
+    return elementos.length;
+  }
+
+  /**
+   * Regresa el número de aristas.
+   * @return el número de aristas.
+   */
+  public int getAristas() {
+    return vecinos.length / 2;
+  }
+
+  /**
+   * Regresa el vértice del elemento recibido.
+   * @param elemento el elemento.
+   * @return el vértice del elemento.
+   * @throws NoSuchElementException si el elemento no está en la gráfica.
+   */
+  public int id(T elemento) {
+    if (!ids.contiene(elemento)) throw new NoSuchElementException("El elemento no se encuentra en la gráfica.");
+    return ids.get(elemento);
+  }
+
+  /**
+   * Regresa el elemento del vértice recibido.
+   * @param v el vértice.
+   * @return el elemento del vértice.
+   * @throws NoSuchElementException si el vértice es inválido.
+   */
+  @SuppressWarnings("unchecked") public T elemento(int v) {
+    valida(v);
+    return (T) elementos[v];
+  }
+
+  /**
+   * Regresa el grado del vértice recibido.
+   * @param v el vértice.
+   * @return el grado del vértice.
+   * @throws NoSuchElementException si el vértice es inválido.
+   */
+  public int getGrado(int v) {
+    valida(v);
+    return inicios[v + 1] - inicios[v];
+  }
+
+  /**
+   * Regresa el <i>i</i>-ésimo vecino del vértice recibido.
+   * @param v el vértice.
+   * @param i el índice del vecino, de 0 al grado del vértice menos 1.
+   * @return el <i>i</i>-ésimo vecino del vértice.
+   * @throws NoSuchElementException si el vértice o el índice son inválidos.
+   */
+  public int vecino(int v, int i) {
+    if (i < 0 || i >= getGrado(v)) throw new NoSuchElementException("No existe el vecino con indice " + i);
+    return vecinos[inicios[v] + i];
+  }
+
+  /**
+   * Regresa el peso de la arista al <i>i</i>-ésimo vecino del vértice recibido.
+   * @param v el vértice.
+   * @param i el índice del vecino, de 0 al grado del vértice menos 1.
+   * @return el peso de la arista al <i>i</i>-ésimo vecino del vértice.
+   * @throws NoSuchElementException si el vértice o el índice son inválidos.
+   */
+  public double peso(int v, int i) {
+    if (i < 0 || i >= getGrado(v)) throw new NoSuchElementException("No existe el vecino con indice " + i);
+    return pesos[inicios[v] + i];
+  }
+
+  /**
+   * Recorre la gráfica con BFS desde el vértice recibido. Al terminar, la
+   * distancia de cada vértice es su número de aristas al origen.
+   * @param origen el vértice de origen.
+   * @param orden arreglo donde se guardan los vértices en el orden en que se
+   *        visitan; debe tener espacio para todos los vértices alcanzables.
+   * @return el número de vértices visitados.
+   * @throws NoSuchElementException si el vértice es inválido.
+   */
+  public int bfs(int origen, int[] orden) {
+    inicia(origen);
+    int cabeza = 0, rabo = 0;
+    trabajo[rabo++] = origen;
+    while (cabeza < rabo) {
+      int v = trabajo[cabeza++];
+      orden[cabeza - 1] = v;
+      for (int a = inicios[v]; a < inicios[v + 1]; a++) {
+        int u = vecinos[a];
+        if (distancias[u] == Double.POSITIVE_INFINITY) {
+          distancias[u] = distancias[v] + 1;
+          anteriores[u] = v;
+          trabajo[rabo++] = u;
+        }
+      }
+    }
+    return rabo;
+  }
+
+  /**
+   * Recorre la gráfica con DFS desde el vértice recibido, en el mismo orden
+   * que {@link Grafica#dfs}: cada vértice se marca al meterlo en la pila.
+   * @param origen el vértice de origen.
+   * @param orden arreglo donde se guardan los vértices en el orden en que se
+   *        visitan; debe tener espacio para todos los vértices alcanzables.
+   * @return el número de vértices visitados.
+   * @throws NoSuchElementException si el vértice es inválido.
+   */
+  public int dfs(int origen, int[] orden) {
+    inicia(origen);
+    int tope = 0, visitados = 0;
+    trabajo[tope++] = origen;
+    while (tope > 0) {
+      int v = trabajo[--tope];
+      orden[visitados++] = v;
+      for (int a = inicios[v]; a < inicios[v + 1]; a++) {
+        int u = vecinos[a];
+        if (distancias[u] == Double.POSITIVE_INFINITY) {
+          distancias[u] = distancias[v] + 1;
+          anteriores[u] = v;
+          trabajo[tope++] = u;
+        }
+      }
+    }
+    return visitados;
+  }
+
+  /**
+   * Nos dice si la gráfica es conexa.
+   * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
+   *         otro caso.
+   */
+  public boolean esConexa() {
+    if (elementos.length == 0) return true;
+    inicia(0);
+    int cabeza = 0, rabo = 0;
+    trabajo[rabo++] = 0;
+    while (cabeza < rabo) {
+      int v = trabajo[cabeza++];
+      for (int a = inicios[v]; a < inicios[v + 1]; a++)
+        if (distancias[vecinos[a]] == Double.POSITIVE_INFINITY) {
+          distancias[vecinos[a]] = 0;
+          trabajo[rabo++] = vecinos[a];
+        }
+    }
+    return rabo == elementos.length;
+  }
+
+  /**
+   * Calcula la distancia de peso mínimo entre dos vértices con el algoritmo de
+   * Dijkstra, deteniéndose en cuanto el destino tiene su distancia definitiva.
+   * La trayectoria se obtiene después con {@link #trayectoria}.
+   * @param origen el vértice de origen.
+   * @param destino el vértice de destino.
+   * @return la distancia mínima entre los vértices, o {@link
+   *         Double#POSITIVE_INFINITY} si están en componentes conexas distintas.
+   * @throws NoSuchElementException si alguno de los vértices es inválido.
+   */
+  public double dijkstra(int origen, int destino) {
+    valida(destino);
+    inicia(origen);
+    for (int i = 0; i < posiciones.length; i++) posiciones[i] = -1;
+    int monticulo = 0;
+    trabajo[monticulo] = origen;
+    posiciones[origen] = monticulo++;
+    while (monticulo > 0) {
+      int v = trabajo[0];
+      posiciones[v] = -2;
+      if (--monticulo > 0) {
+        trabajo[0] = trabajo[monticulo];
+        posiciones[trabajo[0]] = 0;
+        acomodaAbajo(0, monticulo);
+      }
+      if (v == destino) break;
+      for (int a = inicios[v]; a < inicios[v + 1]; a++) {
+        int u = vecinos[a];
+        double d = distancias[v] + pesos[a];
+        if (d < distancias[u]) {
+          distancias[u] = d;
+          anteriores[u] = v;
+          if (posiciones[u] == -1) {
+            trabajo[monticulo] = u;
+            posiciones[u] = monticulo++;
+          }
+          acomodaArriba(posiciones[u]);
+        }
+      }
+    }
+    return distancias[destino];
+  }
+
+  /**
+   * Regresa la distancia del vértice recibido al origen de la última búsqueda.
+   * @param v el vértice.
+   * @return la distancia, o {@link Double#POSITIVE_INFINITY} si no se alcanzó.
+   * @throws NoSuchElementException si el vértice es inválido.
+   */
+  public double distancia(int v) {
+    valida(v);
+    return distancias[v];
+  }
+
+  /**
+   * Guarda la trayectoria del origen de la última búsqueda al vértice recibido.
+   * @param destino el vértice de destino.
+   * @param trayectoria arreglo donde se guardan los vértices de la trayectoria,
+   *        desde el origen; debe tener espacio para toda la trayectoria.
+   * @return la longitud de la trayectoria, 0 si el destino no se alcanzó.
+   * @throws NoSuchElementException si el vértice es inválido.
+   */
+  public int trayectoria(int destino, int[] trayectoria) {
+    valida(destino);
+    if (distancias[destino] == Double.POSITIVE_INFINITY) return 0;
+    int n = 0;
+    for (int v = destino; v != -1; v = anteriores[v]) n++;
+    int i = n;
+    for (int v = destino; v != -1; v = anteriores[v]) trayectoria[--i] = v;
+    return n;
+  }
+
+  /* Verifica que el vértice sea válido. */
+  private void valida(int v) {
+    if (v < 0 || v >= elementos.length) throw new NoSuchElementException("No existe el vértice " + v);
+  }
+
+  /* Reinicia distancias y anteriores para una búsqueda desde el origen. */
+  private void inicia(int origen) {
+    valida(origen);
+    for (int i = 0; i < distancias.length; i++) {
+      distancias[i] = Double.POSITIVE_INFINITY;
+      anteriores[i] = -1;
+    }
+    distancias[origen] = 0;
+  }
+
+  private void acomodaArriba(int i) {
+    int v = trabajo[i];
+    while (i > 0) {
+      int p = (i - 1) / 2;
+      if (distancias[trabajo[p]] <= distancias[v]) break;
+      trabajo[i] = trabajo[p];
+      posiciones[trabajo[i]] = i;
+      i = p;
+    }
+    trabajo[i] = v;
+    posiciones[v] = i;
+  }
+
+  private void acomodaAbajo(int i, int monticulo) {
+    int v = trabajo[i];
+    while (2 * i + 1 < monticulo) {
+      int m = 2 * i + 1;
+      if (m + 1 < monticulo && distancias[trabajo[m + 1]] < distancias[trabajo[m]]) m++;
+      if (distancias[trabajo[m]] >= distancias[v]) break;
+      trabajo[i] = trabajo[m];
+      posiciones[trabajo[i]] = i;
+      i = m;
+    }
+    trabajo[i] = v;
+    posiciones[v] = i;
+  }
+}
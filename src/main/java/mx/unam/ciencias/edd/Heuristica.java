@@ -0,0 +1,20 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz genérica para heurísticas de búsqueda en gráficas.
+ */
+@FunctionalInterface
+public interface Heuristica<T> {
+
+    /**
+     * Estima la distancia del elemento recibido al destino de la búsqueda.
+     * Para que las trayectorias sean mínimas, la estimación no debe ser
+     * negativa ni mayor que la distancia real (heurística admisible); si
+     * además a lo largo de cada arista no cambia en más que el peso de la
+     * arista (heurística consistente), la búsqueda procesa cada vértice una
+     * sola vez.
+     * @param elemento el elemento del que queremos la estimación.
+     * @return la distancia estimada del elemento al destino.
+     */
+    public double estima(T elemento);
+}
@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Interfaz para diccionarios que mapean un conjunto de <em>llaves</em> a
+ * una colección de <em>valores</em> por medio de una tabla de dispersión. Los
+ * mapas son iterables sobre sus valores.</p>
+ *
+ * <p>Los mapas no aceptan a <code>null</code> como llave ni como valor.</p>
+ */
+public interface Mapa<K, V> extends Iterable<V> {
+
+    /**
+     * Agrega un nuevo valor al mapa, usando la llave proporcionada. Si la
+     * llave ya había sido utilizada antes para agregar un valor, el mapa
+     * reemplaza ese valor con el recibido aquí.
+     * @param llave la llave para agregar el valor.
+     * @param valor el valor a agregar.
+     * @throws IllegalArgumentException si la llave o el valor son nulos.
+     */
+    public void agrega(K llave, V valor);
+
+    /**
+     * Regresa el valor del mapa asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor.
+     * @return el valor correspondiente a la llave.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no está en el mapa.
+     */
+    public V get(K llave);
+
+    /**
+     * Nos dice si una llave se encuentra en el mapa.
+     * @param llave la llave que queremos ver si está en el mapa.
+     * @return <code>true</code> si la llave está en el mapa,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave);
+
+    /**
+     * Elimina el valor del mapa asociado a la llave proporcionada.
+     * @param llave la llave para buscar el valor a eliminar.
+     * @throws IllegalArgumentException si la llave es nula.
+     * @throws NoSuchElementException si la llave no se encuentra en el mapa.
+     */
+    public void elimina(K llave);
+
+    /**
+     * Nos dice cuántas colisiones hay en el mapa.
+     * @return cuántas colisiones hay en el mapa.
+     */
+    public int colisiones();
+
+    /**
+     * Nos dice el máximo número de colisiones para una misma llave que tenemos
+     * en el mapa.
+     * @return el máximo número de colisiones para una misma llave.
+     */
+    public int colisionMaxima();
+
+    /**
+     * Nos dice la carga del mapa.
+     * @return la carga del mapa.
+     */
+    public double carga();
+
+    /**
+     * Regresa el número de entradas en el mapa.
+     * @return el número de entradas en el mapa.
+     */
+    public int getElementos();
+
+    /**
+     * Nos dice si el mapa es vacío.
+     * @return <code>true</code> si el mapa es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia();
+
+    /**
+     * Limpia el mapa de elementos, dejándolo vacío.
+     */
+    public void limpia();
+
+    /**
+     * Regresa un iterador para iterar las llaves del mapa. El mapa se itera
+     * sin ningún orden específico.
+     * @return un iterador para iterar las llaves del mapa.
+     */
+    public Iterator<K> iteradorLlaves();
+}
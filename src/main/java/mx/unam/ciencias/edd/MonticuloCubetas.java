@@ -0,0 +1,205 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos de Dijkstra con cubetas circulares (algoritmo de
+ * Dial). Sirve cuando las prioridades son enteros no negativos y los pesos de
+ * las aristas son enteros acotados por un peso máximo <i>C</i>.</p>
+ *
+ * <p>Se usan <i>C</i> + 1 cubetas; cada cubeta es una lista doblemente ligada
+ * sobre arreglos, por lo que eliminar el mínimo y reordenar un elemento cuestan
+ * <i>O</i>(1) amortizado (a lo más <i>C</i> cubetas revisadas por cada
+ * eliminación). Como en Dijkstra, las prioridades de los elementos sólo pueden
+ * disminuir y nunca ser menores que la del último elemento eliminado.</p>
+ */
+public class MonticuloCubetas<T extends ComparableIndexable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /* Marca de los elementos que ya fueron eliminados. */
+    private static final int ELIMINADO = -2;
+
+    /* Número de elementos en el montículo. */
+    private int elementos;
+    /* Usamos un truco para poder utilizar arreglos genéricos. */
+    private T[] arreglo;
+    /* La prioridad de los elementos. */
+    private Prioridad<T> prioridad;
+    /* Número de cubetas circulares; la cubeta siguiente es la de los
+       elementos con prioridad infinita. */
+    private int modulo;
+    /* Primer elemento de cada cubeta, -1 si es vacía. */
+    private int[] cabezas;
+    /* Siguiente elemento en la cubeta de cada elemento. */
+    private int[] siguientes;
+    /* Elemento anterior en la cubeta de cada elemento. */
+    private int[] anteriores;
+    /* La cubeta de cada elemento. */
+    private int[] cubetas;
+    /* Número de elementos con prioridad infinita. */
+    private int infinitos;
+    /* Prioridad del último elemento eliminado. */
+    private int actual;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+      return (T[])(new ComparableIndexable[n]);
+    }
+
+    /**
+     * Constructor para montículo de cubetas a partir de una colección.
+     * @param coleccion la colección a partir de la cuál queremos construir el
+     *                  montículo.
+     * @param prioridad la prioridad entera de los elementos.
+     * @param pesoMaximo la máxima diferencia entre la prioridad de un elemento
+     *                   reordenado y la del último elemento eliminado.
+     */
+    public MonticuloCubetas(Coleccion<T> coleccion, Prioridad<T> prioridad,
+                            int pesoMaximo) {
+      this(coleccion, coleccion.getElementos(), prioridad, pesoMaximo);
+    }
+
+    /**
+     * Construye un nuevo montículo de cubetas a partir de un iterable.
+     * @param iterable el iterable a partir de la cual construir el montículo.
+     * @param n el número de elementos en el iterable.
+     * @param prioridad la prioridad entera de los elementos.
+     * @param pesoMaximo la máxima diferencia entre la prioridad de un elemento
+     *                   reordenado y la del último elemento eliminado.
+     * @throws IllegalArgumentException si el peso máximo es negativo.
+     */
+    public MonticuloCubetas(Iterable<T> iterable, int n, Prioridad<T> prioridad,
+                            int pesoMaximo) {
+      if (pesoMaximo < 0) throw new IllegalArgumentException("El peso máximo no puede ser negativo.");
+      this.prioridad = prioridad;
+      arreglo = nuevoArreglo(n);
+      modulo = pesoMaximo + 1;
+      cabezas = new int[modulo + 1];
+      siguientes = new int[n];
+      anteriores = new int[n];
+      cubetas = new int[n];
+      for (int i = 0; i < cabezas.length; i++) cabezas[i] = -1;
+      actual = Integer.MAX_VALUE;
+      for (T e : iterable) {
+        arreglo[elementos] = e;
+        e.setIndice(elementos);
+        mete(elementos, modulo);
+        infinitos++;
+        elementos++;
+        reordena(e);
+      }
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+      if (elementos == 0) throw new IllegalStateException("El montículo es vacio.");
+      int i = -1;
+      if (elementos > infinitos)
+        for (int k = 0; k < modulo; k++) {
+          int c = (int) (((long) actual + k) % modulo);
+          if (cabezas[c] != -1) {
+            i = cabezas[c];
+            actual = prioridad.prioridad(arreglo[i]);
+            break;
+          }
+        }
+      if (i == -1) {
+        /* Sólo quedan elementos con prioridad infinita. */
+        i = cabezas[modulo];
+        infinitos--;
+      }
+      saca(i);
+      T e = arreglo[i];
+      e.setIndice(-1);
+      /* El último elemento ocupa el lugar del eliminado, para que los
+         primeros elementos del arreglo sean exactamente los que quedan. */
+      int u = --elementos;
+      if (i != u) mueve(u, i);
+      arreglo[u] = null;
+      cubetas[u] = ELIMINADO;
+      return e;
+    }
+
+    /**
+     * Reordena un elemento en el montículo, después de que su prioridad
+     * disminuyó.
+     * @param elemento el elemento que hay que reordenar.
+     */
+    @Override public void reordena(T elemento) {
+      int i = elemento.getIndice();
+      if (i < 0 || i >= arreglo.length || cubetas[i] == ELIMINADO) return;
+      int p = prioridad.prioridad(elemento);
+      if (p == Integer.MAX_VALUE) return;
+      if (cubetas[i] == modulo) infinitos--;
+      saca(i);
+      if (p < actual) actual = p;
+      mete(i, p % modulo);
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del arreglo. Los índices menores que
+     * el número de elementos recorren exactamente los elementos que siguen en
+     * el montículo, sin ningún orden en particular.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del arreglo.
+     * @throws NoSuchElementException si i es menor que cero, o mayor o igual
+     *         que el número de elementos.
+     */
+    @Override public T get(int i) {
+      if (i >= elementos || i < 0) throw new NoSuchElementException("No existe el elemento con indice " + i);
+      return arreglo[i];
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+      return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+      return elementos;
+    }
+
+    /* Mete al elemento en la cubeta. */
+    private void mete(int i, int c) {
+      cubetas[i] = c;
+      anteriores[i] = -1;
+      siguientes[i] = cabezas[c];
+      if (cabezas[c] != -1) anteriores[cabezas[c]] = i;
+      cabezas[c] = i;
+    }
+
+    /* Mueve al elemento de un lugar del arreglo a otro desocupado, sin
+       cambiar su posición en su cubeta. */
+    private void mueve(int de, int a) {
+      arreglo[a] = arreglo[de];
+      arreglo[a].setIndice(a);
+      cubetas[a] = cubetas[de];
+      anteriores[a] = anteriores[de];
+      siguientes[a] = siguientes[de];
+      if (anteriores[a] != -1) siguientes[anteriores[a]] = a;
+      else cabezas[cubetas[a]] = a;
+      if (siguientes[a] != -1) anteriores[siguientes[a]] = a;
+    }
+
+    /* Saca al elemento de su cubeta. */
+    private void saca(int i) {
+      int c = cubetas[i];
+      if (anteriores[i] != -1) siguientes[anteriores[i]] = siguientes[i];
+      else cabezas[c] = siguientes[i];
+      if (siguientes[i] != -1) anteriores[siguientes[i]] = anteriores[i];
+    }
+}
@@ -0,0 +1,16 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz genérica para obtener la prioridad entera de un objeto.
+ */
+@FunctionalInterface
+public interface Prioridad<T> {
+
+    /**
+     * Regresa la prioridad del objeto recibido; entre menor, más prioritario.
+     * @param objeto el objeto del que queremos la prioridad.
+     * @return la prioridad del objeto, o {@link Integer#MAX_VALUE} si es
+     *         infinita.
+     */
+    public int prioridad(T objeto);
+}
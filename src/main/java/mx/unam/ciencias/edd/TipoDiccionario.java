@@ -0,0 +1,11 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para los distintos tipos de diccionarios disponibles.
+ */
+public enum TipoDiccionario {
+    /** {@link Diccionario}, con una lista de entradas por cada índice. */
+    ENCADENADO,
+    /** {@link DiccionarioAbierto}, con direccionamiento abierto. */
+    ABIERTO;
+}
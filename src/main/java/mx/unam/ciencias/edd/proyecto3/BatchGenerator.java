@@ -0,0 +1,236 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import mx.unam.ciencias.edd.Cola;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Clase que genera muchos laberintos en una sola ejecución, repartiéndolos entre un número
+ * fijo de hilos. Cada laberinto se genera con su propia instancia de {@link Maze} (o de
+ * {@link EllerGenerator}) y por lo tanto con su propio {@link java.util.Random}, así que
+ * sus bytes son idénticos a los que se obtienen generándolo solo con la misma semilla.
+ * <p>
+ * Los laberintos se escriben como archivos .mze separados en un directorio, o uno tras otro
+ * en un {@link MazeArchive}. En el segundo caso se escriben en el orden de las semillas, y
+ * para no guardar todos en memoria sólo se generan por adelantado {@link #AHEAD} por hilo.
+ *
+ * @author Yael Lozano
+ */
+public class BatchGenerator {
+  /** Laberintos que se generan por adelantado por cada hilo. */
+  public static final int AHEAD = 4;
+
+  /** Número de columnas. */
+  private final int width;
+  /** Número de renglones. */
+  private final int height;
+  /** El algoritmo con el que se generan. */
+  private final Generator generator;
+  /** ¿Se guardan en el formato extendido aunque quepan en el original? */
+  private final boolean extended;
+  /** Número de hilos. */
+  private final int threads;
+
+  /**
+   * Constructor que recibe cómo generar los laberintos.
+   *
+   * @param width     el número de columnas
+   * @param height    el número de renglones
+   * @param generator el algoritmo con el que se generan
+   * @param extended  ¿Se guardan en el formato extendido aunque quepan en el original?
+   * @param threads   número de hilos
+   * @throws IllegalArgumentException si el número de hilos no es positivo
+   */
+  public BatchGenerator(int width, int height, Generator generator, boolean extended, int threads) {
+    if (threads < 1) throw new IllegalArgumentException("El número de hilos es inválido: " + threads);
+    this.width = width;
+    this.height = height;
+    this.generator = generator;
+    this.extended = extended;
+    this.threads = threads;
+  }
+
+  /**
+   * Regresa las semillas consecutivas a partir de una.
+   *
+   * @param from la primera semilla
+   * @param n    el número de semillas
+   * @return las semillas
+   * @throws IllegalArgumentException si el número de semillas no es positivo
+   */
+  public static long[] range(long from, int n) {
+    if (n < 1) throw new IllegalArgumentException("El número de laberintos es inválido: " + n);
+    long[] seeds = new long[n];
+    for (int i = 0; i < n; i++) seeds[i] = from + i;
+    return seeds;
+  }
+
+  /**
+   * Regresa las semillas de un archivo, una por línea. Las líneas vacías se ignoran.
+   *
+   * @param list el archivo con las semillas
+   * @return las semillas
+   * @throws IOException si no se puede leer el archivo o tiene algo que no es una semilla
+   */
+  public static long[] seeds(Path list) throws IOException {
+    List<String> lines = Files.readAllLines(list, StandardCharsets.UTF_8);
+    long[] seeds = new long[lines.size()];
+    int n = 0;
+    for (String line : lines) {
+      line = line.trim();
+      if (line.isEmpty()) continue;
+      try {
+        seeds[n++] = Long.parseLong(line);
+      } catch (NumberFormatException e) {
+        throw new IOException("La semilla es inválida: " + line);
+      }
+    }
+    if (n == 0) throw new IOException("La lista de semillas está vacía.");
+    long[] r = new long[n];
+    System.arraycopy(seeds, 0, r, 0, n);
+    return r;
+  }
+
+  /**
+   * Genera los laberintos y escribe cada uno en su propio archivo
+   * <code>laberinto-&lt;semilla&gt;.mze</code> en el directorio, que se crea si no existe.
+   *
+   * @param seeds  las semillas
+   * @param dir    el directorio
+   * @param report donde se escribe el reporte
+   * @throws IOException si no se puede escribir algún archivo
+   * @throws InterruptedException si se interrumpe el hilo mientras espera
+   */
+  public void toDirectory(long[] seeds, Path dir, PrintStream report)
+      throws IOException, InterruptedException {
+    Files.createDirectories(dir);
+    run(seeds, seed -> () -> {
+      byte[] maze = generate(seed);
+      Files.write(dir.resolve("laberinto-" + seed + ".mze"), maze);
+      return null;
+    }, null, report);
+  }
+
+  /**
+   * Genera los laberintos y los escribe en un {@link MazeArchive}, en el orden de las
+   * semillas.
+   *
+   * @param seeds  las semillas
+   * @param file   el archivo .mza
+   * @param report donde se escribe el reporte
+   * @throws IOException si no se puede escribir el archivo
+   * @throws InterruptedException si se interrumpe el hilo mientras espera
+   */
+  public void toArchive(long[] seeds, Path file, PrintStream report)
+      throws IOException, InterruptedException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+      MazeArchive archive = new MazeArchive(out);
+      run(seeds, seed -> () -> generate(seed), archive, report);
+      archive.finish();
+    }
+  }
+
+  /**
+   * Reparte las tareas entre los hilos, manteniendo a lo más {@link #AHEAD} por hilo
+   * pendientes, y agrega al archivo indexado lo que regresan en el orden de las semillas.
+   *
+   * @param seeds   las semillas
+   * @param task    la tarea de cada semilla
+   * @param archive el archivo indexado, o null si las tareas escriben sus laberintos
+   * @param report  donde se escribe el reporte
+   * @throws IOException si falla alguna tarea o no se puede escribir el archivo
+   * @throws InterruptedException si se interrumpe el hilo mientras espera
+   */
+  private void run(long[] seeds, Task task, MazeArchive archive, PrintStream report)
+      throws IOException, InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    long begin = System.nanoTime();
+    long bytes = 0;
+    Cola<Future<byte[]>> pending = new Cola<>();
+    int submitted = 0, done = 0;
+    try {
+      while (done < seeds.length) {
+        while (submitted < seeds.length && submitted - done < AHEAD * threads)
+          pending.mete(pool.submit(task.of(seeds[submitted++])));
+        byte[] maze = take(pending.saca());
+        if (archive != null) {
+          archive.add(seeds[done], maze);
+          bytes += maze.length;
+        }
+        done++;
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    double seconds = (System.nanoTime() - begin) / 1e9;
+    report.printf("%d laberintos de %dx%d generados en %.1f ms con %d hilos, %.1f laberintos/s%n",
+        seeds.length, width, height, seconds * 1e3, threads, seeds.length / seconds);
+    if (archive != null)
+      report.printf("%d bytes de laberintos en el archivo indexado%n", bytes);
+  }
+
+  /**
+   * Espera el resultado de una tarea.
+   *
+   * @param future la tarea
+   * @return lo que regresó la tarea
+   * @throws IOException si la tarea falló
+   * @throws InterruptedException si se interrumpe el hilo mientras espera
+   */
+  private static byte[] take(Future<byte[]> future) throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) throw (IOException) cause;
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Genera un laberinto y regresa los bytes de su archivo .mze, los mismos que escribe
+   * {@link Maze#saveMaze()} o {@link EllerGenerator#write} con la misma semilla.
+   *
+   * @param seed la semilla
+   * @return los bytes del archivo .mze
+   * @throws IOException nunca, los bytes se escriben en memoria
+   */
+  private byte[] generate(long seed) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (generator == Generator.ELLER) {
+      new EllerGenerator(width, height, seed).write(out, extended);
+    } else {
+      Maze maze = new Maze();
+      maze.generator = generator;
+      maze.extended = extended;
+      maze.build(width, height, seed);
+      maze.saveMaze(out);
+    }
+    return out.toByteArray();
+  }
+
+  /** Interfaz para construir la tarea de cada semilla. */
+  @FunctionalInterface
+  private interface Task {
+    /**
+     * Regresa la tarea de una semilla.
+     *
+     * @param seed la semilla
+     * @return la tarea, que regresa los bytes del laberinto o null
+     */
+    Callable<byte[]> of(long seed);
+  }
+}
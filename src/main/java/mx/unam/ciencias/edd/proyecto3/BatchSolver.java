@@ -0,0 +1,213 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import mx.unam.ciencias.edd.Lista;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Clase que resuelve muchos laberintos en una sola ejecución, repartiéndolos entre un
+ * número fijo de hilos. Cada laberinto se lee, se resuelve y se dibuja con su propia
+ * instancia de {@link Maze}, y el dibujo se escribe junto al archivo .mze con la extensión
+ * .svg o .png.
+ * <p>
+ * Los tiempos de cada archivo se reportan en el orden en que se recibieron, y al final los
+ * totales.
+ *
+ * @author Yael Lozano
+ */
+public class BatchSolver {
+  /** El motor con el que se resuelven los laberintos. */
+  private final Engine engine;
+  /** ¿Se dibuja el SVG compacto? */
+  private final boolean compact;
+  /** Tamaño de celda del PNG, 0 si se dibuja un SVG. */
+  private final int cellSize;
+  /** Número de hilos. */
+  private final int threads;
+
+  /**
+   * Constructor que recibe cómo resolver y dibujar los laberintos.
+   *
+   * @param engine   el motor con el que se resuelven
+   * @param compact  ¿Se dibuja el SVG compacto?
+   * @param cellSize tamaño de celda del PNG, 0 si se dibuja un SVG
+   * @param threads  número de hilos
+   * @throws IllegalArgumentException si el número de hilos no es positivo
+   */
+  public BatchSolver(Engine engine, boolean compact, int cellSize, int threads) {
+    if (threads < 1) throw new IllegalArgumentException("El número de hilos es inválido: " + threads);
+    this.engine = engine;
+    this.compact = compact;
+    this.cellSize = cellSize;
+    this.threads = threads;
+  }
+
+  /**
+   * Regresa los archivos a resolver: si la ruta es un directorio, sus archivos .mze en
+   * orden alfabético; si no, la ruta es una lista con un archivo por línea, relativo al
+   * directorio de la lista si no es absoluto. Las líneas vacías se ignoran.
+   *
+   * @param source el directorio o la lista de archivos
+   * @return la lista de archivos
+   * @throws IOException si no se puede leer el directorio o la lista
+   */
+  public static Lista<Path> files(Path source) throws IOException {
+    Lista<Path> files = new Lista<>();
+    if (Files.isDirectory(source)) {
+      try (DirectoryStream<Path> dir = Files.newDirectoryStream(source, "*.mze")) {
+        for (Path file : dir)
+          if (Files.isRegularFile(file)) files.agregaFinal(file);
+      }
+      return files.mergeSort((a, b) -> a.compareTo(b));
+    }
+    Path base = source.toAbsolutePath().getParent();
+    for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+      line = line.trim();
+      if (!line.isEmpty()) files.agregaFinal(base.resolve(line));
+    }
+    return files;
+  }
+
+  /**
+   * Resuelve todos los archivos y escribe el reporte de tiempos.
+   *
+   * @param files  los archivos a resolver
+   * @param report donde se escribe el reporte
+   * @return el número de archivos que no se pudieron resolver
+   * @throws InterruptedException si se interrumpe el hilo mientras espera
+   */
+  public int solve(Lista<Path> files, PrintStream report) throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    long begin = System.nanoTime();
+    Lista<Future<Result>> results = new Lista<>();
+    try {
+      for (Path file : files)
+        results.agregaFinal(pool.submit(() -> solve(file)));
+      long read = 0, render = 0;
+      int failed = 0;
+      for (Future<Result> future : results) {
+        Result r;
+        try {
+          r = future.get();
+        } catch (ExecutionException e) {
+          /* Esto nunca ocurre, solve(Path) atrapa sus excepciones. */
+          throw new IllegalStateException(e.getCause());
+        }
+        if (r.error != null) {
+          failed++;
+          report.println(r.file + ": " + r.error);
+          continue;
+        }
+        read += r.read;
+        render += r.render;
+        report.printf("%s -> %s: lectura %.1f ms, solución y dibujo %.1f ms%n",
+            r.file, r.output.getFileName(), ms(r.read), ms(r.render));
+      }
+      long total = System.nanoTime() - begin;
+      int solved = files.getLongitud() - failed;
+      report.printf("%d laberintos resueltos (%d con error) en %.1f ms con %d hilos: " +
+          "lectura %.1f ms, solución y dibujo %.1f ms en total, %.1f laberintos/s%n",
+          solved, failed, ms(total), threads, ms(read), ms(render),
+          solved / (total / 1e9));
+      return failed;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Lee, resuelve y dibuja un laberinto.
+   *
+   * @param file el archivo .mze
+   * @return los tiempos, o el error si no se pudo resolver
+   */
+  private Result solve(Path file) {
+    Result r = new Result(file);
+    try {
+      long t0 = System.nanoTime();
+      MazeReader reader = new MazeReader();
+      reader.read(file);
+      Maze maze = new Maze();
+      maze.engine = engine;
+      maze.compact = compact;
+      maze.build(reader.getGrid(), reader.getStart(), reader.getEnd());
+      long t1 = System.nanoTime();
+      /* Se resuelve antes de abrir la salida para no dejar un archivo vacío si no hay solución */
+      maze.solve();
+      r.output = output(file);
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(r.output))) {
+        if (cellSize != 0) {
+          maze.writePNG(out, cellSize);
+        } else {
+          /* Igual que la salida de un solo laberinto, con el salto de línea al final */
+          maze.writeMaze(out, true);
+          out.write('\n');
+        }
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(r.output);
+        throw e;
+      }
+      r.read = t1 - t0;
+      r.render = System.nanoTime() - t1;
+    } catch (IOException | RuntimeException e) {
+      r.error = e.toString();
+    }
+    return r;
+  }
+
+  /**
+   * Regresa el archivo donde se escribe el dibujo de un laberinto: el mismo, con la
+   * extensión .svg o .png en lugar de .mze.
+   *
+   * @param file el archivo .mze
+   * @return el archivo del dibujo
+   */
+  private Path output(Path file) {
+    String name = file.getFileName().toString();
+    if (name.endsWith(".mze")) name = name.substring(0, name.length() - 4);
+    return file.resolveSibling(name + (cellSize != 0 ? ".png" : ".svg"));
+  }
+
+  /**
+   * Convierte nanosegundos a milisegundos.
+   *
+   * @param nanos los nanosegundos
+   * @return los milisegundos
+   */
+  private static double ms(long nanos) {
+    return nanos / 1e6;
+  }
+
+  /** Clase con el resultado de resolver un archivo. */
+  private static class Result {
+    /** El archivo .mze. */
+    private final Path file;
+    /** El archivo del dibujo. */
+    private Path output;
+    /** Nanosegundos de lectura. */
+    private long read;
+    /** Nanosegundos de solución y dibujo. */
+    private long render;
+    /** El error, null si se resolvió. */
+    private String error;
+
+    /**
+     * Constructor que recibe el archivo.
+     *
+     * @param file el archivo .mze
+     */
+    private Result(Path file) {
+      this.file = file;
+    }
+  }
+}
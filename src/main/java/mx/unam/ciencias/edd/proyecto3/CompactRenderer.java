@@ -0,0 +1,204 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+
+/**
+ * Clase que dibuja un laberinto en SVG compacto: las paredes adyacentes sobre una misma
+ * recta se unen en un solo segmento y todos los segmentos van en un único
+ * <code>&lt;path&gt;</code> con comandos relativos; la solución es una sola
+ * <code>&lt;polyline&gt;</code> con únicamente sus vueltas, y los estilos van en clases CSS
+ * en lugar de repetirse en cada elemento. El dibujo es el mismo que el de
+ * {@link Maze#writeMaze} sin compactar.
+ * <p>
+ * La cuadrícula se recorre por renglones y sólo se guarda dónde empieza el segmento
+ * vertical abierto en cada columna, así que la memoria depende del ancho.
+ *
+ * @author Yael Lozano
+ */
+public class CompactRenderer {
+  /** Los estilos de las paredes, la solución y los extremos. */
+  private static final String STYLE =
+      "\t\t<style>.w{fill:none;stroke:black;stroke-width:3}" +
+      ".s{fill:none;stroke:purple;stroke-width:4}.f{fill:pink}</style>\n";
+
+  /** La cuadrícula del laberinto. */
+  private final Grid grid;
+  /** Donde se escribe el SVG. */
+  private final SVGWriter svg;
+  /** Posición actual de la pluma en el <code>&lt;path&gt;</code>. */
+  private int penX, penY;
+  /** ¿Ya se escribió algún segmento? */
+  private boolean started;
+
+  /**
+   * Constructor que recibe la cuadrícula y dónde escribir.
+   *
+   * @param grid la cuadrícula del laberinto
+   * @param svg  donde se escribe el SVG, ya abierto con {@link SVGWriter#open}
+   */
+  public CompactRenderer(Grid grid, SVGWriter svg) {
+    this.grid = grid;
+    this.svg = svg;
+  }
+
+  /**
+   * Escribe los estilos, la solución, las paredes y los extremos.
+   *
+   * @param solution arreglo de índices de celdas con la solución, o null si no se dibuja
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void write(int[] solution) throws IOException {
+    svg.write(STYLE);
+    if (solution != null && solution.length > 1) solution(solution);
+    walls();
+    fars();
+  }
+
+  /**
+   * Escribe la solución como una sola <code>&lt;polyline&gt;</code>, omitiendo los puntos
+   * intermedios de los tramos rectos.
+   *
+   * @param solution arreglo de índices de celdas con la solución
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void solution(int[] solution) throws IOException {
+    svg.write("\t\t<polyline class='s' points='");
+    point(solution[0]);
+    for (int i = 1; i < solution.length - 1; i++)
+      if (solution[i] - solution[i - 1] != solution[i + 1] - solution[i]) {
+        svg.write(" ");
+        point(solution[i]);
+      }
+    svg.write(" ");
+    point(solution[solution.length - 1]);
+    svg.write("'/>\n");
+  }
+
+  /**
+   * Escribe el centro de una celda como punto de la <code>&lt;polyline&gt;</code>.
+   *
+   * @param c índice de la celda
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void point(int c) throws IOException {
+    svg.write(30 + 20 * grid.x(c));
+    svg.write(",");
+    svg.write(30 + 20 * grid.y(c));
+  }
+
+  /**
+   * Escribe todas las paredes en un solo <code>&lt;path&gt;</code>. Cada recta horizontal se
+   * escribe al llegar a ella; los segmentos verticales se escriben cuando terminan.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void walls() throws IOException {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    /* Renglón donde empieza el segmento vertical abierto en cada recta, -1 si no hay */
+    int[] open = new int[width + 1];
+    for (int k = 0; k <= width; k++) open[k] = -1;
+    svg.write("\t\t<path class='w' d='");
+    started = false;
+    for (int y = 0; ; y++) {
+      int run = -1;
+      for (int x = 0; x <= width; x++) {
+        boolean wall = x < width && grid.horizontalWall(x, y);
+        if (wall && run == -1) {
+          run = x;
+        } else if (!wall && run != -1) {
+          move(20 + 20 * run, 20 + 20 * y);
+          svg.write("h");
+          svg.write(20 * (x - run));
+          penX += 20 * (x - run);
+          run = -1;
+        }
+      }
+      if (y == height) break;
+      for (int k = 0; k <= width; k++) {
+        boolean wall = grid.verticalWall(k, y);
+        if (wall && open[k] == -1) open[k] = y;
+        else if (!wall && open[k] != -1) {
+          vertical(k, open[k], y);
+          open[k] = -1;
+        }
+      }
+    }
+    for (int k = 0; k <= width; k++)
+      if (open[k] != -1) vertical(k, open[k], height);
+    svg.write("'/>\n");
+  }
+
+  /**
+   * Escribe un segmento vertical en el <code>&lt;path&gt;</code>.
+   *
+   * @param k    la recta vertical, de 0 al ancho
+   * @param from el renglón donde empieza
+   * @param to   el renglón donde termina, sin incluirlo
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void vertical(int k, int from, int to) throws IOException {
+    move(20 + 20 * k, 20 + 20 * from);
+    svg.write("v");
+    svg.write(20 * (to - from));
+    penY += 20 * (to - from);
+  }
+
+  /**
+   * Mueve la pluma a un punto: la primera vez en coordenadas absolutas y después
+   * relativas a la posición actual.
+   *
+   * @param x coordenada en x
+   * @param y coordenada en y
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void move(int x, int y) throws IOException {
+    if (!started) {
+      svg.write("M");
+      svg.write(x);
+      svg.write(" ");
+      svg.write(y);
+      started = true;
+    } else {
+      svg.write("m");
+      svg.write(x - penX);
+      svg.write(" ");
+      svg.write(y - penY);
+    }
+    penX = x;
+    penY = y;
+  }
+
+  /**
+   * Escribe un círculo en cada extremo; sólo se revisan las celdas del borde.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void fars() throws IOException {
+    int width = grid.getWidth();
+    int height = grid.getHeight();
+    for (int x = 0; x < width; x++) {
+      far(grid.index(x, 0));
+      far(grid.index(x, height - 1));
+    }
+    for (int y = 1; y < height - 1; y++) {
+      far(grid.index(0, y));
+      far(grid.index(width - 1, y));
+    }
+  }
+
+  /**
+   * Escribe un círculo en la celda si es extremo.
+   *
+   * @param c índice de la celda
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void far(int c) throws IOException {
+    if (!grid.isFar(c)) return;
+    svg.write("\t\t<circle class='f' cx='");
+    svg.write(30 + 20 * grid.x(c));
+    svg.write("' cy='");
+    svg.write(30 + 20 * grid.y(c));
+    svg.write("' r='5'/>\n");
+  }
+}
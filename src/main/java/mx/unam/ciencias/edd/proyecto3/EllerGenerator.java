@@ -0,0 +1,198 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import mx.unam.ciencias.edd.ConjuntosDisjuntos;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * Clase que genera laberintos con el algoritmo de Eller, renglón por renglón, escribiendo
+ * cada renglón en formato .mze en cuanto está terminado. Sólo se guarda el estado del
+ * renglón actual, así que la memoria depende del ancho y no del alto del laberinto.
+ * <p>
+ * Cada celda del renglón pertenece a un conjunto de celdas conectadas por renglones
+ * anteriores. Se derriban paredes horizontales al azar entre celdas de conjuntos distintos,
+ * y cada conjunto baja al siguiente renglón por al menos una de sus celdas; en el último
+ * renglón se unen todos los conjuntos. El resultado es un laberinto perfecto, igual que con
+ * los otros generadores, pero la sucesión de números aleatorios es distinta, así que una
+ * misma semilla produce otro laberinto.
+ *
+ * @author Yael Lozano
+ */
+public class EllerGenerator {
+  /** Número de columnas. */
+  private final int width;
+  /** Número de renglones. */
+  private final int height;
+  /** El generador de números aleatorios. */
+  private final Random rng;
+
+  /** Conjunto de cada celda del renglón: un representante de 0 a width - 1, o width + x si es nuevo. */
+  private final int[] label;
+  /** Primera columna del renglón con cada conjunto, -1 si no hay. */
+  private final int[] first;
+  /** Conjuntos del renglón actual, por columna. */
+  private final ConjuntosDisjuntos sets;
+  /** Celdas del conjunto de cada representante que faltan por decidir si bajan. */
+  private final int[] remaining;
+  /** ¿El conjunto de cada representante ya bajó por alguna celda? */
+  private final boolean[] descended;
+  /** ¿Cada celda del renglón anterior bajó a este renglón? */
+  private boolean[] fromAbove;
+  /** ¿Cada celda del renglón actual baja al siguiente? */
+  private boolean[] down;
+  /** ¿Cada celda del renglón actual está unida con su vecina derecha? */
+  private final boolean[] right;
+  /** Los bytes del renglón actual. */
+  private final byte[] row;
+
+  /** Columna y renglón de la celda de inicio. */
+  private int startX, startY;
+  /** Columna y renglón de la celda final. */
+  private int endX, endY;
+  /** Lados abiertos hacia afuera de la celda de inicio y de la final. */
+  private int startGate, endGate;
+
+  /**
+   * Constructor que recibe las dimensiones del laberinto y la semilla.
+   *
+   * @param width  el número de columnas del laberinto
+   * @param height el número de renglones del laberinto
+   * @param seed   semilla para generar el laberinto; con 0 se utiliza el reloj
+   */
+  public EllerGenerator(int width, int height, long seed) {
+    this.width = width;
+    this.height = height;
+    rng = seed != 0 ? new Random(seed) : new Random();
+    label = new int[width];
+    first = new int[2 * width];
+    for (int i = 0; i < first.length; i++) first[i] = -1;
+    sets = new ConjuntosDisjuntos(width);
+    remaining = new int[width];
+    descended = new boolean[width];
+    fromAbove = new boolean[width];
+    down = new boolean[width];
+    right = new boolean[width];
+    row = new byte[width];
+  }
+
+  /**
+   * Genera el laberinto y lo escribe en formato .mze, renglón por renglón. Se utiliza el
+   * formato extendido si se pide o si las dimensiones no caben en el original.
+   *
+   * @param out      el flujo donde se escribe el laberinto
+   * @param extended ¿Se debe escribir el formato extendido?
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void write(OutputStream out, boolean extended) throws IOException {
+    selectFars();
+    MazeWriter writer = new MazeWriter(out, width, height, extended);
+    writer.header(startX, startY, endX, endY);
+    for (int x = 0; x < width; x++) label[x] = width + x;
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) row[x] = (byte) (rng.nextInt(16) << 4);
+      group();
+      joinRight(y == height - 1);
+      if (y < height - 1) goDown();
+      else for (int x = 0; x < width; x++) down[x] = false;
+      encode(y);
+      writer.write(row, 0, width);
+      boolean[] t = fromAbove;
+      fromAbove = down;
+      down = t;
+    }
+    writer.finish();
+  }
+
+  /**
+   * Selecciona aleatoriamente los extremos en dos lados distintos, como al generar con
+   * {@link Maze}, y sin que sean la misma celda.
+   */
+  private void selectFars() {
+    int s, e;
+    do {
+      s = rng.nextInt(4);
+      e = rng.nextInt(4);
+    } while (s == e);
+    do {
+      int[] a = selectFar(s);
+      int[] b = selectFar(e);
+      startX = a[0]; startY = a[1]; startGate = a[2];
+      endX = b[0]; endY = b[1]; endGate = b[2];
+    } while (startX == endX && startY == endY);
+  }
+
+  /**
+   * Selecciona aleatoriamente una celda en el lado indicado.
+   * @param side 0 - abajo, 1 - izquierda, 2 - arriba, 3 - derecha
+   * @return columna, renglón y lado abierto de la celda
+   */
+  private int[] selectFar(int side) {
+    switch (side) {
+      case 0: return new int[] { rng.nextInt(width), height - 1, Grid.DOWN };
+      case 1: return new int[] { 0, rng.nextInt(height), Grid.LEFT };
+      case 2: return new int[] { rng.nextInt(width), 0, Grid.UP };
+      default: return new int[] { width - 1, rng.nextInt(height), Grid.RIGHT };
+    }
+  }
+
+  /**
+   * Reconstruye los conjuntos del renglón a partir de sus etiquetas: las celdas que bajaron
+   * de un mismo conjunto quedan unidas.
+   */
+  private void group() {
+    sets.limpia();
+    for (int x = 0; x < width; x++) {
+      if (first[label[x]] == -1) first[label[x]] = x;
+      else sets.une(x, first[label[x]]);
+    }
+    for (int x = 0; x < width; x++) first[label[x]] = -1;
+  }
+
+  /**
+   * Derriba paredes horizontales entre celdas de conjuntos distintos: al azar, o todas si
+   * es el último renglón.
+   * @param last ¿Es el último renglón?
+   */
+  private void joinRight(boolean last) {
+    for (int x = 0; x < width - 1; x++)
+      right[x] = !sets.mismoConjunto(x, x + 1) && (last || rng.nextBoolean()) && sets.une(x, x + 1);
+    right[width - 1] = false;
+  }
+
+  /**
+   * Decide al azar qué celdas bajan al siguiente renglón, al menos una por conjunto, y
+   * calcula las etiquetas del siguiente renglón.
+   */
+  private void goDown() {
+    for (int x = 0; x < width; x++) {
+      remaining[x] = 0;
+      descended[x] = false;
+    }
+    for (int x = 0; x < width; x++) remaining[sets.encuentra(x)]++;
+    for (int x = 0; x < width; x++) {
+      int r = sets.encuentra(x);
+      boolean last = --remaining[r] == 0;
+      down[x] = rng.nextBoolean() || (last && !descended[r]);
+      if (down[x]) descended[r] = true;
+      label[x] = down[x] ? r : width + x;
+    }
+  }
+
+  /**
+   * Escribe los bytes del renglón a partir de sus pasajes, conservando la puntuación.
+   * @param y el renglón
+   */
+  private void encode(int y) {
+    for (int x = 0; x < width; x++) {
+      int walls = Grid.WALLS;
+      if (y > 0 && fromAbove[x]) walls &= ~Grid.UP;
+      if (down[x]) walls &= ~Grid.DOWN;
+      if (x > 0 && right[x - 1]) walls &= ~Grid.LEFT;
+      if (right[x]) walls &= ~Grid.RIGHT;
+      if (x == startX && y == startY) walls &= ~startGate;
+      if (x == endX && y == endY) walls &= ~endGate;
+      row[x] = (byte) (row[x] | walls);
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Enumeración de los motores con los que se puede resolver un laberinto.
+ *
+ * @author Yael Lozano
+ */
+public enum Engine {
+  /** Dijkstra directamente sobre la cuadrícula del laberinto. */
+  MALLA,
+  /** Dijkstra sobre una {@link mx.unam.ciencias.edd.Grafica} construida a partir del laberinto. */
+  GRAFICA,
+  /** A* sobre una {@link mx.unam.ciencias.edd.Grafica}, con la distancia Manhattan como heurística. */
+  ESTRELLA,
+  /** Dijkstra bidireccional sobre una {@link mx.unam.ciencias.edd.Grafica}. */
+  BIDIRECCIONAL;
+
+  /**
+   * Regresa el motor correspondiente al nombre recibido, sin importar mayúsculas.
+   *
+   * @param name el nombre del motor
+   * @return el motor
+   * @throws IllegalArgumentException si no existe un motor con ese nombre
+   */
+  public static Engine parse(String name) {
+    return valueOf(name.toUpperCase());
+  }
+}
@@ -13,7 +13,37 @@ public class Flags {
   private int height;
   /** Parámetro que indica el número de columnas del laberinto */
   private int width;
-  
+  /** El motor con el que se resolverá el laberinto */
+  private Engine engine = Engine.MALLA;
+  /** El algoritmo con el que se generará el laberinto */
+  private Generator generator = Generator.PROFUNDIDAD;
+  /** ¿Se deberá guardar en el formato extendido aunque quepa en el original? */
+  private boolean extended;
+  /** ¿Se deberá dibujar el SVG compacto? */
+  private boolean compact;
+  /** Tamaño de celda del PNG, 0 si se dibuja un SVG */
+  private int cellSize;
+  /** El directorio o la lista de archivos a resolver en lote, null si no es en lote */
+  private String batch;
+  /** Número de hilos para resolver en lote */
+  private int threads = Runtime.getRuntime().availableProcessors();
+  /** Número de laberintos a generar en lote a partir de la semilla, 0 si es uno solo */
+  private int count;
+  /** El archivo con las semillas a generar en lote, null si no hay */
+  private String seedList;
+  /** El directorio o el archivo .mza donde se escriben los laberintos generados en lote */
+  private String output;
+  /** El puerto del servicio HTTP, -1 si no se inicia */
+  private int port = -1;
+  /** Máximo número de celdas por petición del servicio HTTP */
+  private long maxCells = MazeServer.DEFAULT_MAX_CELLS;
+  /** El archivo del que se leerá el laberinto, null para la entrada estándar */
+  private String file;
+  /** ¿Se deberán reportar las estadísticas en la salida de errores? */
+  private boolean stats;
+  /** El archivo JSON donde se escriben las estadísticas, null si no se escriben */
+  private String statsFile;
+
   /**
     * Método que procesa los argumentos recibidos por linea 
     * de comandos.
@@ -23,15 +53,50 @@ public class Flags {
     if (args.length == 0) return;
     for (int i = 0; i < args.length; i++) {
       if (args[i].equals("-g")) generate = true;
+      if (args[i].equals("-x")) extended = true;
+      if (args[i].equals("-c")) compact = true;
+      if (args[i].equals("-p"))
+        cellSize = Integer.parseInt(args[i+1]);
+      if (args[i].equals("-b"))
+        batch = args[i+1];
+      if (args[i].equals("-j"))
+        threads = Integer.parseInt(args[i+1]);
+      if (args[i].equals("-n"))
+        count = Integer.parseInt(args[i+1]);
+      if (args[i].equals("-l"))
+        seedList = args[i+1];
+      if (args[i].equals("-o"))
+        output = args[i+1];
+      if (args[i].equals("-d"))
+        port = Integer.parseInt(args[i+1]);
+      if (args[i].equals("-m"))
+        maxCells = Long.parseLong(args[i+1]);
+      if (args[i].equals("-f"))
+        file = args[i+1];
+      if (args[i].equals("--stats")) stats = true;
+      if (args[i].equals("--stats-json"))
+        statsFile = args[i+1];
       if (args[i].equals("-s"))
         seed = Long.parseLong(args[i+1]);
       if (args[i].equals("-w"))
         width = Integer.parseInt(args[i+1]);
       if (args[i].equals("-h"))
         height = Integer.parseInt(args[i+1]);
+      if (args[i].equals("-e"))
+        engine = Engine.parse(args[i+1]);
+      if (args[i].equals("-a"))
+        generator = Generator.parse(args[i+1]);
     }
+    if (cellSize != 0 && cellSize < PNGRenderer.MIN_CELL) throw new IllegalArgumentException("El tamaño de celda es inválido.");
+    if (port < -1 || port > 65535) throw new IllegalArgumentException("El puerto es inválido.");
+    if (maxCells < 1 || maxCells > MazeFormat.MAX_CELLS) throw new IllegalArgumentException("El máximo de celdas es inválido.");
+    if (threads < 1) throw new IllegalArgumentException("El número de hilos es inválido.");
+    if (count < 0) throw new IllegalArgumentException("El número de laberintos es inválido.");
+    if (generateBatch() && output == null) throw new IllegalArgumentException("Se debe proporcionar dónde escribir los laberintos.");
     if (generate() && (width == 0 || height == 0)) throw new IllegalArgumentException("Se debe proporcionar altura y ancho.");
-    if (width < 2 || width > 255 || height < 2 || height > 255) throw new IllegalArgumentException("Los valores de altura o ancho son inválidos.");
+    if (generate() && (width < MazeFormat.MIN || height < MazeFormat.MIN)) throw new IllegalArgumentException("Los valores de altura o ancho son inválidos.");
+    if (generate() && generator != Generator.ELLER && (long) width * height > MazeFormat.MAX_CELLS)
+      throw new IllegalArgumentException("El laberinto es demasiado grande para generarlo en memoria.");
   }
 
 
@@ -70,4 +135,148 @@ public class Flags {
   public long getSeed() {
     return seed;
   }
+
+  /**
+   * Getter para el motor de solución.
+   *
+   * @return engine
+   */
+  public Engine getEngine() {
+    return engine;
+  }
+
+  /**
+   * Getter para el algoritmo de generación.
+   *
+   * @return generator
+   */
+  public Generator getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Getter para extended.
+   *
+   * @return extended
+   */
+  public boolean extended() {
+    return extended;
+  }
+
+  /**
+   * Getter para el archivo de entrada.
+   *
+   * @return file, null si se lee la entrada estándar
+   */
+  public String getFile() {
+    return file;
+  }
+
+  /**
+   * Getter para compact.
+   *
+   * @return compact
+   */
+  public boolean compact() {
+    return compact;
+  }
+
+  /**
+   * Getter para el tamaño de celda del PNG.
+   *
+   * @return cellSize, 0 si se dibuja un SVG
+   */
+  public int getCellSize() {
+    return cellSize;
+  }
+
+  /**
+   * Getter para el directorio o la lista de archivos a resolver en lote.
+   *
+   * @return batch, null si no se resuelve en lote
+   */
+  public String getBatch() {
+    return batch;
+  }
+
+  /**
+   * Getter para el número de hilos.
+   *
+   * @return threads
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * ¿Se deberán generar laberintos en lote?
+   *
+   * @return true si se pidió un número de laberintos o una lista de semillas
+   */
+  public boolean generateBatch() {
+    return generate() && (count > 0 || seedList != null);
+  }
+
+  /**
+   * Getter para el número de laberintos a generar en lote.
+   *
+   * @return count, 0 si es uno solo
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Getter para el archivo con las semillas.
+   *
+   * @return seedList, null si no hay
+   */
+  public String getSeedList() {
+    return seedList;
+  }
+
+  /**
+   * Getter para dónde se escriben los laberintos generados en lote.
+   *
+   * @return output
+   */
+  public String getOutput() {
+    return output;
+  }
+
+  /**
+   * Getter para el puerto del servicio HTTP.
+   *
+   * @return port, -1 si no se inicia el servicio
+   */
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Getter para el máximo número de celdas por petición del servicio HTTP.
+   *
+   * @return maxCells
+   */
+  public long getMaxCells() {
+    return maxCells;
+  }
+
+  /**
+   * ¿Se deberán registrar las estadísticas de resolver el laberinto?
+   *
+   * @return true si se pidió reportarlas o escribirlas en un archivo JSON
+   */
+  public boolean stats() {
+    return stats || statsFile != null;
+  }
+
+  /**
+   * Getter para el archivo JSON de las estadísticas.
+   *
+   * @return statsFile, null si se reportan en la salida de errores
+   */
+  public String getStatsFile() {
+    return statsFile;
+  }
 }
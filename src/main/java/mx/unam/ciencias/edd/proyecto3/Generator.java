@@ -0,0 +1,26 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Enumeración de los algoritmos con los que se puede generar un laberinto.
+ *
+ * @author Yael Lozano
+ */
+public enum Generator {
+  /** DFS aleatorio desde la celda de inicio. */
+  PROFUNDIDAD,
+  /** Kruskal aleatorio sobre las paredes, con {@link mx.unam.ciencias.edd.ConjuntosDisjuntos}. */
+  KRUSKAL,
+  /** Eller, renglón por renglón, escribiendo cada renglón en cuanto está terminado. */
+  ELLER;
+
+  /**
+   * Regresa el algoritmo correspondiente al nombre recibido, sin importar mayúsculas.
+   *
+   * @param name el nombre del algoritmo
+   * @return el algoritmo
+   * @throws IllegalArgumentException si no existe un algoritmo con ese nombre
+   */
+  public static Generator parse(String name) {
+    return valueOf(name.toUpperCase());
+  }
+}
@@ -0,0 +1,324 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Clase que almacena la cuadrícula de un laberinto de forma compacta.
+ * Cada celda ocupa un solo byte con el mismo formato que el archivo .mze:
+ * los 4 bits más significativos son la puntuación y los 4 menos significativos
+ * son las paredes abajo, izquierda, arriba y derecha (en ese orden).
+ * Las celdas se identifican por su índice <code>y * ancho + x</code>.
+ *
+ * @author Yael Lozano
+ */
+public class Grid {
+  /** Bit de la pared de abajo. */
+  public static final int DOWN = 0b1000;
+  /** Bit de la pared izquierda. */
+  public static final int LEFT = 0b0100;
+  /** Bit de la pared de arriba. */
+  public static final int UP = 0b0010;
+  /** Bit de la pared derecha. */
+  public static final int RIGHT = 0b0001;
+  /** Todas las paredes. */
+  public static final int WALLS = 0b1111;
+
+  /** Número de columnas. */
+  private final int width;
+  /** Número de renglones. */
+  private final int height;
+  /** Las celdas, un byte por celda. */
+  private final byte[] cells;
+
+  /**
+   * Construye una cuadrícula vacía, es decir, con todas sus celdas en cero.
+   *
+   * @param width  el número de columnas
+   * @param height el número de renglones
+   */
+  public Grid(int width, int height) {
+    this.width = width;
+    this.height = height;
+    cells = new byte[width * height];
+  }
+
+  /**
+   * Getter para el número de columnas.
+   *
+   * @return width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Getter para el número de renglones.
+   *
+   * @return height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Regresa el número de celdas de la cuadrícula.
+   *
+   * @return el número de celdas
+   */
+  public int size() {
+    return cells.length;
+  }
+
+  /**
+   * Regresa el índice de la celda en las coordenadas recibidas.
+   *
+   * @param x coordenada en x
+   * @param y coordenada en y
+   * @return índice de la celda
+   */
+  public int index(int x, int y) {
+    return y * width + x;
+  }
+
+  /**
+   * Regresa la coordenada en x de una celda.
+   *
+   * @param i índice de la celda
+   * @return coordenada en x
+   */
+  public int x(int i) {
+    return i % width;
+  }
+
+  /**
+   * Regresa la coordenada en y de una celda.
+   *
+   * @param i índice de la celda
+   * @return coordenada en y
+   */
+  public int y(int i) {
+    return i / width;
+  }
+
+  /**
+   * Regresa el byte de una celda como entero sin signo.
+   *
+   * @param i índice de la celda
+   * @return byte de la celda
+   */
+  public int get(int i) {
+    return cells[i] & 0xFF;
+  }
+
+  /**
+   * Define el byte de una celda.
+   *
+   * @param i índice de la celda
+   * @param b byte de la celda, sólo se toman los 8 bits menos significativos
+   */
+  public void set(int i, int b) {
+    cells[i] = (byte) b;
+  }
+
+  /**
+   * Regresa la puntuación de una celda.
+   *
+   * @param i índice de la celda
+   * @return puntuación de la celda
+   */
+  public int score(int i) {
+    return (cells[i] & 0xF0) >>> 4;
+  }
+
+  /**
+   * ¿Hay pared en el lado indicado de la celda?
+   *
+   * @param i    índice de la celda
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @return true si hay pared, false de lo contrario
+   */
+  public boolean wall(int i, int gate) {
+    return (cells[i] & gate) != 0;
+  }
+
+  /**
+   * Quita la pared en el lado indicado de la celda. No modifica a la celda vecina.
+   *
+   * @param i    índice de la celda
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   */
+  public void open(int i, int gate) {
+    cells[i] &= ~gate;
+  }
+
+  /**
+   * Pone todas las paredes de la celda, conservando su puntuación.
+   *
+   * @param i índice de la celda
+   */
+  public void close(int i) {
+    cells[i] |= WALLS;
+  }
+
+  /**
+   * Regresa el índice de la celda vecina en el lado indicado.
+   *
+   * @param i    índice de la celda
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @return índice de la celda vecina, o -1 si se sale de la cuadrícula
+   */
+  public int neighbour(int i, int gate) {
+    switch (gate) {
+      case DOWN:
+        return i + width < cells.length ? i + width : -1;
+      case LEFT:
+        return i % width > 0 ? i - 1 : -1;
+      case UP:
+        return i >= width ? i - width : -1;
+      case RIGHT:
+        return i % width < width - 1 ? i + 1 : -1;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Regresa el lado opuesto al recibido.
+   *
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @return el lado opuesto
+   */
+  public static int opposite(int gate) {
+    switch (gate) {
+      case DOWN: return UP;
+      case LEFT: return RIGHT;
+      case UP: return DOWN;
+      case RIGHT: return LEFT;
+      default: return 0;
+    }
+  }
+
+  /**
+   * ¿La celda es extremo del laberinto? Es decir, está en el borde y no tiene pared hacia afuera.
+   *
+   * @param i índice de la celda
+   * @return true si es extremo, false de lo contrario
+   */
+  public boolean isFar(int i) {
+    int x = i % width;
+    int y = i / width;
+    return (y == 0 && !wall(i, UP)) || (y == height - 1 && !wall(i, DOWN)) ||
+            (x == width - 1 && !wall(i, RIGHT)) || (x == 0 && !wall(i, LEFT));
+  }
+
+  /**
+   * Regresa la puntuación de una puerta: 1 más la puntuación de la celda y de su vecina
+   * si la puerta está abierta. Si la celda es extremo no se suma la puntuación de la vecina.
+   *
+   * @param i    índice de la celda
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @return puntuación de la puerta
+   */
+  public int gateScore(int i, int gate) {
+    if (wall(i, gate)) return 1;
+    return 1 + score(i) + (isFar(i) ? 0 : score(neighbour(i, gate)));
+  }
+
+  /**
+   * Regresa la celda a la que se llega cruzando la puerta indicada. Como en el archivo cada
+   * pared aparece en las dos celdas que separa, sólo se toma en cuenta la pared derecha o de
+   * abajo de la celda izquierda o de arriba, igual que al conectar la gráfica del laberinto.
+   *
+   * @param i    índice de la celda
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @return índice de la celda vecina, o -1 si no se puede pasar
+   */
+  public int passage(int i, int gate) {
+    int n = neighbour(i, gate);
+    if (n == -1) return -1;
+    if (gate == RIGHT || gate == DOWN) return wall(i, gate) ? -1 : n;
+    return wall(n, opposite(gate)) ? -1 : n;
+  }
+
+  /**
+   * Regresa el peso de la arista que cruza la puerta indicada, es decir, la puntuación de
+   * la puerta derecha o de abajo de la celda izquierda o de arriba.
+   * Sólo tiene sentido si {@link #passage} no regresa -1.
+   *
+   * @param i    índice de la celda
+   * @param gate uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @return peso de la arista
+   */
+  public int weight(int i, int gate) {
+    if (gate == RIGHT || gate == DOWN) return gateScore(i, gate);
+    return gateScore(neighbour(i, gate), opposite(gate));
+  }
+
+  /**
+   * Regresa el lado de la celda <code>i</code> que comparte con la celda vecina <code>j</code>.
+   *
+   * @param i índice de la celda
+   * @param j índice de una celda adyacente
+   * @return uno de {@link #DOWN}, {@link #LEFT}, {@link #UP} o {@link #RIGHT}
+   * @throws IllegalArgumentException si las celdas no son adyacentes
+   */
+  public int gate(int i, int j) {
+    if (j == i + width) return DOWN;
+    if (j == i - width) return UP;
+    if (j == i - 1 && i % width > 0) return LEFT;
+    if (j == i + 1 && j % width > 0) return RIGHT;
+    throw new IllegalArgumentException("Las celdas no son adyacentes.");
+  }
+
+  /**
+   * Regresa el menor peso de las aristas de la cuadrícula.
+   *
+   * @return el menor peso, o 1 si no hay aristas
+   */
+  public int minWeight() {
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < cells.length; i++) {
+      if (passage(i, RIGHT) != -1) min = Math.min(min, weight(i, RIGHT));
+      if (passage(i, DOWN) != -1) min = Math.min(min, weight(i, DOWN));
+    }
+    return min == Integer.MAX_VALUE ? 1 : min;
+  }
+
+  /**
+   * ¿Hay pared en la recta horizontal <code>k</code>, en la columna <code>x</code>? La recta 0
+   * es el borde de arriba y la recta <code>height</code> el de abajo; en las demás basta con
+   * que tenga la pared cualquiera de las dos celdas que separa, que es lo que se dibuja.
+   *
+   * @param x la columna
+   * @param k la recta horizontal, de 0 al alto
+   * @return true si hay pared, false de lo contrario
+   */
+  public boolean horizontalWall(int x, int k) {
+    if (k == 0) return wall(index(x, 0), UP);
+    if (k == height) return wall(index(x, k - 1), DOWN);
+    return wall(index(x, k - 1), DOWN) || wall(index(x, k), UP);
+  }
+
+  /**
+   * ¿Hay pared en la recta vertical <code>k</code>, en el renglón <code>y</code>? La recta 0
+   * es el borde izquierdo y la recta <code>width</code> el derecho; en las demás basta con
+   * que tenga la pared cualquiera de las dos celdas que separa, que es lo que se dibuja.
+   *
+   * @param k la recta vertical, de 0 al ancho
+   * @param y el renglón
+   * @return true si hay pared, false de lo contrario
+   */
+  public boolean verticalWall(int k, int y) {
+    if (k == 0) return wall(index(0, y), LEFT);
+    if (k == width) return wall(index(k - 1, y), RIGHT);
+    return wall(index(k - 1, y), RIGHT) || wall(index(k, y), LEFT);
+  }
+
+  /**
+   * Regresa el arreglo de bytes de la cuadrícula, en el orden del archivo .mze.
+   * No se copia, por lo que cualquier modificación afecta a la cuadrícula.
+   *
+   * @return arreglo de bytes de la cuadrícula
+   */
+  public byte[] bytes() {
+    return cells;
+  }
+}
@@ -0,0 +1,180 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Clase que resuelve un laberinto con el algoritmo de Dijkstra directamente sobre su
+ * cuadrícula, sin construir una gráfica. Las distancias (de 64 bits) y los predecesores se
+ * guardan en arreglos indexados por celda, y el montículo mínimo es un arreglo de índices.
+ *
+ * @author Yael Lozano
+ */
+public class GridSolver {
+  /** Los cuatro lados de una celda, en el orden del archivo. */
+  private static final int[] GATES = { Grid.DOWN, Grid.LEFT, Grid.UP, Grid.RIGHT };
+
+  /** La cuadrícula del laberinto. */
+  private final Grid grid;
+  /** Distancia de cada celda al origen. Es de 64 bits porque una puerta pesa hasta 31 y
+   * una trayectoria puede cruzar casi todas las celdas de una {@link Grid}. */
+  private final long[] distance;
+  /** Celda anterior en la trayectoria mínima de cada celda, -1 si no tiene. */
+  private final int[] previous;
+  /** Montículo mínimo de celdas, ordenado por distancia. */
+  private final int[] heap;
+  /** Posición de cada celda en el montículo, -1 si no está. */
+  private final int[] position;
+  /** Número de elementos en el montículo. */
+  private int elements;
+  /** Relajaciones de la última llamada a {@link #dijkstra}. */
+  private long relaxations;
+  /** Operaciones de montículo de la última llamada a {@link #dijkstra}. */
+  private long heapOperations;
+
+  /**
+   * Constructor que recibe la cuadrícula a resolver.
+   *
+   * @param grid la cuadrícula del laberinto
+   */
+  public GridSolver(Grid grid) {
+    this.grid = grid;
+    distance = new long[grid.size()];
+    previous = new int[grid.size()];
+    heap = new int[grid.size()];
+    position = new int[grid.size()];
+  }
+
+  /**
+   * Calcula la trayectoria de peso mínimo entre dos celdas.
+   *
+   * @param start índice de la celda de origen
+   * @param end   índice de la celda de destino
+   * @return arreglo con los índices de las celdas de la trayectoria, desde el origen
+   *         hasta el destino. Si no hay trayectoria regresa un arreglo vacío.
+   * @throws IllegalArgumentException si alguna de las celdas no es parte de la cuadrícula
+   */
+  public int[] dijkstra(int start, int end) {
+    if (start < 0 || start >= grid.size() || end < 0 || end >= grid.size())
+      throw new IllegalArgumentException("Las celdas no son parte del laberinto.");
+    for (int c = 0; c < grid.size(); c++) {
+      distance[c] = Long.MAX_VALUE;
+      previous[c] = -1;
+      position[c] = -1;
+    }
+    elements = 0;
+    relaxations = heapOperations = 0;
+    distance[start] = 0;
+    push(start);
+
+    while (elements > 0) {
+      int c = pop();
+      if (c == end) break;
+      for (int gate : GATES) {
+        int n = grid.passage(c, gate);
+        if (n == -1) continue;
+        long d = distance[c] + grid.weight(c, gate);
+        if (d < distance[n]) {
+          distance[n] = d;
+          previous[n] = c;
+          relaxations++;
+          if (position[n] == -1) {
+            push(n);
+          } else {
+            heapOperations++;
+            up(position[n]);
+          }
+        }
+      }
+    }
+    return path(end);
+  }
+
+  /**
+   * Regresa la distancia mínima del origen a la celda recibida, calculada por la
+   * última llamada a {@link #dijkstra}.
+   *
+   * @param c índice de la celda
+   * @return la distancia, o {@link Long#MAX_VALUE} si no es alcanzable
+   */
+  public long getDistance(int c) {
+    return distance[c];
+  }
+
+  /**
+   * Regresa el número de relajaciones de la última llamada a {@link #dijkstra}, es decir,
+   * las veces que se mejoró la distancia de una celda.
+   *
+   * @return el número de relajaciones
+   */
+  public long getRelaxations() {
+    return relaxations;
+  }
+
+  /**
+   * Regresa el número de operaciones de montículo de la última llamada a
+   * {@link #dijkstra}: las celdas agregadas, sacadas y subidas.
+   *
+   * @return el número de operaciones de montículo
+   */
+  public long getHeapOperations() {
+    return heapOperations;
+  }
+
+  /**
+   * Reconstruye la trayectoria siguiendo a los predecesores desde el destino.
+   * @param end índice de la celda de destino
+   * @return la trayectoria desde el origen
+   */
+  private int[] path(int end) {
+    if (distance[end] == Long.MAX_VALUE) return new int[0];
+    int n = 0;
+    for (int c = end; c != -1; c = previous[c]) n++;
+    int[] path = new int[n];
+    for (int c = end; c != -1; c = previous[c]) path[--n] = c;
+    return path;
+  }
+
+  private void push(int c) {
+    heapOperations++;
+    heap[elements] = c;
+    position[c] = elements;
+    up(elements++);
+  }
+
+  private int pop() {
+    heapOperations++;
+    int min = heap[0];
+    position[min] = -1;
+    if (--elements > 0) {
+      heap[0] = heap[elements];
+      position[heap[0]] = 0;
+      down(0);
+    }
+    return min;
+  }
+
+  private void up(int i) {
+    int c = heap[i];
+    while (i > 0) {
+      int p = (i - 1) / 2;
+      if (distance[heap[p]] <= distance[c]) break;
+      heap[i] = heap[p];
+      position[heap[i]] = i;
+      i = p;
+    }
+    heap[i] = c;
+    position[c] = i;
+  }
+
+  private void down(int i) {
+    int c = heap[i];
+    while (2 * i + 1 < elements) {
+      int m = 2 * i + 1;
+      if (m + 1 < elements && distance[heap[m + 1]] < distance[heap[m]]) m++;
+      if (distance[heap[m]] >= distance[c]) break;
+      heap[i] = heap[m];
+      position[heap[i]] = i;
+      i = m;
+    }
+    heap[i] = c;
+    position[c] = i;
+  }
+}
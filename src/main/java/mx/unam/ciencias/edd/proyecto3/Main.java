@@ -1,9 +1,12 @@
 package mx.unam.ciencias.edd.proyecto3;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
 /**
  * Clase que unifica todos los métodos, es decir, se encarga del funcionamiento principal.
@@ -17,14 +20,38 @@ public class Main extends Flags {
   private final String USE = "Para resolver un laberinto (.mze) se debe enviar por entrada estandar ej.:" + "\n" +
           "a) java -jar target/proyecto3.jar < ejemplo.mze > solucion.svg"  + "\n" +
           "b) cat ejemplo.mze | java -jar target/proyecto3.jar > solucion.svg"  + "\n" +
+          "c) java -jar target/proyecto3.jar -f ejemplo.mze > solucion.svg"  + "\n" +
+          "-) -f <Archivo> --- (Opcional) Lee el laberinto del archivo, mapeándolo a memoria, en lugar de la entrada estandar."  + "\n" +
+          "-) -c           --- (Opcional) Dibuja un SVG compacto: paredes unidas en un solo path y la solución en una polyline."  + "\n" +
+          "-) -p <Tamaño>  --- (Opcional) Dibuja un PNG con celdas de <Tamaño> pixeles en lugar de un SVG. Min. 2"  + "\n" +
+          "-) -e <Motor>   --- (Opcional) Motor para resolver: malla (por omisión), grafica, estrella o bidireccional."  + "\n" +
+          "-) --stats      --- (Opcional) Reporta en la salida de errores el tiempo de cada etapa y los contadores de la búsqueda."  + "\n" +
+          "-) --stats-json <Archivo> --- (Opcional) Escribe esas estadísticas en un archivo JSON."  + "\n" +
+          "Para resolver muchos laberintos en lote, cada uno a un .svg (o .png) junto al .mze ej.:" + "\n" +
+          "a) java -jar target/proyecto3.jar -b <Ruta> -j <Hilos>"  + "\n" +
+          "-) -b <Ruta>    --- Directorio con archivos .mze, o lista con un archivo por línea."  + "\n" +
+          "-) -j <Hilos>   --- (Opcional) Número de hilos. Por omisión, el número de procesadores."  + "\n" +
+          "Para iniciar el servicio HTTP que resuelve (POST /resuelve) y genera (GET /genera) laberintos ej.:" + "\n" +
+          "a) java -jar target/proyecto3.jar -d <Puerto> -j <Hilos>"  + "\n" +
+          "-) -d <Puerto>  --- Puerto del servicio; las estadísticas están en GET /estadisticas."  + "\n" +
+          "-) -m <Celdas>  --- (Opcional) Máximo de celdas de un laberinto por petición. Por omisión, 4194304."  + "\n" +
           "Para generar un laberinto se debe invocar de la siguiente forma ej.:" + "\n" +
           "a) java -jar target/proyecto3.jar -g -s <Semilla> -w <Ancho> -h <Alto>"  + "\n" +
           "-) -g           --- Indica que hay que generar un laberinto."  + "\n" +
           "-) -s <Semilla> --- (Opcional) La semilla para generar el laberinto."  + "\n" +
-          "-) -w <Ancho>   --- Número de columnas del laberinto. Min. 2 | Max. 255"  + "\n" +
-          "-) -h <Alto>    --- Número de renglones del laberinto.  Min. 2 | Max. 255"  + "\n";
-  /** Matriz de enteros que almacenará la entrada. */
-  private int[][] matrix;
+          "-) -w <Ancho>   --- Número de columnas del laberinto. Min. 2"  + "\n" +
+          "-) -h <Alto>    --- Número de renglones del laberinto.  Min. 2"  + "\n" +
+          "-) -x           --- (Opcional) Guarda en el formato extendido aunque el laberinto quepa en el original (255x255)."  + "\n" +
+          "-) -a <Algoritmo> --- (Opcional) Algoritmo para generar: profundidad (por omisión), kruskal o eller."  + "\n" +
+          "Para generar muchos laberintos en lote ej.:" + "\n" +
+          "a) java -jar target/proyecto3.jar -g -s <Semilla> -n <Cantidad> -w <Ancho> -h <Alto> -o <Destino>"  + "\n" +
+          "b) java -jar target/proyecto3.jar -g -l <Archivo> -w <Ancho> -h <Alto> -o <Destino>"  + "\n" +
+          "-) -n <Cantidad> --- Número de laberintos, con semillas consecutivas desde <Semilla>."  + "\n" +
+          "-) -l <Archivo> --- Archivo con una semilla por línea."  + "\n" +
+          "-) -o <Destino> --- Directorio para un .mze por laberinto, o archivo .mza indexado con todos."  + "\n" +
+          "-) -j <Hilos>   --- (Opcional) Número de hilos. Por omisión, el número de procesadores."  + "\n";
+  /** El lector de la entrada. */
+  private MazeReader reader = new MazeReader();
   /** La instancia de la clase laberinto. */
   public Maze maze;
 
@@ -48,46 +75,142 @@ public class Main extends Flags {
       error(USE);
     }
 
-    if (!generate()) {
-      read();
-      maze.build(matrix);
-      System.out.println(maze.drawMaze(true));
+    if (getPort() != -1) {
+      serve();
+    } else if (getBatch() != null) {
+      batch();
+    } else if (!generate()) {
+      solve();
+    } else if (generateBatch()) {
+      generateBatch(getOutput());
+    } else if (getGenerator() == Generator.ELLER) {
+      stream();
     } else {
+      maze.generator = getGenerator();
+      maze.extended = extended();
       maze.build(getWidth(), getHeight(), getSeed());
       maze.saveMaze();
     }
   }
 
   /**
-   * Método que leerá la entrada estandar y verificará el formato del archivo .mze
+   * Lee el laberinto, lo resuelve y escribe su dibujo en la salida estándar. Si se pidieron
+   * las estadísticas, las reporta al final.
+   */
+  public void solve() {
+    Stats stats = stats() ? new Stats() : null;
+    long t = System.nanoTime();
+    read();
+    long t1 = System.nanoTime();
+    maze.engine = getEngine();
+    maze.compact = compact();
+    maze.stats = stats;
+    maze.build(reader.getGrid(), reader.getStart(), reader.getEnd());
+    long t2 = System.nanoTime();
+    try {
+      OutputStream out = stats != null ? stats.count(System.out) : System.out;
+      if (getCellSize() != 0) {
+        out = new BufferedOutputStream(out);
+        maze.writePNG(out, getCellSize());
+      } else {
+        maze.writeMaze(out, true);
+        out.write(System.lineSeparator().getBytes(StandardCharsets.US_ASCII));
+      }
+      out.flush();
+      if (stats == null) return;
+      stats.add(Stats.Stage.LECTURA, t1 - t);
+      stats.add(Stats.Stage.CONSTRUCCION, t2 - t1);
+      /* La solución se calcula al dibujar; sus etapas ya están registradas. */
+      stats.add(Stats.Stage.DIBUJO, System.nanoTime() - t2 - stats.get(Stats.Stage.GRAFICA)
+          - stats.get(Stats.Stage.CONEXION) - stats.get(Stats.Stage.SOLUCION));
+      if (getStatsFile() != null) stats.writeJSON(Paths.get(getStatsFile()));
+      else System.err.print(stats);
+    } catch (IOException e) {
+      error(e.toString());
+    }
+  }
+
+  /**
+   * Inicia el servicio HTTP, que atiende hasta que se termina el proceso.
+   */
+  public void serve() {
+    try {
+      MazeServer server = new MazeServer(getPort(), getThreads(), getMaxCells());
+      server.start();
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try {
+          server.stop(5);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+      System.err.println("Atendiendo en http://localhost:" + server.getPort() + "/");
+    } catch (IOException e) {
+      error(e.toString());
+    }
+  }
+
+  /**
+   * Resuelve en lote los laberintos del directorio o la lista recibida y reporta los
+   * tiempos en la salida estándar.
+   */
+  public void batch() {
+    try {
+      BatchSolver solver = new BatchSolver(getEngine(), compact(), getCellSize(), getThreads());
+      if (solver.solve(BatchSolver.files(Paths.get(getBatch())), System.out) > 0)
+        System.exit(-1);
+    } catch (IOException | InterruptedException e) {
+      error(e.toString());
+    }
+  }
+
+  /**
+   * Genera en lote los laberintos de las semillas pedidas y reporta el tiempo en la salida
+   * estándar.
+   *
+   * @param output el directorio, o el archivo .mza si termina en esa extensión
+   */
+  public void generateBatch(String output) {
+    try {
+      long[] seeds = getSeedList() != null ? BatchGenerator.seeds(Paths.get(getSeedList()))
+          : BatchGenerator.range(getSeed(), getCount());
+      BatchGenerator generator = new BatchGenerator(getWidth(), getHeight(), getGenerator(), extended(), getThreads());
+      if (output.endsWith(".mza")) generator.toArchive(seeds, Paths.get(output), System.out);
+      else generator.toDirectory(seeds, Paths.get(output), System.out);
+    } catch (IOException | InterruptedException e) {
+      error(e.toString());
+    }
+  }
+
+  /**
+   * Genera un laberinto con el algoritmo de Eller y lo escribe en la salida estándar
+   * renglón por renglón, sin construirlo completo en memoria.
+   */
+  public void stream() {
+    try {
+      BufferedOutputStream out = new BufferedOutputStream(System.out);
+      new EllerGenerator(getWidth(), getHeight(), getSeed()).write(out, extended());
+      out.close();
+    } catch (IOException e) {
+      System.err.println(e);
+    }
+  }
+
+  /**
+   * Método que leerá el archivo o la entrada estandar y verificará el formato del archivo
+   * .mze, en el formato original o en el extendido.
    */
   public void read() {
-    /* Se define el codec con el que se leerán los bytes */
-    BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.ISO_8859_1));
     try {
-      int ch;
-      int M = reader.read();
-      int A = reader.read();
-      int Z = reader.read();
-      int E = reader.read();
-      maze.height = reader.read();
-      maze.width =  reader.read();
-      if (M != 77 || A != 65 || Z != 90 || E != 69) throw new Exception("El formato del archivo es inválido.");
-      if ((maze.height < 2 || maze.height > 255) || (maze.width < 2 || maze.width > 255)) throw new Exception("El formato del archivo es inválido: el ancho y el alto son inválidos.");
-      matrix = new int[maze.height][maze.width];
-      for (int i = 0; i < maze.height; i++)
-        for (int j = 0; j < maze.width; j++)
-          if ((ch = reader.read()) == -1 || ch > 255) throw new Exception("El formato del archivo es inválido.");
-          else matrix[i][j] = ch;
-      if (reader.read() != -1) throw new Exception("El formato del archivo es inválido: tiene más elementos de los necesarios.");
+      if (getFile() != null) {
+        reader.read(Paths.get(getFile()));
+      } else {
+        try (ReadableByteChannel in = Channels.newChannel(System.in)) {
+          reader.read(in);
+        }
+      }
     } catch (Exception e) {
       error(e.toString());
-    } finally {
-      try {
-        reader.close();
-      } catch (IOException ex) {
-        error("Esto no deberia pasar.");
-      }
     }
   }
 
@@ -1,467 +1,542 @@
-package mx.unam.ciencias.edd.proyecto3;
-
-import mx.unam.ciencias.edd.Grafica;
-import mx.unam.ciencias.edd.Lista;
-import mx.unam.ciencias.edd.Pila;
-import mx.unam.ciencias.edd.VerticeGrafica;
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.Random;
-import java.io.BufferedOutputStream;
-
-/**
- * Clase que administra y genera laberintos.
- *
- * @author Yael Lozano
- */
-public class Maze {
-  /**
-   * Clase que administra las celdas del laberinto.
-   *
-   * @author Yael Lozano
-   */
-  private class Cell {
-    /** Coordenada en x. */
-    int x;
-    /** Coordenada en y. */
-    int y;
-    /** Puntuación de la celda. */
-    byte score;
-    /** Marca a la celda como visitada. Utilizado para generar el laberinto. */
-    boolean visited;
-    /** Marca a la celda como extremo. Utilizada para resolver el laberinto. */
-    boolean far;
-    /** Arreglo de longitud 4 que representa las paredes de la celda. */
-    boolean[] gates;
-    /** Arreglo de longitud 4 que representa la puntuación de las puertas. */
-    byte[] gatesScore;
-
-    /**
-     * Constructor sin parámetros.
-     */
-    public Cell() { }
-
-    /**
-     * Constructor para inicializar una celda.
-     *
-     * @param d     ¿Hay pared abajo?
-     * @param l     ¿Hay pared izquierda?
-     * @param u     ¿Hay pared arriba?
-     * @param r     ¿Hay pared derecha?
-     * @param score puntuación de la celda
-     * @param x     coordenada en x
-     * @param y     coordenada en y
-     */
-    public Cell(boolean d, boolean l, boolean u, boolean r, byte score, int x, int y) {
-      gates = new boolean[]{d, l, u, r};
-      this.score = score;
-      gatesScore = new byte[4];
-      this.x = x;
-      this.y = y;
-    }
-
-    /**
-     * ¿Hay pared derecha?
-     *
-     * @return booleano que indica si hay pared derecha
-     */
-    public boolean right() {
-      return gates[3];
-    }
-
-    /**
-     * ¿Hay pared arriba?
-     *
-     * @return booleano que indica si hay pared arriba
-     */
-    public boolean up() {
-      return gates[2];
-    }
-
-    /**
-     * ¿Hay pared izquierda?
-     *
-     * @return booleano que indica si hay pared izquierda
-     */
-    public boolean left() {
-      return gates[1];
-    }
-
-    /**
-     * ¿Hay pared abajo?
-     *
-     * @return booleano que indica si hay pared abajo
-     */
-    public boolean down() {
-      return gates[0];
-    }
-
-    /**
-     * Getter para la coordenada en x.
-     *
-     * @return coordenada en x
-     */
-    public int getX() {
-      return x;
-    }
-
-    /**
-     * Getter para la coordenada en y.
-     *
-     * @return coordenada en y
-     */
-    public int getY() {
-      return y;
-    }
-
-    /**
-     * Representación en cadena de una celda, con el siguiente formato:
-     * score {x, y} [d, l, u, r]
-     * Donde d, l, u y r son las paredes de la celda.
-     * @return cadena que representa una celda
-     */
-    @Override
-    public String toString() {
-      return String.format("%d {%d, %d} %s", score, x, y, Arrays.toString(gates));
-    }
-
-    /**
-     * Método para comparar celdas por coordenadas.
-     *
-     * @param cell la celda a comparar
-     * @return true si tienen las mismas coordenadas, false de lo contrario
-     */
-    public boolean equals(Cell cell) {
-      return this.x == cell.x && this.y == cell.y;
-    }
-
-    /**
-     * Método que convierte la celda a byte.
-     *
-     * @return byte que representa la celda
-     */
-    public byte toByte() {
-      return (byte) (Integer.parseInt(Integer.toBinaryString(score) + (down() ? 1 : 0) + (left() ? 1 : 0) + (up() ? 1 : 0) + (right() ? 1 : 0), 2) & 0xFF);
-    }
-  }
-  /** Matriz de celdas que es la estructura del laberinto en sí. */
-  private Cell[][] cells;
-  /** Lista de celdas que almacena la solución al laberinto. */
-  public Lista<Cell> solve;
-  /** Celda que almacena el inicio del laberinto. */
-  public Cell start;
-  /** Celda que almacena el final del laberinto. */
-  public Cell end;
-  /** Parámetro que indica el número de columnas del laberinto */
-  public int width;
-  /** Parámetro que indica el número de filas del laberinto */
-  public int height;
-  /** La semilla que se utilizará para generar el laberinto */
-  public long seed;
-  /** Gráfica que representará el laberinto para encontrar una solución */
-  private Grafica<Cell> maze = new Grafica<>();
-  /** El generador de números aleatorios. */
-  Random rng;
-
-  /** Constructor sin parámetros */
-  public Maze() { }
-
-  /**
-   * Construye el laberinto utilizando la matriz de enteros recibida.
-   *
-   * @param matrix la matriz de enteros de la entrada
-   */
-  public void build(int[][] matrix) {
-    /* Se inicializa la matriz */
-    cells = new Cell[height][width];
-    /* Se itera la matriz para crear las celdas */
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        /* Se extrae la puntuación y las paredes de la matriz */
-        String bitScore = String.format("%8s", Integer.toBinaryString(matrix[i][j])).replaceAll(" ", "0").substring(0, 4);
-        char[] gates = String.format("%8s", Integer.toBinaryString(matrix[i][j])).replaceAll(" ", "0").substring(4, 8).toCharArray();
-        byte score = (byte) Integer.parseInt(bitScore, 2);
-        /* Se crea una nueva celda con la información obtenida */
-        cells[i][j] = new Cell(gates[0] == '1', gates[1] == '1', gates[2] == '1', gates[3] == '1', score, j, i);
-        /* Se crea la gráfica */
-        createGraph(cells[i][j]);
-      }
-    }
-  }
-
-  /**
-   * Construye y genera el laberinto utilizando los parámetros.
-   *
-   * @param w    el número de columnas del laberinto
-   * @param h    el número de filas del laberinto
-   * @param seed semilla que se utilizará para generar el laberinto
-   */
-  public void build(int w, int h, long seed) {
-    width = w;
-    height = h;
-    this.seed = seed;
-    generate();
-  }
-
-  /**
-   * Genera el laberinto utilizando DFS y un generador de números aleatorios con congruencias lineales.
-   */
-  public void generate() {
-    /* Se inicializa el generador de números aleatorios, si no hay semilla se utiliza el reloj de la computadora */
-    rng = seed != 0 ? new Random(seed) : new Random();
-    /* Se inicializa la matriz */
-    cells = new Cell[height][width];
-    /* Se itera la matriz para crear las celdas con una puntación aleatoria */
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        cells[i][j] = new Cell(true, true, true, true, (byte) rng.nextInt(16), j, i);
-      }
-    }
-    /* Selecciona las celdas de inicio y fin aleatoriamente */
-    int start, end;
-    do {
-      start = rng.nextInt(4);
-      end = rng.nextInt(4);
-    } while (start == end);
-    /* Puede que existan colisiones pues son completamente aleatorias.
-    * Entonces nos aseguramos de que no colisionen. */
-    do {
-      this.start = selectFars(start);
-      this.end = selectFars(end);
-      if (this.start.equals(this.end)) {
-        this.start.gates[0] = true;
-        this.start.gates[1] = true;
-        this.start.gates[2] = true;
-        this.start.gates[3] = true;
-      }
-    } while (this.start.equals(this.end));
-    /* Marca a las celdas de inicio y fin como extremos. Realmente sólo con la finalidad
-    * de poder resolver un laberinto recién creado. */
-    this.start.far = true;
-    this.end.far = true;
-    /* Algoritmo DFS para crear el laberinto aleatoriamente. */
-    Pila<Cell> dfs = new Pila<>();
-    dfs.mete(this.start);
-    this.start.visited = true;
-    while (!dfs.esVacia()) {
-      Cell cA = dfs.mira();
-      Cell cB = dig(cA);
-      if (cB == null) {
-        dfs.saca();
-        continue;
-      }
-      cB.visited = true;
-      dfs.mete(cB);
-    }
-  }
-
-  /**
-   * Selecciona aleatoriamente un extremo del laberinto.
-   * @param side 0 - abajo, 1 - izquierda, 2 - arriba, 3 - derecha
-   * @return celda que ahora es el nuevo extremo
-   */
-  private Cell selectFars(int side) {
-    int random;
-    switch (side) {
-      case 0: // Abajo
-        random = rng.nextInt(width);
-        cells[height - 1][random].gates[0] = false;
-        return cells[height - 1][random];
-      case 1: // Izquierda
-        random = rng.nextInt(height);
-        cells[random][0].gates[1] = false;
-        return cells[random][0];
-      case 2: // Arriba
-        random = rng.nextInt(width);
-        cells[0][random].gates[2] = false;
-        return cells[0][random];
-      case 3: // Derecha
-        random = rng.nextInt(height);
-        cells[random][width - 1].gates[3] = false;
-        return cells[random][width - 1];
-      default:
-        //Esto nunca ocurre.
-        return null;
-    }
-  }
-
-  /**
-   * Construye el laberinto cómo gráfica.
-   * @param c celda que se agregará a la gráfica
-   */
-  private void createGraph(Cell c) {
-    /* Agrega la celda a la gráfica */
-    maze.agrega(c);
-    /* Verifica si la celda es un extremo del laberinto */
-    if (c.getY() == 0 && !c.up()) c.far = true;
-    if (c.getY() == height - 1 && !c.down()) c.far = true;
-    if (c.getX() == width - 1 && !c.right()) c.far = true;
-    if (c.getX() == 0 && !c.left()) c.far = true;
-    /* Se establece el inicio y el final del laberinto basado en si es extremo */
-    if (c.far && start == null) {
-      start = c;
-    }
-    else if (c.far && start != null) {
-      end = c;
-    }
-  }
-
-  /**
-   * Conecta las celdas en la gráfica si comparten una puerta, además le asigna una puntación a las puertas.
-   */
-  private void connectEm() {
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        cells[i][j].gatesScore[3] = (byte) (1 + (cells[i][j].right() ? 0 : cells[i][j].score + (cells[i][j].far ? 0 : cells[i][j + 1].score)));
-        cells[i][j].gatesScore[2] = (byte) (1 + (cells[i][j].up() ? 0 : cells[i][j].score + (cells[i][j].far ? 0 : cells[i - 1][j].score)));
-        cells[i][j].gatesScore[1] = (byte) (1 + (cells[i][j].left() ? 0 : cells[i][j].score + (cells[i][j].far ? 0 : cells[i][j - 1].score)));
-        cells[i][j].gatesScore[0] = (byte) (1 + (cells[i][j].down() ? 0 : cells[i][j].score + (cells[i][j].far ? 0 : cells[i + 1][j].score)));
-        if (!cells[i][j].right() && j+1 < width) maze.conecta(cells[i][j], cells[i][j+1], cells[i][j].gatesScore[3]);
-        if (!cells[i][j].down() && i+1 < height) maze.conecta(cells[i][j], cells[i+1][j], cells[i][j].gatesScore[0]);
-      }
-    }
-  }
-
-  /**
-   * Regresa una lista con los movimientos posibles, celdas adyacentes válidas no visitadas.
-   * @param c celda origen
-   * @return lista con los movimientos posibles
-   */
-  private Lista<Cell> possibleMoves(Cell c) {
-    Lista<Cell> l = new Lista<>();
-    if (isValidMove(c.x, c.y + 1)) l.agrega(cells[c.y + 1][c.x]); // Down
-    if (isValidMove(c.x - 1, c.y)) l.agrega(cells[c.y][c.x - 1]); // Left
-    if (isValidMove(c.x, c.y - 1)) l.agrega(cells[c.y - 1][c.x]); // Up
-    if (isValidMove(c.x + 1, c.y)) l.agrega(cells[c.y][c.x + 1]); // Right
-    return l;
-  }
-
-  /**
-   * Verifica si es un movimiento válido, es decir, no se sale de la matriz y no ha sido
-   * visitada.
-   * @param x coordenada x del destino
-   * @param y coordenada y del destino
-   * @return true si es válido, de lo contrario false
-   */
-  private boolean isValidMove(int x, int y) {
-    return x >= 0 && x < width && y >= 0 && y < height && !cells[y][x].visited;
-  }
-
-  /**
-   * Crea una puerta entre una celda origen y una destino seleccionada aleatoriamente
-   * de la lista de movimientos posibles.
-   * @param c celda origen
-   * @return celda destino seleccionada aleatoriamente
-   */
-  private Cell dig(Cell c) {
-    Lista<Cell> l = possibleMoves(c);
-    if (l.getElementos() == 0) return null;
-    Cell goTo = l.get(rng.nextInt(l.getLongitud() < 1 ? 0 : l.getLongitud()));
-    if (goTo.y == c.y + 1) {
-      c.gates[0] = false;
-      goTo.gates[2] = false;
-    } // Abajo
-    if (goTo.x == c.x - 1) {
-      c.gates[1] = false;
-      goTo.gates[3] = false;
-    } // Izquierda
-    if (goTo.y == c.y - 1) {
-      c.gates[2] = false;
-      goTo.gates[0] = false;
-    } // Arriba
-    if (goTo.x == c.x + 1) {
-      c.gates[3] = false;
-      goTo.gates[1] = false;
-    } // Derecha
-    return goTo;
-  }
-
-  /**
-   * Regresa una lista de celdas con la solución del laberinto, utilizando dijkstra.
-   * @return lista que contiene la solución
-   */
-  public Lista<Cell> solve() {
-    solve = new Lista<>();
-    for (VerticeGrafica<Cell> c : maze.dijkstra(start, end)) {
-      solve.agrega(c.get());
-    }
-    return solve;
-  }
-
-  /**
-   * Regresa una cadena de texto en formato SVG con el laberinto y su solución.
-   *
-   * @param solve ¿Deberá dibujarse la solución?
-   * @return SVG del laberinto
-   */
-  public String drawMaze(boolean solve) {
-    if (cells == null) throw new IllegalStateException("El laberinto no está inicializado");
-    GrapherSVG graph = new GrapherSVG();
-    StringBuilder s = new StringBuilder();
-    s.append(graph.initSVG((width * 20) + (20 * 2), (height * 20) + (20 * 2)));
-    if (solve) {
-      /* Para resolver un laberinto recién generado */
-      if (maze.getElementos() == 0)
-        for (int i = 0; i < height; i++)
-          for (int j = 0; j < width ; j++)
-            createGraph(cells[i][j]);
-      connectEm();
-      solve();
-      /* Dibuja la solución */
-      s.append(drawSolution());
-    }
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        /* Para evitar que se dibujen las paredes dos veces */
-        boolean drawL = !cells[i][j - 1 < 0 ? 0 : j - 1].right() || j == 0;
-        boolean drawU = !cells[i - 1 < 0 ? 0 : i - 1][j].down() || i == 0;
-        /* Dibuja la celda */
-        s.append(graph.drawCell(10 + (cells[i][j].getX() + 1) * 20, 10 + (cells[i][j].getY() + 1) * 20,
-                cells[i][j].down(), cells[i][j].left() && drawL, cells[i][j].up() && drawU, cells[i][j].right()));
-        /* Si es extremo dibuja un circulo para denotarlo */
-        if (cells[i][j].far) s.append(graph.drawCircle(10 + (cells[i][j].getX() + 1) * 20, 10 + (cells[i][j].getY() + 1) * 20, 5, "none", "pink"));
-      }
-    }
-    s.append(graph.closeSVG());
-    return s.toString();
-  }
-
-  /**
-   * Regresa una cadena de texto en formato SVG con la solución del laberinto.
-   * @return SVG de la trayectoria de la solución
-   */
-  public String drawSolution() {
-    GrapherSVG graph = new GrapherSVG();
-    StringBuilder s = new StringBuilder();
-    Cell previous = null;
-    for (Cell cell: solve) {
-      if (previous == null) { previous = cell; continue; }
-      s.append(graph.drawLine(10 + (previous.getX() + 1) * 20, 10 + (previous.getY() + 1) * 20, 10 + (cell.getX() + 1) * 20, 10 + (cell.getY() + 1) * 20, "purple", 4));
-      previous = cell;
-    }
-    return s.toString();
-  }
-
-  /**
-   * Imprime el laberinto representado en bytes.
-   */
-  public void saveMaze() {
-    try {
-      BufferedOutputStream out = new BufferedOutputStream(System.out);
-      out.write(77);
-      out.write(65);
-      out.write(90);
-      out.write(69);
-      out.write(height);
-      out.write(width);
-      for (int i = 0; i < height; i++) {
-        for (int j = 0; j < width; j++) {
-          out.write(cells[i][j].toByte());
-        }
-      }
-      out.close();
-    } catch (IOException e) {
-      System.err.println(e);
-    }
-  }
-}
\ No newline at end of file
+package mx.unam.ciencias.edd.proyecto3;
+
+import mx.unam.ciencias.edd.ConjuntoBits;
+import mx.unam.ciencias.edd.ConjuntosDisjuntos;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.Heuristica;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TipoDiccionario;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import java.io.IOException;
+import java.util.Random;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Clase que administra y genera laberintos.
+ * Las celdas se guardan en una {@link Grid}, un byte por celda; en todo el laberinto
+ * una celda se identifica por su índice <code>y * width + x</code>.
+ *
+ * @author Yael Lozano
+ */
+public class Maze {
+  /** Cuadrícula de celdas que es la estructura del laberinto en sí. */
+  private Grid cells;
+  /** Arreglo de índices de celdas que almacena la solución al laberinto, null si aún no se calcula. */
+  public int[] solve;
+  /** Índice de la celda de inicio del laberinto, -1 si no existe. */
+  public int start = -1;
+  /** Índice de la celda final del laberinto, -1 si no existe. */
+  public int end = -1;
+  /** Parámetro que indica el número de columnas del laberinto */
+  public int width;
+  /** Parámetro que indica el número de filas del laberinto */
+  public int height;
+  /** La semilla que se utilizará para generar el laberinto */
+  public long seed;
+  /** Gráfica que representará el laberinto para encontrar una solución */
+  private Grafica<Integer> maze = new Grafica<>(TipoDiccionario.ABIERTO);
+  /** El generador de números aleatorios. */
+  Random rng;
+  /** Las puertas de una celda, en el orden en que se revisan sus movimientos posibles. */
+  private static final int[] GATES = { Grid.DOWN, Grid.LEFT, Grid.UP, Grid.RIGHT };
+  /** Los movimientos posibles de {@link #dig}, que se reutiliza en cada paso. */
+  private final int[] moves = new int[GATES.length];
+  /** El motor con el que se resolverá el laberinto. */
+  public Engine engine = Engine.MALLA;
+  /** El algoritmo con el que se generará el laberinto. */
+  public Generator generator = Generator.PROFUNDIDAD;
+  /** ¿Se guardará en el formato extendido aunque quepa en el original? */
+  public boolean extended;
+  /** ¿Se dibujará el SVG compacto? Ver {@link CompactRenderer}. */
+  public boolean compact;
+  /** Donde se registran las etapas y contadores de {@link #solve}, null si no se registran. */
+  public Stats stats;
+
+  /** Constructor sin parámetros */
+  public Maze() { }
+
+  /**
+   * Construye el laberinto utilizando la matriz de enteros recibida.
+   *
+   * @param matrix la matriz de enteros de la entrada
+   */
+  public void build(int[][] matrix) {
+    /* Se inicializa la cuadrícula */
+    cells = new Grid(width, height);
+    solve = null;
+    /* Cada entero ya tiene el formato de la celda: puntuación y paredes */
+    for (int i = 0; i < height; i++)
+      for (int j = 0; j < width; j++)
+        cells.set(cells.index(j, i), matrix[i][j]);
+    findFars();
+  }
+
+  /**
+   * Construye el laberinto a partir de una cuadrícula ya leída.
+   *
+   * @param grid  la cuadrícula del laberinto
+   * @param start índice de la celda de inicio, -1 para buscar los extremos en la cuadrícula
+   * @param end   índice de la celda final, -1 para buscar los extremos en la cuadrícula
+   */
+  public void build(Grid grid, int start, int end) {
+    cells = grid;
+    solve = null;
+    width = grid.getWidth();
+    height = grid.getHeight();
+    if (start == -1 || end == -1) {
+      findFars();
+    } else {
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  /**
+   * Construye y genera el laberinto utilizando los parámetros.
+   *
+   * @param w    el número de columnas del laberinto
+   * @param h    el número de filas del laberinto
+   * @param seed semilla que se utilizará para generar el laberinto
+   */
+  public void build(int w, int h, long seed) {
+    width = w;
+    height = h;
+    this.seed = seed;
+    generate();
+  }
+
+  /**
+   * Genera el laberinto con el algoritmo seleccionado y un generador de números aleatorios con
+   * congruencias lineales.
+   */
+  public void generate() {
+    /* Se inicializa el generador de números aleatorios, si no hay semilla se utiliza el reloj de la computadora */
+    rng = seed != 0 ? new Random(seed) : new Random();
+    /* Se inicializa la cuadrícula */
+    cells = new Grid(width, height);
+    solve = null;
+    /* Se itera la cuadrícula para crear las celdas cerradas con una puntación aleatoria */
+    for (int i = 0; i < cells.size(); i++)
+      cells.set(i, (rng.nextInt(16) << 4) | Grid.WALLS);
+    /* Selecciona los lados de inicio y fin aleatoriamente */
+    int start, end;
+    do {
+      start = rng.nextInt(4);
+      end = rng.nextInt(4);
+    } while (start == end);
+    /* Puede que existan colisiones pues son completamente aleatorias.
+    * Entonces nos aseguramos de que no colisionen. */
+    do {
+      this.start = selectFars(start);
+      this.end = selectFars(end);
+      if (this.start == this.end) cells.close(this.start);
+    } while (this.start == this.end);
+    switch (generator) {
+      case KRUSKAL:
+        kruskal();
+        break;
+      default:
+        depthFirst();
+    }
+  }
+
+  /**
+   * Crea el laberinto aleatoriamente con DFS desde la celda de inicio.
+   */
+  private void depthFirst() {
+    ConjuntoBits visited = new ConjuntoBits(cells.size());
+    /* La pila del recorrido; cada celda entra una sola vez, así que cabe en un arreglo del
+     * tamaño de la cuadrícula */
+    int[] dfs = new int[cells.size()];
+    int top = 0;
+    dfs[top++] = this.start;
+    visited.agrega(this.start);
+    while (top > 0) {
+      int cA = dfs[top - 1];
+      int cB = dig(cA, visited);
+      if (cB == -1) {
+        top--;
+        continue;
+      }
+      visited.agrega(cB);
+      dfs[top++] = cB;
+    }
+  }
+
+  /**
+   * Crea el laberinto aleatoriamente con el algoritmo de Kruskal: se revuelven todas las
+   * paredes interiores y se derriba cada una que separe celdas que aún no están conectadas.
+   * El resultado es un árbol generador de la cuadrícula, igual que con DFS.
+   */
+  private void kruskal() {
+    /* La pared derecha de la celda c es 2c y la de abajo 2c + 1 */
+    int[] walls = new int[2 * cells.size()];
+    int n = 0;
+    for (int c = 0; c < cells.size(); c++) {
+      if (cells.neighbour(c, Grid.RIGHT) != -1) walls[n++] = 2 * c;
+      if (cells.neighbour(c, Grid.DOWN) != -1) walls[n++] = 2 * c + 1;
+    }
+    /* Fisher-Yates con el generador del laberinto, para que la semilla lo determine */
+    for (int i = n - 1; i > 0; i--) {
+      int j = rng.nextInt(i + 1);
+      int w = walls[i];
+      walls[i] = walls[j];
+      walls[j] = w;
+    }
+    ConjuntosDisjuntos components = new ConjuntosDisjuntos(cells.size());
+    for (int i = 0; i < n && components.getConjuntos() > 1; i++) {
+      int c = walls[i] >> 1;
+      int gate = (walls[i] & 1) == 0 ? Grid.RIGHT : Grid.DOWN;
+      if (components.une(c, cells.neighbour(c, gate))) carve(c, gate);
+    }
+  }
+
+  /**
+   * Derriba la pared entre una celda y su vecina en el lado indicado, en ambas celdas.
+   * @param c    índice de la celda
+   * @param gate uno de {@link Grid#DOWN}, {@link Grid#LEFT}, {@link Grid#UP} o {@link Grid#RIGHT}
+   */
+  private void carve(int c, int gate) {
+    cells.open(c, gate);
+    cells.open(cells.neighbour(c, gate), Grid.opposite(gate));
+  }
+
+  /**
+   * Selecciona aleatoriamente un extremo del laberinto.
+   * @param side 0 - abajo, 1 - izquierda, 2 - arriba, 3 - derecha
+   * @return índice de la celda que ahora es el nuevo extremo
+   */
+  private int selectFars(int side) {
+    int c;
+    switch (side) {
+      case 0: // Abajo
+        c = cells.index(rng.nextInt(width), height - 1);
+        cells.open(c, Grid.DOWN);
+        return c;
+      case 1: // Izquierda
+        c = cells.index(0, rng.nextInt(height));
+        cells.open(c, Grid.LEFT);
+        return c;
+      case 2: // Arriba
+        c = cells.index(rng.nextInt(width), 0);
+        cells.open(c, Grid.UP);
+        return c;
+      case 3: // Derecha
+        c = cells.index(width - 1, rng.nextInt(height));
+        cells.open(c, Grid.RIGHT);
+        return c;
+      default:
+        //Esto nunca ocurre.
+        return -1;
+    }
+  }
+
+  /**
+   * Establece el inicio y el final del laberinto: el primer y el último extremo
+   * de la cuadrícula, recorriéndola por renglones.
+   */
+  private void findFars() {
+    start = end = -1;
+    for (int c = 0; c < cells.size(); c++) {
+      if (!cells.isFar(c)) continue;
+      if (start == -1) start = c;
+      else end = c;
+    }
+  }
+
+  /**
+   * Construye el laberinto cómo gráfica, agregando todas las celdas como vértices.
+   * Es visible en el paquete para medirlo por separado.
+   */
+  void createGraph() {
+    maze.limpia();
+    for (int c = 0; c < cells.size(); c++)
+      maze.agrega(c);
+  }
+
+  /**
+   * Conecta las celdas en la gráfica si comparten una puerta, utilizando la puntuación de las puertas.
+   * Es visible en el paquete para medirlo por separado.
+   */
+  void connectEm() {
+    for (int c = 0; c < cells.size(); c++) {
+      int r = cells.passage(c, Grid.RIGHT);
+      int d = cells.passage(c, Grid.DOWN);
+      if (r != -1) maze.conecta(c, r, cells.weight(c, Grid.RIGHT));
+      if (d != -1) maze.conecta(c, d, cells.weight(c, Grid.DOWN));
+    }
+  }
+
+  /**
+   * Regresa la gráfica del laberinto, con lo que hayan construido {@link #createGraph} y
+   * {@link #connectEm}.
+   * @return la gráfica
+   */
+  Grafica<Integer> graph() {
+    return maze;
+  }
+
+  /**
+   * Guarda al inicio de {@link #moves} los movimientos posibles, celdas adyacentes válidas no
+   * visitadas, y regresa cuántos son. Sólo son válidos hasta la siguiente llamada.
+   * @param c       índice de la celda origen
+   * @param visited conjunto de celdas visitadas
+   * @return el número de movimientos posibles
+   */
+  private int possibleMoves(int c, ConjuntoBits visited) {
+    int n = 0;
+    for (int gate : GATES) {
+      int m = cells.neighbour(c, gate);
+      if (m != -1 && !visited.contiene(m)) moves[n++] = m;
+    }
+    return n;
+  }
+
+  /**
+   * Crea una puerta entre una celda origen y una destino seleccionada aleatoriamente
+   * de la lista de movimientos posibles.
+   * @param c       índice de la celda origen
+   * @param visited conjunto de celdas visitadas
+   * @return índice de la celda destino seleccionada aleatoriamente, -1 si no hay movimientos
+   */
+  private int dig(int c, ConjuntoBits visited) {
+    int n = possibleMoves(c, visited);
+    if (n == 0) return -1;
+    int goTo = moves[rng.nextInt(n)];
+    carve(c, cells.gate(c, goTo));
+    return goTo;
+  }
+
+  /**
+   * Regresa un arreglo de índices de celdas con la solución del laberinto, utilizando dijkstra
+   * con el motor seleccionado.
+   * @return arreglo que contiene la solución, desde el inicio hasta el final
+   */
+  public int[] solve() {
+    long t = System.nanoTime();
+    switch (engine) {
+      case GRAFICA:
+      case ESTRELLA:
+      case BIDIRECCIONAL:
+        createGraph();
+        t = lap(Stats.Stage.GRAFICA, t);
+        connectEm();
+        t = lap(Stats.Stage.CONEXION, t);
+        Lista<VerticeGrafica<Integer>> path;
+        if (engine == Engine.ESTRELLA) path = maze.aEstrella(start, end, manhattan(end));
+        else if (engine == Engine.BIDIRECCIONAL) path = maze.dijkstraBidireccional(start, end);
+        else path = maze.dijkstra(start, end);
+        solve = new int[path.getLongitud()];
+        int i = 0;
+        for (VerticeGrafica<Integer> c : path)
+          solve[i++] = c.get();
+        lap(Stats.Stage.SOLUCION, t);
+        if (stats != null) {
+          stats.vertices = maze.getElementos();
+          stats.edges = maze.getAristas();
+          stats.heapOperations = maze.getOperacionesMonticulo();
+          stats.relaxations = maze.getRelajaciones();
+        }
+        break;
+      default:
+        GridSolver solver = new GridSolver(cells);
+        solve = solver.dijkstra(start, end);
+        lap(Stats.Stage.SOLUCION, t);
+        if (stats != null) {
+          stats.vertices = cells.size();
+          stats.edges = passages();
+          stats.heapOperations = solver.getHeapOperations();
+          stats.relaxations = solver.getRelaxations();
+        }
+    }
+    if (stats != null) {
+      stats.pathLength = solve.length;
+      stats.cost = cost();
+    }
+    return solve;
+  }
+
+  /**
+   * Suma a {@link #stats}, si no es null, el tiempo de una etapa que empezó en el instante
+   * recibido.
+   * @param stage la etapa
+   * @param begin el instante en que empezó, de {@link System#nanoTime}
+   * @return el instante en que terminó
+   */
+  private long lap(Stats.Stage stage, long begin) {
+    long now = System.nanoTime();
+    if (stats != null) stats.add(stage, now - begin);
+    return now;
+  }
+
+  /**
+   * Regresa el número de puertas entre celdas de la cuadrícula, las aristas que tendría
+   * su gráfica.
+   * @return el número de puertas
+   */
+  private long passages() {
+    long n = 0;
+    for (int c = 0; c < cells.size(); c++) {
+      if (cells.passage(c, Grid.RIGHT) != -1) n++;
+      if (cells.passage(c, Grid.DOWN) != -1) n++;
+    }
+    return n;
+  }
+
+  /**
+   * Regresa el costo de la solución, es decir, la suma de los pesos de las puertas que cruza.
+   * @return el costo de la solución, 0 si no hay solución
+   */
+  public long cost() {
+    long cost = 0;
+    for (int i = 1; i < solve.length; i++)
+      cost += cells.weight(solve[i - 1], cells.gate(solve[i - 1], solve[i]));
+    return cost;
+  }
+
+  /**
+   * Regresa la heurística de A* hacia la celda recibida: la distancia Manhattan multiplicada
+   * por el menor peso de las puertas. Es consistente porque cada paso cambia la distancia
+   * Manhattan en 1 y cuesta al menos el menor peso.
+   * @param goal índice de la celda destino
+   * @return heurística hacia la celda destino
+   */
+  private Heuristica<Integer> manhattan(int goal) {
+    int min = cells.minWeight();
+    int gx = cells.x(goal);
+    int gy = cells.y(goal);
+    return (c) -> min * (Math.abs(cells.x(c) - gx) + Math.abs(cells.y(c) - gy));
+  }
+
+  /**
+   * Regresa una cadena de texto en formato SVG con el laberinto y su solución.
+   * Para laberintos grandes conviene {@link #writeMaze}, que no construye la cadena.
+   *
+   * @param solve ¿Deberá dibujarse la solución?
+   * @return SVG del laberinto
+   */
+  public String drawMaze(boolean solve) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      writeMaze(out, solve);
+    } catch (IOException e) {
+      /* Esto nunca ocurre, ByteArrayOutputStream no lanza excepciones. */
+      throw new IllegalStateException(e);
+    }
+    return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Escribe el laberinto y su solución en formato SVG directamente en el flujo recibido,
+   * sin construir el documento en memoria; si {@link #compact} está prendido, con
+   * {@link CompactRenderer}. Si la solución ya se calculó con {@link #solve()} la reutiliza.
+   * No cierra el flujo.
+   *
+   * @param out   el flujo donde se escribe el SVG
+   * @param solve ¿Deberá dibujarse la solución?
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void writeMaze(OutputStream out, boolean solve) throws IOException {
+    if (cells == null) throw new IllegalStateException("El laberinto no está inicializado");
+    SVGWriter svg = new SVGWriter(out);
+    svg.open((width * 20) + (20 * 2), (height * 20) + (20 * 2));
+    if (solve && this.solve == null) solve();
+    if (compact) {
+      new CompactRenderer(cells, svg).write(solve ? this.solve : null);
+      svg.end();
+      svg.flush();
+      return;
+    }
+    /* Dibuja la solución */
+    if (solve) writeSolution(svg);
+    for (int c = 0; c < cells.size(); c++) {
+      int x = cells.x(c);
+      int y = cells.y(c);
+      /* Para evitar que se dibujen las paredes dos veces */
+      boolean drawL = x == 0 || !cells.wall(c - 1, Grid.RIGHT);
+      boolean drawU = y == 0 || !cells.wall(c - width, Grid.DOWN);
+      /* Dibuja la celda */
+      svg.cell(10 + (x + 1) * 20, 10 + (y + 1) * 20,
+              cells.wall(c, Grid.DOWN), cells.wall(c, Grid.LEFT) && drawL,
+              cells.wall(c, Grid.UP) && drawU, cells.wall(c, Grid.RIGHT));
+      /* Si es extremo dibuja un circulo para denotarlo */
+      if (cells.isFar(c)) svg.circle(10 + (x + 1) * 20, 10 + (y + 1) * 20, 5, "none", "pink");
+    }
+    svg.end();
+    svg.flush();
+  }
+
+  /**
+   * Escribe el laberinto y su solución en PNG con {@link PNGRenderer}, calculando la
+   * imagen por regiones conforme se escribe. Si la solución ya se calculó con {@link #solve()}
+   * la reutiliza. No cierra el flujo.
+   *
+   * @param out  el flujo donde se escribe el PNG
+   * @param cell tamaño de cada celda en pixeles
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void writePNG(OutputStream out, int cell) throws IOException {
+    if (cells == null) throw new IllegalStateException("El laberinto no está inicializado");
+    if (solve == null) solve();
+    new PNGRenderer(cells, solve, cell).write(out);
+  }
+
+  /**
+   * Regresa una cadena de texto en formato SVG con la solución del laberinto.
+   * @return SVG de la trayectoria de la solución
+   */
+  public String drawSolution() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      SVGWriter svg = new SVGWriter(out);
+      writeSolution(svg);
+      svg.flush();
+    } catch (IOException e) {
+      /* Esto nunca ocurre, ByteArrayOutputStream no lanza excepciones. */
+      throw new IllegalStateException(e);
+    }
+    return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Escribe la solución del laberinto en formato SVG, un segmento por paso.
+   * @param svg donde se escribe la trayectoria
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void writeSolution(SVGWriter svg) throws IOException {
+    for (int i = 1; i < solve.length; i++)
+      svg.line(10 + (cells.x(solve[i - 1]) + 1) * 20, 10 + (cells.y(solve[i - 1]) + 1) * 20,
+              10 + (cells.x(solve[i]) + 1) * 20, 10 + (cells.y(solve[i]) + 1) * 20, "purple", 4);
+  }
+
+  /**
+   * Imprime el laberinto representado en bytes, en el formato original si cabe y no se pidió
+   * el extendido; en el extendido se incluyen el inicio y el final.
+   */
+  public void saveMaze() {
+    try {
+      BufferedOutputStream out = new BufferedOutputStream(System.out);
+      saveMaze(out);
+      out.close();
+    } catch (IOException e) {
+      System.err.println(e);
+    }
+  }
+
+  /**
+   * Escribe el laberinto representado en bytes en el flujo recibido, igual que
+   * {@link #saveMaze()}. No cierra el flujo.
+   *
+   * @param out el flujo donde se escribe el laberinto
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void saveMaze(OutputStream out) throws IOException {
+    MazeWriter writer = new MazeWriter(out, width, height, extended);
+    writer.header(cells.x(start), cells.y(start), cells.x(end), cells.y(end));
+    writer.write(cells.bytes(), 0, cells.size());
+    writer.finish();
+  }
+}
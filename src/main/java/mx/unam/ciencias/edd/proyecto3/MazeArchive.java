@@ -0,0 +1,101 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Clase que escribe muchos laberintos en un solo archivo indexado (.mza). El archivo
+ * empieza con los bytes <code>MZAR</code> y un byte con la versión ({@link #VERSION});
+ * después vienen los laberintos, cada uno con los bytes de un archivo .mze completo, uno
+ * tras otro; luego el índice, con la semilla (64 bits), la posición del laberinto desde el
+ * principio del archivo (64 bits) y su longitud (32 bits) de cada uno, en el orden en que
+ * se escribieron; y al final el número de laberintos (32 bits), la posición del índice (64
+ * bits) y otra vez <code>MZAR</code>.
+ * <p>
+ * Todos los enteros son big-endian, como en {@link MazeFormat}. El índice va al final para
+ * poder escribir los laberintos conforme se generan; para leer uno basta leer los últimos
+ * 16 bytes, el índice, y saltar a su posición.
+ *
+ * @author Yael Lozano
+ */
+public class MazeArchive {
+  /** Los bytes con los que empieza y termina todo archivo .mza. */
+  public static final byte[] MAGIC = { 77, 90, 65, 82 };
+  /** Versión del formato. */
+  public static final int VERSION = 1;
+  /** Bytes de cada entrada del índice. */
+  public static final int ENTRY = 20;
+
+  /** El flujo donde se escribe. */
+  private final OutputStream out;
+  /** El índice, con {@link #ENTRY} bytes por laberinto. */
+  private byte[] index = new byte[ENTRY * 64];
+  /** Número de laberintos escritos. */
+  private int count;
+  /** Bytes escritos hasta ahora. */
+  private long offset;
+
+  /**
+   * Constructor que recibe el flujo y escribe el encabezado.
+   *
+   * @param out el flujo donde se escribe
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public MazeArchive(OutputStream out) throws IOException {
+    this.out = out;
+    out.write(MAGIC);
+    out.write(VERSION);
+    offset = MAGIC.length + 1;
+  }
+
+  /**
+   * Agrega un laberinto al archivo.
+   *
+   * @param seed la semilla con la que se generó
+   * @param maze los bytes del archivo .mze
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void add(long seed, byte[] maze) throws IOException {
+    if (ENTRY * (count + 1) > index.length) {
+      byte[] bigger = new byte[index.length * 2];
+      System.arraycopy(index, 0, bigger, 0, index.length);
+      index = bigger;
+    }
+    int i = ENTRY * count++;
+    put(index, i, seed, 8);
+    put(index, i + 8, offset, 8);
+    put(index, i + 16, maze.length, 4);
+    out.write(maze);
+    offset += maze.length;
+  }
+
+  /**
+   * Escribe el índice y el final del archivo. No cierra el flujo.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void finish() throws IOException {
+    out.write(index, 0, ENTRY * count);
+    byte[] tail = new byte[12];
+    put(tail, 0, count, 4);
+    put(tail, 4, offset, 8);
+    out.write(tail);
+    out.write(MAGIC);
+    out.flush();
+  }
+
+  /**
+   * Escribe un entero big-endian en un arreglo.
+   *
+   * @param b     el arreglo
+   * @param i     dónde empieza el entero
+   * @param v     el entero
+   * @param bytes número de bytes del entero
+   */
+  private static void put(byte[] b, int i, long v, int bytes) {
+    for (int k = bytes - 1; k >= 0; k--) {
+      b[i + k] = (byte) v;
+      v >>>= 8;
+    }
+  }
+}
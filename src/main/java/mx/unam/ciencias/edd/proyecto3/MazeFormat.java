@@ -0,0 +1,48 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+/**
+ * Constantes de los formatos de archivo .mze. Hay dos formatos, y ambos empiezan con los
+ * bytes <code>MAZE</code>:
+ * <ul>
+ *   <li>El original: un byte con el número de renglones, un byte con el número de columnas
+ *       (ambos de 2 a 255) y un byte por celda, por renglones.</li>
+ *   <li>El extendido, que se reconoce porque el byte del número de renglones es 0: después
+ *       vienen un byte con la versión ({@link #VERSION}), un byte de banderas, un byte
+ *       reservado en 0, el número de renglones y el de columnas en 32 bits; si la bandera
+ *       {@link #EXTREMES} está prendida, la columna y el renglón del inicio y del final en 32
+ *       bits cada uno; un byte por celda, por renglones, y al final el CRC-32 de todos los
+ *       bytes anteriores.</li>
+ * </ul>
+ * Todos los enteros de 32 bits son big-endian. Cada celda tiene el mismo formato en los dos:
+ * la puntuación en los 4 bits más significativos y las paredes en los 4 menos significativos.
+ *
+ * @author Yael Lozano
+ */
+public final class MazeFormat {
+  /** Los bytes con los que empieza todo archivo .mze. */
+  public static final byte[] MAGIC = { 77, 65, 90, 69 };
+  /** Máximo número de renglones o columnas del formato original. */
+  public static final int LEGACY_MAX = 255;
+  /** Mínimo número de renglones o columnas en ambos formatos. */
+  public static final int MIN = 2;
+  /** Versión del formato extendido. */
+  public static final int VERSION = 2;
+  /** Bandera del formato extendido que indica que el archivo incluye el inicio y el final. */
+  public static final int EXTREMES = 1;
+  /** Máximo número de celdas que se pueden cargar en una {@link Grid}. */
+  public static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+  /** Constructor privado para evitar instanciación. */
+  private MazeFormat() { }
+
+  /**
+   * ¿Las dimensiones caben en el formato original?
+   *
+   * @param width  el número de columnas
+   * @param height el número de renglones
+   * @return true si caben, false de lo contrario
+   */
+  public static boolean fitsLegacy(long width, long height) {
+    return width <= LEGACY_MAX && height <= LEGACY_MAX;
+  }
+}
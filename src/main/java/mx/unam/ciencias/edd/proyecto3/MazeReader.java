@@ -0,0 +1,280 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Clase que lee laberintos en cualquiera de los formatos .mze descritos en
+ * {@link MazeFormat} y verifica que estén bien formados.
+ * <p>
+ * Los bytes se leen de un {@link ByteBuffer}: un archivo se mapea completo a memoria con
+ * {@link FileChannel#map}, y de un canal, como la entrada estándar, se leen bloques de
+ * {@link #BLOCK} bytes. En ambos casos las celdas se copian en bloque a la cuadrícula.
+ *
+ * @author Yael Lozano
+ */
+public class MazeReader {
+  /** Tamaño de los bloques que se leen de un canal. */
+  public static final int BLOCK = 1 << 16;
+
+  /** La cuadrícula leída. */
+  private Grid grid;
+  /** Índice de la celda de inicio según el archivo, -1 si no la incluye. */
+  private int start = -1;
+  /** Índice de la celda final según el archivo, -1 si no la incluye. */
+  private int end = -1;
+  /** ¿El archivo está en el formato extendido? */
+  private boolean extended;
+
+  /** Los bytes pendientes de procesar. */
+  private ByteBuffer buffer;
+  /** El canal del que se rellena el buffer, null si el buffer tiene todo el archivo. */
+  private ReadableByteChannel channel;
+  /** El CRC-32 de los bytes procesados. */
+  private CRC32 crc;
+  /** Máximo número de celdas que se aceptan. */
+  private final long maxCells;
+
+  /** Constructor que acepta laberintos de hasta {@link MazeFormat#MAX_CELLS} celdas. */
+  public MazeReader() {
+    this(MazeFormat.MAX_CELLS);
+  }
+
+  /**
+   * Constructor que recibe el máximo número de celdas que se aceptan, para rechazar un
+   * laberinto antes de reservar su cuadrícula.
+   *
+   * @param maxCells el máximo número de celdas, a lo más {@link MazeFormat#MAX_CELLS}
+   * @throws IllegalArgumentException si el máximo no es positivo o rebasa
+   *         {@link MazeFormat#MAX_CELLS}
+   */
+  public MazeReader(long maxCells) {
+    if (maxCells < 1 || maxCells > MazeFormat.MAX_CELLS)
+      throw new IllegalArgumentException("El máximo de celdas es inválido: " + maxCells);
+    this.maxCells = maxCells;
+  }
+
+  /**
+   * Lee un laberinto de un archivo, mapeándolo a memoria. Los archivos de más de 2 GB,
+   * que no se pueden mapear en un solo buffer, se leen por bloques.
+   *
+   * @param path la ruta del archivo
+   * @throws IOException si no se puede leer el archivo o el formato es inválido
+   */
+  public void read(Path path) throws IOException {
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (file.size() > Integer.MAX_VALUE) {
+        read(file);
+        return;
+      }
+      buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+      channel = null;
+      parse();
+    }
+  }
+
+  /**
+   * Lee un laberinto completo del flujo recibido, que debe terminar justo después del
+   * laberinto. No cierra el flujo.
+   *
+   * @param in el flujo de entrada
+   * @throws IOException si no se puede leer el flujo o el formato es inválido
+   */
+  public void read(InputStream in) throws IOException {
+    read(Channels.newChannel(in));
+  }
+
+  /**
+   * Lee un laberinto completo del canal recibido, que debe terminar justo después del
+   * laberinto. No cierra el canal.
+   *
+   * @param in el canal de entrada
+   * @throws IOException si no se puede leer el canal o el formato es inválido
+   */
+  public void read(ReadableByteChannel in) throws IOException {
+    buffer = ByteBuffer.allocate(BLOCK);
+    buffer.flip();
+    channel = in;
+    parse();
+  }
+
+  /**
+   * Interpreta los bytes del buffer y, si hace falta, del canal.
+   *
+   * @throws IOException si no se puede leer el canal o el formato es inválido
+   */
+  private void parse() throws IOException {
+    crc = new CRC32();
+    start = end = -1;
+    for (byte b : MazeFormat.MAGIC)
+      if (readByte() != b) throw new IOException("El formato del archivo es inválido.");
+    int h = readByte();
+    extended = h == 0;
+    if (!extended) {
+      int w = readByte();
+      if (h < MazeFormat.MIN || w < MazeFormat.MIN)
+        throw new IOException("El formato del archivo es inválido: el ancho y el alto son inválidos.");
+      if (w * h > maxCells)
+        throw new IOException("El laberinto es demasiado grande: " + w + "x" + h + ".");
+      grid = new Grid(w, h);
+      readCells();
+    } else {
+      readExtended();
+      long expected = crc.getValue();
+      if (readInt() != expected)
+        throw new IOException("El formato del archivo es inválido: la suma de verificación no coincide.");
+    }
+    if (buffer.hasRemaining() || (channel != null && fill(1)))
+      throw new IOException("El formato del archivo es inválido: tiene más elementos de los necesarios.");
+    buffer = null;
+    channel = null;
+  }
+
+  /**
+   * Lee el resto de un archivo en formato extendido, después del 0 que lo distingue y
+   * antes del CRC-32.
+   *
+   * @throws IOException si no se puede leer el canal o el formato es inválido
+   */
+  private void readExtended() throws IOException {
+    int version = readByte();
+    int flags = readByte();
+    readByte();
+    if (version != MazeFormat.VERSION)
+      throw new IOException("El formato del archivo es inválido: versión " + version + " no soportada.");
+    long h = readInt();
+    long w = readInt();
+    if (h < MazeFormat.MIN || w < MazeFormat.MIN || h > Integer.MAX_VALUE || w > Integer.MAX_VALUE)
+      throw new IOException("El formato del archivo es inválido: el ancho y el alto son inválidos.");
+    if (w * h > maxCells)
+      throw new IOException("El laberinto es demasiado grande: " + w + "x" + h + ".");
+    grid = new Grid((int) w, (int) h);
+    if ((flags & MazeFormat.EXTREMES) != 0) {
+      start = readCell();
+      end = readCell();
+    }
+    readCells();
+  }
+
+  /**
+   * Lee la columna y el renglón de una celda y regresa su índice.
+   *
+   * @return el índice de la celda
+   * @throws IOException si no se puede leer el canal o la celda no está en la cuadrícula
+   */
+  private int readCell() throws IOException {
+    long x = readInt();
+    long y = readInt();
+    if (x >= grid.getWidth() || y >= grid.getHeight())
+      throw new IOException("El formato del archivo es inválido: los extremos no están en el laberinto.");
+    return grid.index((int) x, (int) y);
+  }
+
+  /**
+   * Copia en bloque las celdas a la cuadrícula.
+   *
+   * @throws IOException si no se puede leer el canal o faltan celdas
+   */
+  private void readCells() throws IOException {
+    byte[] cells = grid.bytes();
+    int off = 0;
+    while (off < cells.length) {
+      if (!buffer.hasRemaining() && !fill(1))
+        throw new IOException("El formato del archivo es inválido.");
+      int n = Math.min(buffer.remaining(), cells.length - off);
+      buffer.get(cells, off, n);
+      if (extended) crc.update(cells, off, n);
+      off += n;
+    }
+  }
+
+  /**
+   * Lee un byte sin signo. Todos los bytes del encabezado se suman al CRC-32, porque el
+   * formato no se conoce hasta el quinto.
+   *
+   * @return el byte
+   * @throws IOException si no se puede leer el canal o ya no hay bytes
+   */
+  private int readByte() throws IOException {
+    if (!buffer.hasRemaining() && !fill(1))
+      throw new IOException("El formato del archivo es inválido.");
+    int b = buffer.get() & 0xFF;
+    crc.update(b);
+    return b;
+  }
+
+  /**
+   * Lee un entero de 32 bits sin signo, big-endian.
+   *
+   * @return el entero
+   * @throws IOException si no se puede leer el canal o ya no hay bytes
+   */
+  private long readInt() throws IOException {
+    long v = 0;
+    for (int i = 0; i < 4; i++)
+      v = (v << 8) | readByte();
+    return v;
+  }
+
+  /**
+   * Rellena el buffer desde el canal hasta tener al menos los bytes pedidos.
+   *
+   * @param n el número de bytes que se necesitan
+   * @return true si se consiguieron, false si el canal terminó antes o no hay canal
+   * @throws IOException si no se puede leer el canal
+   */
+  private boolean fill(int n) throws IOException {
+    if (channel == null) return buffer.remaining() >= n;
+    buffer.compact();
+    try {
+      while (buffer.position() < n)
+        if (channel.read(buffer) == -1) return false;
+      return true;
+    } finally {
+      buffer.flip();
+    }
+  }
+
+  /**
+   * Getter para la cuadrícula leída.
+   *
+   * @return grid
+   */
+  public Grid getGrid() {
+    return grid;
+  }
+
+  /**
+   * Getter para la celda de inicio según el archivo.
+   *
+   * @return start, -1 si el archivo no la incluye
+   */
+  public int getStart() {
+    return start;
+  }
+
+  /**
+   * Getter para la celda final según el archivo.
+   *
+   * @return end, -1 si el archivo no la incluye
+   */
+  public int getEnd() {
+    return end;
+  }
+
+  /**
+   * ¿El archivo está en el formato extendido?
+   *
+   * @return extended
+   */
+  public boolean isExtended() {
+    return extended;
+  }
+}
@@ -0,0 +1,495 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import mx.unam.ciencias.edd.Diccionario;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servicio HTTP local que resuelve y genera laberintos en un proceso de larga duración, con
+ * {@link HttpServer}. Tiene tres rutas:
+ * <ul>
+ *   <li><code>POST /resuelve</code>: el cuerpo es un archivo .mze en cualquier formato. El
+ *       parámetro <code>formato</code> es <code>svg</code> (por omisión), <code>png</code>,
+ *       <code>ruta</code> (una celda por línea, columna y renglón) o <code>costo</code>;
+ *       también se aceptan <code>motor</code>, <code>compacto</code> y <code>celda</code>,
+ *       como las banderas <code>-e</code>, <code>-c</code> y <code>-p</code>.</li>
+ *   <li><code>GET /genera</code>: regresa un archivo .mze generado con los parámetros
+ *       <code>ancho</code>, <code>alto</code>, <code>semilla</code>,
+ *       <code>algoritmo</code> y <code>extendido</code>.</li>
+ *   <li><code>GET /estadisticas</code>: los contadores de cada ruta.</li>
+ * </ul>
+ * <p>
+ * El hilo del servidor sólo recibe las peticiones y las pasa a un ejecutor con un número
+ * fijo de hilos y una cola acotada; si la cola está llena se responde de inmediato con 503
+ * en lugar de acumular peticiones. Si el entorno tiene hilos virtuales se usan para los
+ * hilos del ejecutor, buscándolos por reflexión para seguir compilando con Java 11.
+ * <p>
+ * La cola sólo acota cuántas peticiones se atienden a la vez, no su tamaño, así que además
+ * cada laberinto que se lee o se genera tiene un máximo de celdas, mucho menor que
+ * {@link MazeFormat#MAX_CELLS}; arriba de él /genera responde 413 y /resuelve 400 sin
+ * reservar la cuadrícula. El máximo también acota cuánto dura un laberinto de Eller, que
+ * se escribe conforme se genera.
+ *
+ * @author Yael Lozano
+ */
+public class MazeServer {
+  /** Peticiones en cola permitidas por cada hilo. */
+  public static final int QUEUE_PER_THREAD = 8;
+  /** Máximo tamaño del cuerpo de una petición. */
+  public static final int MAX_BODY = 1 << 28;
+  /** Máximo número de celdas por petición, por omisión: 4 MB de cuadrícula. */
+  public static final long DEFAULT_MAX_CELLS = 1 << 22;
+
+  /** El servidor HTTP. */
+  private final HttpServer server;
+  /** El ejecutor de las peticiones. */
+  private final ThreadPoolExecutor workers;
+  /** Contadores de /resuelve. */
+  private final Counter solve = new Counter("/resuelve");
+  /** Contadores de /genera. */
+  private final Counter generate = new Counter("/genera");
+  /** Contadores de /estadisticas. */
+  private final Counter stats = new Counter("/estadisticas");
+  /** Máximo número de celdas de un laberinto que se lee o se genera. */
+  private final long maxCells;
+
+  /**
+   * Constructor que abre el puerto, sin empezar a atender, con el máximo de celdas por
+   * omisión.
+   *
+   * @param port    el puerto, 0 para uno libre cualquiera
+   * @param threads número de hilos del ejecutor
+   * @throws IOException si no se puede abrir el puerto
+   * @throws IllegalArgumentException si el número de hilos no es positivo
+   */
+  public MazeServer(int port, int threads) throws IOException {
+    this(port, threads, DEFAULT_MAX_CELLS);
+  }
+
+  /**
+   * Constructor que abre el puerto, sin empezar a atender.
+   *
+   * @param port     el puerto, 0 para uno libre cualquiera
+   * @param threads  número de hilos del ejecutor
+   * @param maxCells máximo número de celdas de un laberinto por petición
+   * @throws IOException si no se puede abrir el puerto
+   * @throws IllegalArgumentException si el número de hilos no es positivo o el máximo de
+   *         celdas no es positivo o rebasa {@link MazeFormat#MAX_CELLS}
+   */
+  public MazeServer(int port, int threads, long maxCells) throws IOException {
+    if (threads < 1) throw new IllegalArgumentException("El número de hilos es inválido: " + threads);
+    if (maxCells < 1 || maxCells > MazeFormat.MAX_CELLS)
+      throw new IllegalArgumentException("El máximo de celdas es inválido: " + maxCells);
+    this.maxCells = maxCells;
+    workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(QUEUE_PER_THREAD * threads), threadFactory());
+    server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.createContext("/resuelve", e -> dispatch(e, solve));
+    server.createContext("/genera", e -> dispatch(e, generate));
+    server.createContext("/estadisticas", e -> dispatch(e, stats));
+  }
+
+  /** Empieza a atender peticiones en el hilo del servidor. */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * Deja de atender peticiones y espera a que terminen las que están en curso.
+   *
+   * @param seconds segundos máximos de espera
+   * @throws InterruptedException si se interrumpe el hilo mientras espera
+   */
+  public void stop(int seconds) throws InterruptedException {
+    server.stop(0);
+    workers.shutdown();
+    workers.awaitTermination(seconds, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Regresa el puerto donde se atiende.
+   *
+   * @return el puerto
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Pasa la petición al ejecutor, o responde 503 si su cola está llena.
+   *
+   * @param exchange la petición
+   * @param counter  los contadores de la ruta
+   * @throws IOException si no se puede responder
+   */
+  private void dispatch(HttpExchange exchange, Counter counter) throws IOException {
+    long begin = System.nanoTime();
+    try {
+      workers.execute(() -> handle(exchange, counter, begin));
+    } catch (RejectedExecutionException e) {
+      counter.rejected.increment();
+      exchange.getResponseHeaders().set("Retry-After", "1");
+      text(exchange, 503, "El servicio está saturado, intente de nuevo.\n");
+    }
+  }
+
+  /**
+   * Atiende una petición en un hilo del ejecutor y actualiza los contadores.
+   *
+   * @param exchange la petición
+   * @param counter  los contadores de la ruta
+   * @param begin    cuándo se recibió, en nanosegundos
+   */
+  private void handle(HttpExchange exchange, Counter counter, long begin) {
+    counter.active.incrementAndGet();
+    boolean ok = false;
+    try {
+      Diccionario<String, String> params = params(exchange.getRequestURI().getRawQuery());
+      if (counter == solve) ok = solve(exchange, params);
+      else if (counter == generate) ok = generate(exchange, params);
+      else ok = stats(exchange);
+    } catch (IllegalArgumentException | IOException e) {
+      respond(exchange, 400, e.getMessage());
+    } catch (RuntimeException e) {
+      respond(exchange, 500, e.toString());
+    } finally {
+      exchange.close();
+      counter.active.decrementAndGet();
+      counter.record(System.nanoTime() - begin, ok);
+    }
+  }
+
+  /**
+   * Resuelve el laberinto del cuerpo de la petición.
+   *
+   * @param exchange la petición
+   * @param params   los parámetros
+   * @return true si se respondió con éxito, false de lo contrario
+   * @throws IOException si el laberinto es inválido o no se puede responder
+   */
+  private boolean solve(HttpExchange exchange, Diccionario<String, String> params) throws IOException {
+    if (!exchange.getRequestMethod().equals("POST")) return method(exchange, "POST");
+    MazeReader reader = new MazeReader(maxCells);
+    try (InputStream in = new LimitedInputStream(exchange.getRequestBody(), MAX_BODY)) {
+      reader.read(in);
+    }
+    Maze maze = new Maze();
+    maze.engine = Engine.parse(param(params, "motor", "malla"));
+    maze.compact = flag(params, "compacto");
+    maze.build(reader.getGrid(), reader.getStart(), reader.getEnd());
+    String format = param(params, "formato", "svg");
+    switch (format) {
+      case "svg":
+        maze.solve();
+        exchange.getResponseHeaders().set("Content-Type", "image/svg+xml");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+          maze.writeMaze(out, true);
+        }
+        return true;
+      case "png":
+        int cell = Integer.parseInt(param(params, "celda", "10"));
+        if (cell < PNGRenderer.MIN_CELL) throw new IllegalArgumentException("El tamaño de celda es inválido: " + cell);
+        maze.solve();
+        exchange.getResponseHeaders().set("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = new BufferedOutputStream(exchange.getResponseBody())) {
+          maze.writePNG(out, cell);
+        }
+        return true;
+      case "ruta":
+        StringBuilder path = new StringBuilder();
+        for (int c : maze.solve())
+          path.append(c % maze.width).append(' ').append(c / maze.width).append('\n');
+        text(exchange, 200, path.toString());
+        return true;
+      case "costo":
+        maze.solve();
+        text(exchange, 200, maze.cost() + "\n");
+        return true;
+      default:
+        throw new IllegalArgumentException("Formato inválido: " + format);
+    }
+  }
+
+  /**
+   * Genera un laberinto con los parámetros de la petición.
+   *
+   * @param exchange la petición
+   * @param params   los parámetros
+   * @return true si se respondió con éxito, false de lo contrario
+   * @throws IOException si no se puede responder
+   */
+  private boolean generate(HttpExchange exchange, Diccionario<String, String> params) throws IOException {
+    if (!exchange.getRequestMethod().equals("GET")) return method(exchange, "GET");
+    int w = Integer.parseInt(required(params, "ancho"));
+    int h = Integer.parseInt(required(params, "alto"));
+    long seed = Long.parseLong(param(params, "semilla", "0"));
+    Generator generator = Generator.parse(param(params, "algoritmo", "profundidad"));
+    boolean extended = flag(params, "extendido");
+    if (w < MazeFormat.MIN || h < MazeFormat.MIN)
+      throw new IllegalArgumentException("Los valores de altura o ancho son inválidos.");
+    if ((long) w * h > maxCells) {
+      text(exchange, 413, "El laberinto es demasiado grande, el máximo es de " + maxCells + " celdas.\n");
+      return false;
+    }
+    exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+    exchange.sendResponseHeaders(200, 0);
+    try (OutputStream out = new BufferedOutputStream(exchange.getResponseBody(), 1 << 16)) {
+      if (generator == Generator.ELLER) {
+        new EllerGenerator(w, h, seed).write(out, extended);
+      } else {
+        Maze maze = new Maze();
+        maze.generator = generator;
+        maze.extended = extended;
+        maze.build(w, h, seed);
+        maze.saveMaze(out);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Responde con los contadores de todas las rutas, una por línea.
+   *
+   * @param exchange la petición
+   * @return true
+   * @throws IOException si no se puede responder
+   */
+  private boolean stats(HttpExchange exchange) throws IOException {
+    text(exchange, 200, solve + "\n" + generate + "\n" + stats + "\n" +
+        "cola " + workers.getQueue().size() + "/" + QUEUE_PER_THREAD * workers.getMaximumPoolSize() +
+        ", hilos " + workers.getActiveCount() + "/" + workers.getMaximumPoolSize() + "\n");
+    return true;
+  }
+
+  /**
+   * Responde 405 porque el método no es el de la ruta.
+   *
+   * @param exchange la petición
+   * @param allowed  el método de la ruta
+   * @return false
+   * @throws IOException si no se puede responder
+   */
+  private static boolean method(HttpExchange exchange, String allowed) throws IOException {
+    exchange.getResponseHeaders().set("Allow", allowed);
+    text(exchange, 405, "Método no permitido, se esperaba " + allowed + ".\n");
+    return false;
+  }
+
+  /**
+   * Responde con un error, si todavía no se enviaron los encabezados.
+   *
+   * @param exchange la petición
+   * @param code     el código de respuesta
+   * @param message  el mensaje
+   */
+  private static void respond(HttpExchange exchange, int code, String message) {
+    if (exchange.getResponseCode() != -1) return;
+    try {
+      text(exchange, code, message + "\n");
+    } catch (IOException e) {
+      /* El cliente ya se fue, no hay a quién responder. */
+    }
+  }
+
+  /**
+   * Responde con texto.
+   *
+   * @param exchange la petición
+   * @param code     el código de respuesta
+   * @param body     el texto
+   * @throws IOException si no se puede responder
+   */
+  private static void text(HttpExchange exchange, int code, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(code, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Separa los parámetros de la consulta.
+   *
+   * @param query la consulta sin decodificar, puede ser null
+   * @return los parámetros
+   */
+  private static Diccionario<String, String> params(String query) {
+    Diccionario<String, String> params = new Diccionario<>();
+    if (query == null) return params;
+    for (String pair : query.split("&")) {
+      if (pair.isEmpty()) continue;
+      int i = pair.indexOf('=');
+      String key = URLDecoder.decode(i == -1 ? pair : pair.substring(0, i), StandardCharsets.UTF_8);
+      String value = i == -1 ? "" : URLDecoder.decode(pair.substring(i + 1), StandardCharsets.UTF_8);
+      params.agrega(key, value);
+    }
+    return params;
+  }
+
+  /**
+   * Regresa un parámetro, o el valor por omisión si no está.
+   *
+   * @param params los parámetros
+   * @param key    el nombre
+   * @param value  el valor por omisión
+   * @return el valor
+   */
+  private static String param(Diccionario<String, String> params, String key, String value) {
+    return params.contiene(key) ? params.get(key) : value;
+  }
+
+  /**
+   * Regresa un parámetro obligatorio.
+   *
+   * @param params los parámetros
+   * @param key    el nombre
+   * @return el valor
+   * @throws IllegalArgumentException si el parámetro no está
+   */
+  private static String required(Diccionario<String, String> params, String key) {
+    if (!params.contiene(key)) throw new IllegalArgumentException("Falta el parámetro " + key + ".");
+    return params.get(key);
+  }
+
+  /**
+   * ¿Está prendido un parámetro? Lo está si aparece sin valor, o con valor
+   * <code>1</code> o <code>true</code>.
+   *
+   * @param params los parámetros
+   * @param key    el nombre
+   * @return true si está prendido, false de lo contrario
+   */
+  private static boolean flag(Diccionario<String, String> params, String key) {
+    String value = param(params, key, "0");
+    return value.isEmpty() || value.equals("1") || value.equals("true");
+  }
+
+  /**
+   * Regresa una fábrica de hilos virtuales si el entorno los tiene, o de hilos de
+   * plataforma si no.
+   *
+   * @return la fábrica de hilos
+   */
+  private static ThreadFactory threadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      return (ThreadFactory) factory.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      return Executors.defaultThreadFactory();
+    }
+  }
+
+  /** Clase con los contadores de latencia de una ruta. */
+  private static class Counter {
+    /** La ruta. */
+    private final String path;
+    /** Peticiones atendidas con éxito. */
+    private final LongAdder ok = new LongAdder();
+    /** Peticiones con error. */
+    private final LongAdder failed = new LongAdder();
+    /** Peticiones rechazadas porque la cola estaba llena. */
+    private final LongAdder rejected = new LongAdder();
+    /** Suma de las latencias en nanosegundos. */
+    private final LongAdder total = new LongAdder();
+    /** Máxima latencia en nanosegundos. */
+    private final AtomicLong max = new AtomicLong();
+    /** Peticiones en curso. */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * Constructor que recibe la ruta.
+     *
+     * @param path la ruta
+     */
+    private Counter(String path) {
+      this.path = path;
+    }
+
+    /**
+     * Registra una petición atendida.
+     *
+     * @param nanos la latencia, desde que se recibió hasta que se respondió
+     * @param ok    ¿Se respondió con éxito?
+     */
+    private void record(long nanos, boolean ok) {
+      (ok ? this.ok : failed).increment();
+      total.add(nanos);
+      max.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override public String toString() {
+      long ok = this.ok.sum(), failed = this.failed.sum();
+      long n = ok + failed;
+      return String.format("%s: %d ok, %d con error, %d rechazadas, %d en curso, " +
+          "latencia promedio %.2f ms, máxima %.2f ms", path, ok, failed, rejected.sum(),
+          active.get(), n == 0 ? 0.0 : total.sum() / 1e6 / n, max.get() / 1e6);
+    }
+  }
+
+  /** Flujo que lanza una excepción si se leen más bytes de los permitidos. */
+  private static class LimitedInputStream extends InputStream {
+    /** El flujo original. */
+    private final InputStream in;
+    /** Bytes que todavía se pueden leer. */
+    private long remaining;
+
+    /**
+     * Constructor que recibe el flujo y el límite.
+     *
+     * @param in    el flujo original
+     * @param limit máximo número de bytes
+     */
+    private LimitedInputStream(InputStream in, long limit) {
+      this.in = in;
+      this.remaining = limit;
+    }
+
+    @Override public int read() throws IOException {
+      int b = in.read();
+      if (b != -1) count(1);
+      return b;
+    }
+
+    @Override public int read(byte[] b, int off, int len) throws IOException {
+      int n = in.read(b, off, len);
+      if (n > 0) count(n);
+      return n;
+    }
+
+    @Override public void close() throws IOException {
+      in.close();
+    }
+
+    /**
+     * Descuenta los bytes leídos.
+     *
+     * @param n número de bytes leídos
+     * @throws IOException si se rebasó el límite
+     */
+    private void count(int n) throws IOException {
+      remaining -= n;
+      if (remaining < 0) throw new IOException("El cuerpo de la petición es demasiado grande.");
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Clase que escribe laberintos en formato .mze, renglón por renglón. Se escribe el formato
+ * original si las dimensiones caben en él y no se pide el extendido; si no, el extendido
+ * descrito en {@link MazeFormat}, calculando el CRC-32 conforme se escribe.
+ * <p>
+ * Se llama una vez a {@link #header}, luego a {@link #write} con las celdas en orden y al
+ * final a {@link #finish}.
+ *
+ * @author Yael Lozano
+ */
+public class MazeWriter {
+  /** El flujo donde se escribe. */
+  private final OutputStream out;
+  /** Número de columnas. */
+  private final long width;
+  /** Número de renglones. */
+  private final long height;
+  /** ¿Se escribe el formato extendido? */
+  private final boolean extended;
+  /** El CRC-32 de lo escrito hasta ahora. */
+  private final CRC32 crc = new CRC32();
+  /** Arreglo para escribir enteros de 32 bits. */
+  private final byte[] word = new byte[4];
+  /** Número de celdas que faltan por escribir. */
+  private long remaining;
+
+  /**
+   * Constructor que recibe el flujo y las dimensiones del laberinto.
+   *
+   * @param out      el flujo donde se escribe
+   * @param width    el número de columnas
+   * @param height   el número de renglones
+   * @param extended ¿Se debe escribir el formato extendido aunque las dimensiones quepan
+   *                 en el original?
+   */
+  public MazeWriter(OutputStream out, long width, long height, boolean extended) {
+    this.out = out;
+    this.width = width;
+    this.height = height;
+    this.extended = extended || !MazeFormat.fitsLegacy(width, height);
+    remaining = width * height;
+  }
+
+  /**
+   * ¿Se escribe el formato extendido?
+   *
+   * @return true si se escribe el formato extendido, false si el original
+   */
+  public boolean isExtended() {
+    return extended;
+  }
+
+  /**
+   * Escribe el encabezado. En el formato extendido se incluyen el inicio y el final si se
+   * reciben; en el original se ignoran.
+   *
+   * @param startX columna del inicio, -1 si no se incluyen los extremos
+   * @param startY renglón del inicio
+   * @param endX   columna del final
+   * @param endY   renglón del final
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void header(long startX, long startY, long endX, long endY) throws IOException {
+    emit(MazeFormat.MAGIC, 0, MazeFormat.MAGIC.length);
+    if (!extended) {
+      emit((int) height);
+      emit((int) width);
+      return;
+    }
+    boolean extremes = startX != -1;
+    emit(0);
+    emit(MazeFormat.VERSION);
+    emit(extremes ? MazeFormat.EXTREMES : 0);
+    emit(0);
+    emitInt(height);
+    emitInt(width);
+    if (extremes) {
+      emitInt(startX);
+      emitInt(startY);
+      emitInt(endX);
+      emitInt(endY);
+    }
+  }
+
+  /**
+   * Escribe las siguientes celdas del laberinto.
+   *
+   * @param cells arreglo con las celdas
+   * @param off   índice de la primera celda a escribir
+   * @param len   número de celdas a escribir
+   * @throws IOException si no se puede escribir en el flujo
+   * @throws IllegalStateException si se escriben más celdas de las del laberinto
+   */
+  public void write(byte[] cells, int off, int len) throws IOException {
+    if (len > remaining) throw new IllegalStateException("Se escribieron más celdas de las del laberinto.");
+    remaining -= len;
+    emit(cells, off, len);
+  }
+
+  /**
+   * Termina el archivo: en el formato extendido escribe el CRC-32. No cierra el flujo.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   * @throws IllegalStateException si faltan celdas por escribir
+   */
+  public void finish() throws IOException {
+    if (remaining != 0) throw new IllegalStateException("Faltan celdas por escribir.");
+    if (extended) emitInt(crc.getValue());
+    out.flush();
+  }
+
+  private void emit(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+    if (extended) crc.update(b, off, len);
+  }
+
+  private void emit(int b) throws IOException {
+    out.write(b);
+    if (extended) crc.update(b);
+  }
+
+  private void emitInt(long v) throws IOException {
+    word[0] = (byte) (v >>> 24);
+    word[1] = (byte) (v >>> 16);
+    word[2] = (byte) (v >>> 8);
+    word[3] = (byte) v;
+    out.write(word);
+    if (extended) crc.update(word, 0, 4);
+  }
+}
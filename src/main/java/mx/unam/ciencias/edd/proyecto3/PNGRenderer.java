@@ -0,0 +1,273 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Vector;
+import javax.imageio.ImageIO;
+
+/**
+ * Clase que dibuja un laberinto y su solución en PNG con {@link ImageIO}. La imagen es de
+ * colores indexados con 2 bits por pixel: blanco el fondo, negro las paredes, morado la
+ * solución y rosa los extremos, como en el SVG.
+ * <p>
+ * La imagen nunca está completa en memoria: es un {@link RenderedImage} con un mosaico
+ * por cada renglón del laberinto, y los pixeles de cada región se calculan cuando el
+ * escritor de PNG la pide, que es de una línea a la vez. Aparte de la cuadrícula sólo se
+ * guarda un byte por celda con las direcciones de la solución.
+ *
+ * @author Yael Lozano
+ */
+public class PNGRenderer implements RenderedImage {
+  /** Mínimo tamaño de celda en pixeles. */
+  public static final int MIN_CELL = 2;
+
+  /** Índice del blanco en la paleta. */
+  private static final int WHITE = 0;
+  /** Índice del negro en la paleta. */
+  private static final int BLACK = 1;
+  /** Índice del morado en la paleta. */
+  private static final int PURPLE = 2;
+  /** Índice del rosa en la paleta. */
+  private static final int PINK = 3;
+  /** La paleta. */
+  private static final IndexColorModel PALETTE = new IndexColorModel(2, 4,
+      new byte[] { (byte) 255, 0, (byte) 128, (byte) 255 },
+      new byte[] { (byte) 255, 0, 0, (byte) 192 },
+      new byte[] { (byte) 255, 0, (byte) 128, (byte) 203 });
+
+  /** La cuadrícula del laberinto. */
+  private final Grid grid;
+  /** Las direcciones de la solución en cada celda, con los bits de las paredes. */
+  private final byte[] path;
+  /** Tamaño de una celda en pixeles, incluyendo una pared. */
+  private final int cell;
+  /** Grosor de las paredes. */
+  private final int wall;
+  /** Distancia del borde de la celda al centro. */
+  private final int middle;
+  /** Medio grosor de la solución. */
+  private final int half;
+  /** Radio de los círculos de los extremos. */
+  private final int radius;
+  /** Ancho de la imagen. */
+  private final int width;
+  /** Alto de la imagen. */
+  private final int height;
+
+  /**
+   * Constructor que recibe la cuadrícula, la solución y el tamaño de celda.
+   *
+   * @param grid     la cuadrícula del laberinto
+   * @param solution arreglo de índices de celdas con la solución, o null si no se dibuja
+   * @param cell     tamaño de cada celda en pixeles
+   * @throws IllegalArgumentException si el tamaño de celda es menor a {@link #MIN_CELL} o
+   *                                  la imagen no cabe en las dimensiones de un PNG
+   */
+  public PNGRenderer(Grid grid, int[] solution, int cell) {
+    if (cell < MIN_CELL) throw new IllegalArgumentException("El tamaño de celda es inválido: " + cell);
+    this.grid = grid;
+    this.cell = cell;
+    wall = Math.max(1, cell / 8);
+    middle = (cell + wall) / 2;
+    half = cell / 10;
+    radius = Math.max(1, (cell - wall) / 4);
+    long w = (long) grid.getWidth() * cell + wall;
+    long h = (long) grid.getHeight() * cell + wall;
+    if (w > Integer.MAX_VALUE || h > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("La imagen es demasiado grande: " + w + "x" + h + ".");
+    width = (int) w;
+    height = (int) h;
+    path = new byte[grid.size()];
+    if (solution != null)
+      for (int i = 1; i < solution.length; i++) {
+        int gate = grid.gate(solution[i - 1], solution[i]);
+        path[solution[i - 1]] |= gate;
+        path[solution[i]] |= Grid.opposite(gate);
+      }
+  }
+
+  /**
+   * Escribe la imagen en PNG. No cierra el flujo.
+   *
+   * @param out el flujo donde se escribe
+   * @throws IOException si no se puede escribir en el flujo o no hay escritor de PNG
+   */
+  public void write(OutputStream out) throws IOException {
+    if (!ImageIO.write(this, "png", out)) throw new IOException("No hay un escritor de PNG disponible.");
+    out.flush();
+  }
+
+  /**
+   * Regresa el color de un pixel.
+   *
+   * @param px coordenada en x
+   * @param py coordenada en y
+   * @return el índice del color en la paleta
+   */
+  private int pixel(int px, int py) {
+    if (px >= width || py >= height) return WHITE;
+    int cx = px / cell, ox = px % cell;
+    int cy = py / cell, oy = py % cell;
+    boolean lineX = ox < wall, lineY = oy < wall;
+    if (lineX && lineY) return corner(cx, cy) ? BLACK : WHITE;
+    if (lineX) {
+      if (grid.verticalWall(cx, cy)) return BLACK;
+      boolean crossed = cx > 0 && cx < grid.getWidth() && (path[grid.index(cx - 1, cy)] & Grid.RIGHT) != 0;
+      return crossed && Math.abs(oy - middle) <= half ? PURPLE : WHITE;
+    }
+    if (lineY) {
+      if (grid.horizontalWall(cx, cy)) return BLACK;
+      boolean crossed = cy > 0 && cy < grid.getHeight() && (path[grid.index(cx, cy - 1)] & Grid.DOWN) != 0;
+      return crossed && Math.abs(ox - middle) <= half ? PURPLE : WHITE;
+    }
+    int c = grid.index(cx, cy);
+    int dx = ox - middle, dy = oy - middle;
+    if (grid.isFar(c) && dx * dx + dy * dy <= radius * radius) return PINK;
+    int dirs = path[c];
+    if (dirs == 0) return WHITE;
+    boolean row = Math.abs(dy) <= half, column = Math.abs(dx) <= half;
+    if (row && column) return PURPLE;
+    if (row && (dx > 0 ? (dirs & Grid.RIGHT) != 0 : (dirs & Grid.LEFT) != 0)) return PURPLE;
+    if (column && (dy > 0 ? (dirs & Grid.DOWN) != 0 : (dirs & Grid.UP) != 0)) return PURPLE;
+    return WHITE;
+  }
+
+  /**
+   * ¿Llega alguna pared a la esquina de la recta vertical <code>k</code> con la
+   * horizontal <code>j</code>?
+   *
+   * @param k la recta vertical, de 0 al ancho
+   * @param j la recta horizontal, de 0 al alto
+   * @return true si llega alguna pared, false de lo contrario
+   */
+  private boolean corner(int k, int j) {
+    return (k > 0 && grid.horizontalWall(k - 1, j)) ||
+        (k < grid.getWidth() && grid.horizontalWall(k, j)) ||
+        (j > 0 && grid.verticalWall(k, j - 1)) ||
+        (j < grid.getHeight() && grid.verticalWall(k, j));
+  }
+
+  @Override public Raster getData(Rectangle rect) {
+    WritableRaster raster = Raster.createPackedRaster(DataBuffer.TYPE_BYTE,
+        rect.width, rect.height, 1, 2, new Point(rect.x, rect.y));
+    copy(raster);
+    return raster;
+  }
+
+  /**
+   * Calcula los pixeles de la región del raster, que debe ser de 2 bits por pixel
+   * empacados en bytes.
+   *
+   * @param raster el raster donde se escriben
+   */
+  private void copy(WritableRaster raster) {
+    byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+    int w = raster.getWidth();
+    int stride = (w * 2 + 7) / 8;
+    for (int y = 0; y < raster.getHeight(); y++) {
+      int row = y * stride;
+      for (int x = 0; x < w; x++) {
+        int v = pixel(raster.getMinX() + x, raster.getMinY() + y);
+        if (v != 0) data[row + (x >> 2)] |= v << (6 - 2 * (x & 3));
+      }
+    }
+  }
+
+  @Override public WritableRaster copyData(WritableRaster raster) {
+    if (raster == null) raster = (WritableRaster) getData();
+    else {
+      Rectangle r = raster.getBounds().intersection(new Rectangle(width, height));
+      Raster data = getData(r);
+      raster.setRect(data);
+    }
+    return raster;
+  }
+
+  @Override public Raster getData() {
+    return getData(new Rectangle(width, height));
+  }
+
+  @Override public Raster getTile(int tileX, int tileY) {
+    return getData(new Rectangle(0, tileY * cell, width, cell));
+  }
+
+  @Override public SampleModel getSampleModel() {
+    return new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, width, cell, 2);
+  }
+
+  @Override public ColorModel getColorModel() {
+    return PALETTE;
+  }
+
+  @Override public Vector<RenderedImage> getSources() {
+    return null;
+  }
+
+  @Override public Object getProperty(String name) {
+    return Image.UndefinedProperty;
+  }
+
+  @Override public String[] getPropertyNames() {
+    return null;
+  }
+
+  @Override public int getWidth() {
+    return width;
+  }
+
+  @Override public int getHeight() {
+    return height;
+  }
+
+  @Override public int getMinX() {
+    return 0;
+  }
+
+  @Override public int getMinY() {
+    return 0;
+  }
+
+  @Override public int getNumXTiles() {
+    return 1;
+  }
+
+  @Override public int getNumYTiles() {
+    return (height + cell - 1) / cell;
+  }
+
+  @Override public int getMinTileX() {
+    return 0;
+  }
+
+  @Override public int getMinTileY() {
+    return 0;
+  }
+
+  @Override public int getTileWidth() {
+    return width;
+  }
+
+  @Override public int getTileHeight() {
+    return cell;
+  }
+
+  @Override public int getTileGridXOffset() {
+    return 0;
+  }
+
+  @Override public int getTileGridYOffset() {
+    return 0;
+  }
+}
@@ -0,0 +1,196 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Clase que escribe elementos SVG directamente en un flujo, con los mismos elementos que
+ * {@link GrapherSVG} pero sin construir cadenas: cada elemento se escribe como bytes en un
+ * buffer de tamaño fijo que se vacía al flujo cuando se llena, y los enteros se formatean a
+ * mano en lugar de con {@link String#format}. La memoria no depende del tamaño del dibujo.
+ * <p>
+ * Todo el texto que se escribe debe ser ASCII.
+ *
+ * @author Yael Lozano
+ */
+public class SVGWriter {
+  /** Tamaño del buffer. */
+  private static final int SIZE = 1 << 16;
+
+  /** El flujo donde se escribe. */
+  private final OutputStream out;
+  /** El buffer. */
+  private final byte[] buffer = new byte[SIZE];
+  /** Número de bytes en el buffer. */
+  private int size;
+  /** Arreglo auxiliar para los dígitos de un entero. */
+  private final byte[] digits = new byte[11];
+
+  /**
+   * Constructor que recibe el flujo donde se escribirá.
+   *
+   * @param out el flujo donde se escribe
+   */
+  public SVGWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  /**
+   * Escribe la declaración del archivo SVG y abre el lienzo. Es igual a
+   * {@link GrapherSVG#initSVG}.
+   *
+   * @param w el ancho del lienzo
+   * @param h el alto del lienzo
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void open(int w, int h) throws IOException {
+    write("<?xml version='1.0' encoding='UTF-8' ?>\n" +
+        "<svg xmlns='http://www.w3.org/2000/svg' xmlns:xlink='http://www.w3.org/1999/xlink' width='");
+    write(w);
+    write("' height='");
+    write(h);
+    write("'>\n\t<g>\n");
+  }
+
+  /**
+   * Cierra el lienzo. Es igual a {@link GrapherSVG#closeSVG}, y no cierra el flujo.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void end() throws IOException {
+    write("\t</g>\n</svg>");
+  }
+
+  /**
+   * Escribe una linea. Es igual a {@link GrapherSVG#drawLine}.
+   *
+   * @param x1    coordenada en x del primer punto
+   * @param y1    coordenada en y del primer punto
+   * @param x2    coordenada en x del segundo punto
+   * @param y2    coordenada en y del segundo punto
+   * @param color color de la linea
+   * @param s     grosor de la linea
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void line(int x1, int y1, int x2, int y2, String color, int s) throws IOException {
+    write("\t\t<line x1='");
+    write(x1);
+    write("' y1='");
+    write(y1);
+    write("' x2='");
+    write(x2);
+    write("' y2='");
+    write(y2);
+    write("' stroke='");
+    write(color);
+    write("' stroke-width='");
+    write(s);
+    write("'/>\n");
+  }
+
+  /**
+   * Escribe un círculo. Es igual a {@link GrapherSVG#drawCircle}.
+   *
+   * @param x      coordenada para el centro en x
+   * @param y      coordenada para el centro en y
+   * @param r      radio del circulo
+   * @param stroke color del borde del circulo
+   * @param fill   color del relleno del circulo
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void circle(int x, int y, int r, String stroke, String fill) throws IOException {
+    write("\t\t<circle cx='");
+    write(x);
+    write("' cy='");
+    write(y);
+    write("' r='");
+    write(r);
+    write("' stroke='");
+    write(stroke);
+    write("' stroke-width='3' fill='");
+    write(fill);
+    write("'/>\n");
+  }
+
+  /**
+   * Escribe las paredes de una celda. Es igual a {@link GrapherSVG#drawCell}.
+   *
+   * @param x coordenada para el centro en x
+   * @param y coordenada para el centro en y
+   * @param d ¿Hay pared abajo?
+   * @param l ¿Hay pared izquierda?
+   * @param u ¿Hay pared arriba?
+   * @param r ¿Hay pared derecha?
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void cell(int x, int y, boolean d, boolean l, boolean u, boolean r) throws IOException {
+    if (d) line(x - 10, y + 10, x + 10, y + 10, "black", 3);
+    if (l) line(x - 10, y - 10, x - 10, y + 10, "black", 3);
+    if (u) line(x - 10, y - 10, x + 10, y - 10, "black", 3);
+    if (r) line(x + 10, y - 10, x + 10, y + 10, "black", 3);
+  }
+
+  /**
+   * Escribe texto ASCII tal cual.
+   *
+   * @param s el texto
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void write(String s) throws IOException {
+    int n = s.length();
+    if (size + n > SIZE) {
+      flushBuffer();
+      if (n > SIZE) {
+        for (int i = 0; i < n; i++) out.write(s.charAt(i));
+        return;
+      }
+    }
+    for (int i = 0; i < n; i++) buffer[size++] = (byte) s.charAt(i);
+  }
+
+  /**
+   * Escribe un entero en decimal.
+   *
+   * @param n el entero
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void write(int n) throws IOException {
+    if (size + digits.length > SIZE) flushBuffer();
+    if (n == Integer.MIN_VALUE) {
+      write(Integer.toString(n));
+      return;
+    }
+    if (n < 0) {
+      buffer[size++] = '-';
+      n = -n;
+    }
+    int i = digits.length;
+    do {
+      digits[--i] = (byte) ('0' + n % 10);
+      n /= 10;
+    } while (n != 0);
+    int len = digits.length - i;
+    System.arraycopy(digits, i, buffer, size, len);
+    size += len;
+  }
+
+  /**
+   * Vacía el buffer y el flujo.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  public void flush() throws IOException {
+    flushBuffer();
+    out.flush();
+  }
+
+  /**
+   * Vacía el buffer al flujo.
+   *
+   * @throws IOException si no se puede escribir en el flujo
+   */
+  private void flushBuffer() throws IOException {
+    out.write(buffer, 0, size);
+    size = 0;
+  }
+}
@@ -0,0 +1,175 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Clase que registra las estadísticas de resolver un laberinto: el tiempo de cada etapa y
+ * los contadores de la búsqueda. Las etapas se acumulan, así que una etapa que se repite
+ * suma sus tiempos. Se reportan como texto o como un objeto JSON, con los tiempos en
+ * milisegundos.
+ *
+ * @author Yael Lozano
+ */
+public class Stats {
+  /** Las etapas de resolver un laberinto. */
+  public enum Stage {
+    /** Lectura y verificación del archivo .mze. */
+    LECTURA,
+    /** Construcción del laberinto a partir de la cuadrícula. */
+    CONSTRUCCION,
+    /** Construcción de la gráfica con las celdas como vértices. */
+    GRAFICA,
+    /** Conexión de las celdas que comparten una puerta. */
+    CONEXION,
+    /** Búsqueda de la trayectoria mínima. */
+    SOLUCION,
+    /** Dibujo y escritura de la salida, sin la solución. */
+    DIBUJO
+  }
+
+  /** Nanosegundos de cada etapa, indexados por su ordinal. */
+  private final long[] nanos = new long[Stage.values().length];
+  /** Número de vértices de la gráfica, o de celdas si se resolvió sobre la cuadrícula. */
+  public long vertices;
+  /** Número de aristas de la gráfica, o de puertas si se resolvió sobre la cuadrícula. */
+  public long edges;
+  /** Operaciones de montículo de la búsqueda. */
+  public long heapOperations;
+  /** Relajaciones de la búsqueda. */
+  public long relaxations;
+  /** Número de celdas de la solución. */
+  public long pathLength;
+  /** Costo de la solución. */
+  public long cost;
+  /** Bytes escritos en la salida. */
+  public long bytes;
+
+  /**
+   * Suma tiempo a una etapa.
+   *
+   * @param stage la etapa
+   * @param nanos los nanosegundos
+   */
+  public void add(Stage stage, long nanos) {
+    this.nanos[stage.ordinal()] += nanos;
+  }
+
+  /**
+   * Regresa el tiempo acumulado de una etapa.
+   *
+   * @param stage la etapa
+   * @return los nanosegundos
+   */
+  public long get(Stage stage) {
+    return nanos[stage.ordinal()];
+  }
+
+  /**
+   * Regresa un flujo que cuenta en {@link #bytes} lo que se escribe en el flujo recibido.
+   *
+   * @param out el flujo donde se escribe
+   * @return el flujo que cuenta los bytes
+   */
+  public OutputStream count(OutputStream out) {
+    return new FilterOutputStream(out) {
+      @Override public void write(int b) throws IOException {
+        out.write(b);
+        bytes++;
+      }
+
+      @Override public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        bytes += len;
+      }
+    };
+  }
+
+  /**
+   * Escribe las estadísticas como un objeto JSON en un archivo.
+   *
+   * @param file el archivo
+   * @throws IOException si no se puede escribir el archivo
+   */
+  public void writeJSON(Path file) throws IOException {
+    Files.write(file, (toJSON() + "\n").getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Regresa las estadísticas como un objeto JSON.
+   *
+   * @return el objeto JSON
+   */
+  public String toJSON() {
+    StringBuilder sb = new StringBuilder("{\"tiempos\":{");
+    for (Stage stage : Stage.values()) {
+      if (stage.ordinal() > 0) sb.append(',');
+      sb.append(String.format(Locale.ROOT, "\"%s\":%.3f", name(stage), ms(get(stage))));
+    }
+    sb.append(String.format(Locale.ROOT, ",\"total\":%.3f}", ms(total())));
+    sb.append(",\"vertices\":").append(vertices);
+    sb.append(",\"aristas\":").append(edges);
+    sb.append(",\"operacionesMonticulo\":").append(heapOperations);
+    sb.append(",\"relajaciones\":").append(relaxations);
+    sb.append(",\"longitudTrayectoria\":").append(pathLength);
+    sb.append(",\"costo\":").append(cost);
+    sb.append(",\"bytes\":").append(bytes);
+    return sb.append('}').toString();
+  }
+
+  /**
+   * Regresa las estadísticas como texto, una etapa o contador por línea.
+   *
+   * @return el texto
+   */
+  @Override public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (Stage stage : Stage.values())
+      sb.append(String.format("%-22s %10.3f ms%n", name(stage), ms(get(stage))));
+    sb.append(String.format("%-22s %10.3f ms%n", "total", ms(total())));
+    sb.append(String.format("%-22s %10d%n", "vertices", vertices));
+    sb.append(String.format("%-22s %10d%n", "aristas", edges));
+    sb.append(String.format("%-22s %10d%n", "operaciones monticulo", heapOperations));
+    sb.append(String.format("%-22s %10d%n", "relajaciones", relaxations));
+    sb.append(String.format("%-22s %10d%n", "longitud trayectoria", pathLength));
+    sb.append(String.format("%-22s %10d%n", "costo", cost));
+    sb.append(String.format("%-22s %10d%n", "bytes", bytes));
+    return sb.toString();
+  }
+
+  /**
+   * Regresa la suma de los tiempos de todas las etapas.
+   *
+   * @return los nanosegundos
+   */
+  private long total() {
+    long total = 0;
+    for (long n : nanos) total += n;
+    return total;
+  }
+
+  /**
+   * Regresa el nombre de una etapa en minúsculas.
+   *
+   * @param stage la etapa
+   * @return el nombre
+   */
+  private static String name(Stage stage) {
+    return stage.name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Convierte nanosegundos a milisegundos.
+   *
+   * @param nanos los nanosegundos
+   * @return los milisegundos
+   */
+  private static double ms(long nanos) {
+    return nanos / 1e6;
+  }
+}
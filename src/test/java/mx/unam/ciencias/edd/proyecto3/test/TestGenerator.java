@@ -0,0 +1,153 @@
+package mx.unam.ciencias.edd.proyecto3.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.EllerGenerator;
+import mx.unam.ciencias.edd.proyecto3.Generator;
+import mx.unam.ciencias.edd.proyecto3.Grid;
+import mx.unam.ciencias.edd.proyecto3.Maze;
+import mx.unam.ciencias.edd.proyecto3.MazeReader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de los algoritmos de {@link Generator}: todos deben generar
+ * laberintos perfectos, es decir, árboles generadores de la cuadrícula.
+ *
+ * @author Yael Lozano
+ */
+public class TestGenerator {
+
+  /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(10);
+
+  /** Generador de números aleatorios. */
+  private Random random = new Random();
+
+  /**
+   * Genera un laberinto y regresa el archivo .mze extendido. Eller escribe el archivo
+   * renglón por renglón con {@link EllerGenerator}; los demás se generan con {@link Maze}.
+   *
+   * @param generator el algoritmo
+   * @param w         el número de columnas
+   * @param h         el número de renglones
+   * @param seed      la semilla
+   * @return los bytes del archivo
+   * @throws IOException si no se puede escribir el laberinto
+   */
+  private static byte[] generate(Generator generator, int w, int h, long seed) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (generator == Generator.ELLER) {
+      new EllerGenerator(w, h, seed).write(out, true);
+      return out.toByteArray();
+    }
+    Maze maze = new Maze();
+    maze.generator = generator;
+    maze.extended = true;
+    maze.build(w, h, seed);
+    maze.saveMaze(out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Lee un archivo .mze y verifica que sea un laberinto perfecto: las celdas vecinas están de
+   * acuerdo en la pared que comparten, hay exactamente una puerta menos que celdas, todas las
+   * celdas se alcanzan desde la primera y sólo el inicio y el final tienen puerta hacia afuera.
+   *
+   * @param file los bytes del archivo
+   * @param w    el número de columnas esperado
+   * @param h    el número de renglones esperado
+   * @throws IOException si el archivo es inválido
+   */
+  private static void verifyPerfect(byte[] file, int w, int h) throws IOException {
+    MazeReader reader = new MazeReader();
+    reader.read(new ByteArrayInputStream(file));
+    Grid grid = reader.getGrid();
+    Assert.assertEquals(w, grid.getWidth());
+    Assert.assertEquals(h, grid.getHeight());
+    long passages = 0;
+    int fars = 0;
+    for (int c = 0; c < grid.size(); c++) {
+      for (int gate : new int[] { Grid.RIGHT, Grid.DOWN }) {
+        int n = grid.neighbour(c, gate);
+        if (n == -1) continue;
+        Assert.assertEquals(grid.wall(c, gate), grid.wall(n, Grid.opposite(gate)));
+        if (!grid.wall(c, gate)) passages++;
+      }
+      if (grid.isFar(c)) fars++;
+    }
+    Assert.assertEquals(grid.size() - 1, passages);
+    Assert.assertEquals(2, fars);
+    Assert.assertNotEquals(reader.getStart(), reader.getEnd());
+    Assert.assertTrue(grid.isFar(reader.getStart()));
+    Assert.assertTrue(grid.isFar(reader.getEnd()));
+    boolean[] visited = new boolean[grid.size()];
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    visited[0] = true;
+    queue.add(0);
+    int reached = 1;
+    while (!queue.isEmpty()) {
+      int c = queue.remove();
+      for (int gate : new int[] { Grid.DOWN, Grid.LEFT, Grid.UP, Grid.RIGHT }) {
+        int n = grid.passage(c, gate);
+        if (n != -1 && !visited[n]) {
+          visited[n] = true;
+          reached++;
+          queue.add(n);
+        }
+      }
+    }
+    Assert.assertEquals(grid.size(), reached);
+  }
+
+  /**
+   * Verifica que un algoritmo genere laberintos perfectos de distintos tamaños y que la misma
+   * semilla genere el mismo laberinto.
+   *
+   * @param generator el algoritmo
+   * @throws IOException si el laberinto es inválido
+   */
+  private void verify(Generator generator) throws IOException {
+    int[][] sizes = { { 2, 2 }, { 2, 50 }, { 50, 2 }, { 2 + random.nextInt(60), 2 + random.nextInt(60) } };
+    for (int[] size : sizes)
+      for (int k = 0; k < 5; k++) {
+        long seed = 1 + random.nextInt(Integer.MAX_VALUE);
+        byte[] file = generate(generator, size[0], size[1], seed);
+        verifyPerfect(file, size[0], size[1]);
+        Assert.assertTrue(Arrays.equals(file, generate(generator, size[0], size[1], seed)));
+      }
+  }
+
+  /**
+   * Prueba que DFS genere laberintos perfectos.
+   *
+   * @throws IOException si el laberinto es inválido
+   */
+  @Test public void testProfundidad() throws IOException {
+    verify(Generator.PROFUNDIDAD);
+  }
+
+  /**
+   * Prueba que Kruskal genere laberintos perfectos.
+   *
+   * @throws IOException si el laberinto es inválido
+   */
+  @Test public void testKruskal() throws IOException {
+    verify(Generator.KRUSKAL);
+  }
+
+  /**
+   * Prueba que Eller genere laberintos perfectos, aunque sólo tenga un renglón en memoria.
+   *
+   * @throws IOException si el laberinto es inválido
+   */
+  @Test public void testEller() throws IOException {
+    verify(Generator.ELLER);
+  }
+}
@@ -0,0 +1,197 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArrayLista;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.IteradorLista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArrayLista}.
+ */
+public class TestArrayLista {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de operaciones. */
+  private int total;
+  /* La lista. */
+  private ArrayLista<Integer> lista;
+
+  /**
+   * Crea un generador de números aleatorios y una lista para cada prueba.
+   */
+  public TestArrayLista() {
+    random = new Random();
+    total = 1000 + random.nextInt(1000);
+    lista = new ArrayLista<Integer>(random.nextInt(4));
+  }
+
+  /* Verifica que la lista tenga los mismos elementos que la de referencia. */
+  private void verifica(ArrayList<Integer> referencia) {
+    Assert.assertEquals(referencia.size(), lista.getLongitud());
+    Assert.assertEquals(referencia.size(), lista.getElementos());
+    Assert.assertEquals(referencia.isEmpty(), lista.esVacia());
+    for (int i = 0; i < referencia.size(); i++)
+      Assert.assertEquals(referencia.get(i), lista.get(i));
+    Iterator<Integer> iterador = lista.iterator();
+    for (Integer e : referencia)
+      Assert.assertEquals(e, iterador.next());
+    Assert.assertFalse(iterador.hasNext());
+    Assert.assertEquals(referencia.toString(), lista.toString());
+  }
+
+  /**
+   * Prueba la lista contra {@link ArrayList} con operaciones aleatorias.
+   */
+  @Test public void testAleatorio() {
+    ArrayList<Integer> referencia = new ArrayList<Integer>();
+    for (int k = 0; k < total; k++) {
+      int n = referencia.size();
+      Integer e = random.nextInt(total / 4);
+      switch (random.nextInt(8)) {
+        case 0:
+        case 1:
+          lista.agrega(e);
+          referencia.add(e);
+          break;
+        case 2:
+          lista.agregaFinal(e);
+          referencia.add(e);
+          break;
+        case 3:
+          int i = random.nextInt(n + 5) - 2;
+          lista.inserta(i, e);
+          referencia.add(Math.max(0, Math.min(i, n)), e);
+          break;
+        case 4:
+          Assert.assertEquals(referencia.indexOf(e), lista.indiceDe(e));
+          Assert.assertEquals(referencia.contains(e), lista.contiene(e));
+          lista.elimina(e);
+          referencia.remove(e);
+          break;
+        case 5:
+          if (n == 0) break;
+          int j = random.nextInt(n);
+          Assert.assertEquals(referencia.remove(j), lista.eliminaIndice(j));
+          break;
+        case 6:
+          if (n == 0) break;
+          Assert.assertEquals(referencia.remove(n - 1), lista.eliminaUltimo());
+          break;
+        default:
+          if (n == 0) break;
+          int m = random.nextInt(n);
+          lista.set(m, e);
+          referencia.set(m, e);
+      }
+      if (!referencia.isEmpty()) {
+        Assert.assertEquals(referencia.get(0), lista.getPrimero());
+        Assert.assertEquals(referencia.get(referencia.size() - 1), lista.getUltimo());
+      }
+      if (k % 50 == 0) verifica(referencia);
+    }
+    verifica(referencia);
+    lista.limpia();
+    referencia.clear();
+    verifica(referencia);
+    for (int k = 0; k < total; k++) {
+      lista.agrega(k);
+      referencia.add(k);
+    }
+    verifica(referencia);
+  }
+
+  /**
+   * Prueba el iterador de lista en ambas direcciones.
+   */
+  @Test public void testIteradorLista() {
+    for (int i = 0; i < total; i++)
+      lista.agrega(i);
+    IteradorLista<Integer> iterador = lista.iteradorLista();
+    Assert.assertFalse(iterador.hasPrevious());
+    for (int i = 0; i < total; i++)
+      Assert.assertEquals(Integer.valueOf(i), iterador.next());
+    Assert.assertFalse(iterador.hasNext());
+    for (int i = total - 1; i >= 0; i--)
+      Assert.assertEquals(Integer.valueOf(i), iterador.previous());
+    Assert.assertFalse(iterador.hasPrevious());
+    iterador.end();
+    Assert.assertEquals(Integer.valueOf(total - 1), iterador.previous());
+    iterador.start();
+    Assert.assertEquals(Integer.valueOf(0), iterador.next());
+    iterador.end();
+    try {
+      iterador.next();
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+  }
+
+  /**
+   * Prueba {@link ArrayLista#equals}.
+   */
+  @Test public void testEquals() {
+    ArrayLista<Integer> otra = new ArrayLista<Integer>();
+    Assert.assertTrue(lista.equals(otra));
+    for (int i = 0; i < total; i++) {
+      lista.agrega(i);
+      otra.agrega(i);
+    }
+    Assert.assertTrue(lista.equals(otra));
+    otra.set(random.nextInt(total), -1);
+    Assert.assertFalse(lista.equals(otra));
+    otra.eliminaUltimo();
+    Assert.assertFalse(lista.equals(otra));
+    Assert.assertFalse(lista.equals(null));
+  }
+
+  /**
+   * Prueba que los índices inválidos, los elementos nulos y las listas vacías
+   * se rechacen.
+   */
+  @Test public void testExcepciones() {
+    try {
+      new ArrayLista<Integer>(-1);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      lista.agrega(null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      lista.inserta(0, null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      lista.eliminaUltimo();
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    try {
+      lista.getPrimero();
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    lista.agrega(1);
+    try {
+      lista.get(1);
+      Assert.fail();
+    } catch (ExcepcionIndiceInvalido eii) {}
+    try {
+      lista.eliminaIndice(-1);
+      Assert.fail();
+    } catch (ExcepcionIndiceInvalido eii) {}
+    try {
+      lista.set(0, null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    Assert.assertEquals(Integer.valueOf(1), lista.get(0));
+  }
+}
@@ -0,0 +1,123 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntoBits;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoBits}.
+ */
+public class TestConjuntoBits {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de operaciones. */
+  private int total;
+  /* El conjunto. */
+  private ConjuntoBits conjunto;
+
+  /**
+   * Crea un generador de números aleatorios y un conjunto para cada prueba.
+   */
+  public TestConjuntoBits() {
+    random = new Random();
+    total = 2000 + random.nextInt(2000);
+    conjunto = new ConjuntoBits(random.nextInt(total));
+  }
+
+  /* Verifica que el conjunto tenga lo mismo que el de referencia, y que se
+   * itere en orden ascendente. */
+  private void verifica(BitSet referencia) {
+    Assert.assertEquals(referencia.cardinality(), conjunto.getElementos());
+    Assert.assertEquals(referencia.isEmpty(), conjunto.esVacia());
+    PrimitiveIterator.OfInt iterador = conjunto.iterator();
+    for (int e = referencia.nextSetBit(0); e != -1; e = referencia.nextSetBit(e + 1)) {
+      Assert.assertTrue(iterador.hasNext());
+      Assert.assertEquals(e, iterador.nextInt());
+    }
+    Assert.assertFalse(iterador.hasNext());
+    for (int k = 0; k < 100; k++) {
+      int desde = random.nextInt(2 * total) - 10;
+      Assert.assertEquals(referencia.nextSetBit(Math.max(desde, 0)), conjunto.siguiente(desde));
+    }
+  }
+
+  /**
+   * Prueba el conjunto contra {@link BitSet} con operaciones aleatorias,
+   * haciéndolo crecer más allá de su capacidad inicial.
+   */
+  @Test public void testAleatorio() {
+    BitSet referencia = new BitSet();
+    for (int i = 0; i < total; i++) {
+      int e = random.nextInt(total);
+      Assert.assertEquals(referencia.get(e), conjunto.contiene(e));
+      Assert.assertEquals(referencia.get(e), conjunto.contiene(Integer.valueOf(e)));
+      if (random.nextInt(3) == 0) {
+        referencia.clear(e);
+        if (random.nextBoolean()) conjunto.elimina(e);
+        else conjunto.elimina(Integer.valueOf(e));
+      } else {
+        referencia.set(e);
+        if (random.nextBoolean()) conjunto.agrega(e);
+        else conjunto.agrega(Integer.valueOf(e));
+      }
+      Assert.assertEquals(referencia.cardinality(), conjunto.getElementos());
+      if (i % 100 == 0) verifica(referencia);
+    }
+    verifica(referencia);
+    Assert.assertFalse(conjunto.contiene(-1));
+    Assert.assertFalse(conjunto.contiene(Integer.MAX_VALUE));
+    conjunto.elimina(-1);
+    conjunto.elimina(Integer.MAX_VALUE);
+    Assert.assertEquals(referencia.cardinality(), conjunto.getElementos());
+  }
+
+  /**
+   * Prueba que los elementos negativos y nulos se rechacen.
+   */
+  @Test public void testExcepciones() {
+    try {
+      new ConjuntoBits(-1);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      conjunto.agrega(-1);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      conjunto.agrega((Integer) null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    Assert.assertFalse(conjunto.contiene((Integer) null));
+    Assert.assertTrue(conjunto.esVacia());
+  }
+
+  /**
+   * Prueba {@link ConjuntoBits#limpia} y {@link ConjuntoBits#equals}, aun
+   * con capacidades distintas.
+   */
+  @Test public void testLimpiaEquals() {
+    ConjuntoBits otro = new ConjuntoBits();
+    for (int i = 0; i < total; i += 1 + random.nextInt(5)) {
+      conjunto.agrega(i);
+      otro.agrega(i);
+    }
+    Assert.assertTrue(conjunto.equals(otro));
+    Assert.assertTrue(otro.equals(conjunto));
+    otro.agrega(total);
+    Assert.assertFalse(conjunto.equals(otro));
+    Assert.assertFalse(conjunto.equals(null));
+    conjunto.limpia();
+    Assert.assertTrue(conjunto.esVacia());
+    Assert.assertEquals(-1, conjunto.siguiente(0));
+    Assert.assertFalse(conjunto.iterator().hasNext());
+  }
+}
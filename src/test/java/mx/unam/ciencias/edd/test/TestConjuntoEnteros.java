@@ -0,0 +1,128 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntoEnteros;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoEnteros}.
+ */
+public class TestConjuntoEnteros {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de operaciones. */
+  private int total;
+  /* El conjunto. */
+  private ConjuntoEnteros conjunto;
+
+  /**
+   * Crea un generador de números aleatorios y un conjunto para cada prueba.
+   */
+  public TestConjuntoEnteros() {
+    random = new Random();
+    total = 2000 + random.nextInt(2000);
+    conjunto = new ConjuntoEnteros();
+  }
+
+  /* Verifica que el conjunto tenga lo mismo que el de referencia. */
+  private void verifica(HashSet<Integer> referencia) {
+    Assert.assertEquals(referencia.size(), conjunto.getElementos());
+    Assert.assertEquals(referencia.isEmpty(), conjunto.esVacia());
+    for (int e : referencia) {
+      Assert.assertTrue(conjunto.contiene(e));
+      Assert.assertTrue(conjunto.contiene(Integer.valueOf(e)));
+    }
+    HashSet<Integer> iterados = new HashSet<Integer>();
+    PrimitiveIterator.OfInt iterador = conjunto.iterator();
+    while (iterador.hasNext())
+      Assert.assertTrue(iterados.add(iterador.nextInt()));
+    Assert.assertEquals(referencia, iterados);
+  }
+
+  /**
+   * Prueba el conjunto contra {@link HashSet} con operaciones aleatorias,
+   * incluyendo al 0, que se guarda aparte.
+   */
+  @Test public void testAleatorio() {
+    HashSet<Integer> referencia = new HashSet<Integer>();
+    int rango = total / 2;
+    for (int i = 0; i < total; i++) {
+      int e = random.nextInt(8) == 0 ? random.nextInt() : random.nextInt(rango) - rango / 2;
+      Assert.assertEquals(referencia.contains(e), conjunto.contiene(e));
+      if (random.nextInt(3) == 0) {
+        referencia.remove(e);
+        if (random.nextBoolean()) conjunto.elimina(e);
+        else conjunto.elimina(Integer.valueOf(e));
+      } else {
+        referencia.add(e);
+        if (random.nextBoolean()) conjunto.agrega(e);
+        else conjunto.agrega(Integer.valueOf(e));
+      }
+      Assert.assertEquals(referencia.size(), conjunto.getElementos());
+      if (i % 100 == 0) verifica(referencia);
+    }
+    verifica(referencia);
+    for (int e : new HashSet<Integer>(referencia)) {
+      conjunto.elimina(e);
+      referencia.remove(e);
+      Assert.assertFalse(conjunto.contiene(e));
+    }
+    verifica(referencia);
+  }
+
+  /**
+   * Prueba el cero, que marca los índices vacíos y se guarda aparte.
+   */
+  @Test public void testCero() {
+    conjunto.agrega(0);
+    conjunto.agrega(0);
+    Assert.assertEquals(1, conjunto.getElementos());
+    Assert.assertTrue(conjunto.contiene(0));
+    Assert.assertEquals(0, conjunto.iterator().nextInt());
+    conjunto.elimina(0);
+    conjunto.elimina(0);
+    Assert.assertTrue(conjunto.esVacia());
+    Assert.assertFalse(conjunto.iterator().hasNext());
+  }
+
+  /**
+   * Prueba que los elementos nulos se rechacen o se ignoren.
+   */
+  @Test public void testNulos() {
+    try {
+      conjunto.agrega((Integer) null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    Assert.assertFalse(conjunto.contiene((Integer) null));
+    conjunto.elimina((Integer) null);
+    Assert.assertTrue(conjunto.esVacia());
+  }
+
+  /**
+   * Prueba {@link ConjuntoEnteros#limpia} y {@link ConjuntoEnteros#equals}.
+   */
+  @Test public void testLimpiaEquals() {
+    ConjuntoEnteros otro = new ConjuntoEnteros(total);
+    for (int i = 0; i < total; i++) {
+      conjunto.agrega(i);
+      otro.agrega(total - 1 - i);
+    }
+    Assert.assertTrue(conjunto.equals(otro));
+    otro.elimina(0);
+    Assert.assertFalse(conjunto.equals(otro));
+    Assert.assertFalse(conjunto.equals(null));
+    conjunto.limpia();
+    Assert.assertTrue(conjunto.esVacia());
+    Assert.assertFalse(conjunto.contiene(0));
+    Assert.assertFalse(conjunto.iterator().hasNext());
+  }
+}
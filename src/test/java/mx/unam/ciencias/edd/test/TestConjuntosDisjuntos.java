@@ -0,0 +1,105 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntosDisjuntos;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntosDisjuntos}.
+ */
+public class TestConjuntosDisjuntos {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de enteros. */
+  private int total;
+  /* La partición. */
+  private ConjuntosDisjuntos particion;
+
+  /**
+   * Crea un generador de números aleatorios y una partición para cada prueba.
+   */
+  public TestConjuntosDisjuntos() {
+    random = new Random();
+    total = 200 + random.nextInt(300);
+    particion = new ConjuntosDisjuntos(total);
+  }
+
+  /* Verifica la partición contra las etiquetas de referencia. */
+  private void verifica(int[] etiquetas) {
+    int conjuntos = 0;
+    for (int i = 0; i < total; i++) {
+      if (etiquetas[i] == i) conjuntos++;
+      int r = particion.encuentra(i);
+      Assert.assertEquals(r, particion.encuentra(r));
+      Assert.assertEquals(etiquetas[i], etiquetas[r]);
+    }
+    Assert.assertEquals(conjuntos, particion.getConjuntos());
+    for (int k = 0; k < total; k++) {
+      int i = random.nextInt(total), j = random.nextInt(total);
+      Assert.assertEquals(etiquetas[i] == etiquetas[j], particion.mismoConjunto(i, j));
+    }
+  }
+
+  /**
+   * Prueba la partición contra una implementación de referencia que
+   * reetiqueta todos los enteros en cada unión.
+   */
+  @Test public void testAleatorio() {
+    int[] etiquetas = new int[total];
+    for (int i = 0; i < total; i++)
+      etiquetas[i] = i;
+    Assert.assertEquals(total, particion.getElementos());
+    verifica(etiquetas);
+    while (particion.getConjuntos() > 1) {
+      int i = random.nextInt(total), j = random.nextInt(total);
+      int a = etiquetas[i], b = etiquetas[j];
+      Assert.assertEquals(a != b, particion.une(i, j));
+      for (int k = 0; k < total; k++)
+        if (etiquetas[k] == b) etiquetas[k] = a;
+      if (random.nextInt(10) == 0) verifica(etiquetas);
+    }
+    verifica(etiquetas);
+    Assert.assertFalse(particion.une(0, total - 1));
+  }
+
+  /**
+   * Prueba que {@link ConjuntosDisjuntos#limpia} regrese cada entero a su
+   * propio conjunto.
+   */
+  @Test public void testLimpia() {
+    for (int i = 1; i < total; i++)
+      particion.une(i - 1, i);
+    Assert.assertEquals(1, particion.getConjuntos());
+    particion.limpia();
+    Assert.assertEquals(total, particion.getConjuntos());
+    for (int i = 0; i < total; i++)
+      Assert.assertEquals(i, particion.encuentra(i));
+  }
+
+  /**
+   * Prueba que los enteros fuera de la partición se rechacen.
+   */
+  @Test public void testExcepciones() {
+    try {
+      new ConjuntosDisjuntos(-1);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      particion.encuentra(total);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    try {
+      particion.une(-1, 0);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    Assert.assertEquals(0, new ConjuntosDisjuntos(0).getConjuntos());
+  }
+}
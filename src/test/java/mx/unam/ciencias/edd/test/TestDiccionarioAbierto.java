@@ -0,0 +1,171 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioAbierto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioAbierto}.
+ */
+public class TestDiccionarioAbierto {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de operaciones. */
+  private int total;
+
+  /**
+   * Crea un generador de números aleatorios para cada prueba.
+   */
+  public TestDiccionarioAbierto() {
+    random = new Random();
+    total = 2000 + random.nextInt(2000);
+  }
+
+  /* Verifica que el diccionario tenga lo mismo que el mapa. */
+  private static void verifica(DiccionarioAbierto<Integer, String> diccionario,
+                               HashMap<Integer, String> mapa) {
+    Assert.assertEquals(mapa.size(), diccionario.getElementos());
+    Assert.assertEquals(mapa.isEmpty(), diccionario.esVacia());
+    Assert.assertTrue(diccionario.carga() < DiccionarioAbierto.MAXIMA_CARGA);
+    for (Integer llave : mapa.keySet()) {
+      Assert.assertTrue(diccionario.contiene(llave));
+      Assert.assertEquals(mapa.get(llave), diccionario.get(llave));
+    }
+    HashSet<Integer> llaves = new HashSet<Integer>();
+    Iterator<Integer> iterador = diccionario.iteradorLlaves();
+    while (iterador.hasNext())
+      Assert.assertTrue(llaves.add(iterador.next()));
+    Assert.assertEquals(mapa.keySet(), llaves);
+    int valores = 0;
+    for (String valor : diccionario) {
+      Assert.assertTrue(mapa.containsValue(valor));
+      valores++;
+    }
+    Assert.assertEquals(mapa.size(), valores);
+  }
+
+  /* Aplica operaciones aleatorias al diccionario y al mapa, y los compara. */
+  private void compara(DiccionarioAbierto<Integer, String> diccionario) {
+    HashMap<Integer, String> mapa = new HashMap<Integer, String>();
+    int rango = total / 2;
+    for (int i = 0; i < total; i++) {
+      int llave = random.nextInt(rango) - rango / 2;
+      if (random.nextInt(3) == 0) {
+        Assert.assertEquals(mapa.containsKey(llave), diccionario.contiene(llave));
+        if (mapa.remove(llave) != null) diccionario.elimina(llave);
+      } else {
+        String valor = String.valueOf(random.nextInt());
+        mapa.put(llave, valor);
+        diccionario.agrega(llave, valor);
+      }
+      Assert.assertEquals(mapa.size(), diccionario.getElementos());
+      if (i % 100 == 0) verifica(diccionario, mapa);
+    }
+    verifica(diccionario, mapa);
+    for (int i = 0; i < rango; i++) {
+      int llave = i - rango / 2;
+      Assert.assertEquals(mapa.containsKey(llave), diccionario.contiene(llave));
+    }
+    for (Integer llave : new HashSet<Integer>(mapa.keySet())) {
+      diccionario.elimina(llave);
+      mapa.remove(llave);
+      Assert.assertFalse(diccionario.contiene(llave));
+    }
+    verifica(diccionario, mapa);
+  }
+
+  /**
+   * Prueba el diccionario contra {@link HashMap} con operaciones aleatorias.
+   */
+  @Test public void testAleatorio() {
+    compara(new DiccionarioAbierto<Integer, String>());
+  }
+
+  /**
+   * Prueba el diccionario con un dispersor con muchas colisiones, para que
+   * eliminar recorra corridas largas.
+   */
+  @Test public void testColisiones() {
+    compara(new DiccionarioAbierto<Integer, String>(4, llave -> llave % 5));
+    compara(new DiccionarioAbierto<Integer, String>(llave -> 0));
+  }
+
+  /**
+   * Prueba que agregar una llave existente reemplace su valor.
+   */
+  @Test public void testReemplaza() {
+    DiccionarioAbierto<Integer, String> diccionario =
+      new DiccionarioAbierto<Integer, String>();
+    diccionario.agrega(1, "a");
+    diccionario.agrega(1, "b");
+    Assert.assertEquals(1, diccionario.getElementos());
+    Assert.assertEquals("b", diccionario.get(1));
+  }
+
+  /**
+   * Prueba que las llaves y valores nulos y las llaves inexistentes se
+   * rechacen.
+   */
+  @Test public void testExcepciones() {
+    DiccionarioAbierto<Integer, String> diccionario =
+      new DiccionarioAbierto<Integer, String>();
+    diccionario.agrega(1, "a");
+    Assert.assertFalse(diccionario.contiene(null));
+    try {
+      diccionario.agrega(null, "a");
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      diccionario.agrega(2, null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      diccionario.get(null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      diccionario.get(2);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    try {
+      diccionario.elimina(2);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    Assert.assertEquals(1, diccionario.getElementos());
+  }
+
+  /**
+   * Prueba {@link DiccionarioAbierto#limpia} y {@link
+   * DiccionarioAbierto#equals}.
+   */
+  @Test public void testLimpiaEquals() {
+    DiccionarioAbierto<Integer, String> a = new DiccionarioAbierto<Integer, String>();
+    DiccionarioAbierto<Integer, String> b = new DiccionarioAbierto<Integer, String>(total);
+    for (int i = 0; i < total; i++) {
+      a.agrega(i, String.valueOf(i));
+      b.agrega(total - 1 - i, String.valueOf(total - 1 - i));
+    }
+    Assert.assertTrue(a.equals(b));
+    b.agrega(0, "x");
+    Assert.assertFalse(a.equals(b));
+    Assert.assertFalse(a.equals(null));
+    a.limpia();
+    Assert.assertTrue(a.esVacia());
+    Assert.assertEquals(0, a.getElementos());
+    Assert.assertFalse(a.contiene(0));
+    Assert.assertFalse(a.iteradorLlaves().hasNext());
+    a.agrega(0, "x");
+    Assert.assertEquals("x", a.get(0));
+  }
+}
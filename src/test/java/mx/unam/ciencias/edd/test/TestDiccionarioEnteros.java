@@ -0,0 +1,172 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import mx.unam.ciencias.edd.DiccionarioEnteros;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link DiccionarioEnteros}.
+ */
+public class TestDiccionarioEnteros {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de operaciones. */
+  private int total;
+  /* El diccionario. */
+  private DiccionarioEnteros<String> diccionario;
+
+  /**
+   * Crea un generador de números aleatorios y un diccionario para cada
+   * prueba.
+   */
+  public TestDiccionarioEnteros() {
+    random = new Random();
+    total = 2000 + random.nextInt(2000);
+    diccionario = new DiccionarioEnteros<String>();
+  }
+
+  /* Regresa una llave aleatoria: en un rango pequeño para que se repita, o
+   * cualquier entero. */
+  private int llave(int rango) {
+    switch (random.nextInt(8)) {
+      case 0: return random.nextInt();
+      case 1: return 0;
+      default: return random.nextInt(rango) - rango / 2;
+    }
+  }
+
+  /* Verifica que el diccionario tenga lo mismo que el mapa. */
+  private void verifica(HashMap<Integer, String> mapa) {
+    Assert.assertEquals(mapa.size(), diccionario.getElementos());
+    Assert.assertEquals(mapa.isEmpty(), diccionario.esVacia());
+    Assert.assertTrue(diccionario.carga() < DiccionarioEnteros.MAXIMA_CARGA);
+    for (Integer llave : mapa.keySet()) {
+      Assert.assertTrue(diccionario.contieneEntero(llave));
+      Assert.assertTrue(diccionario.contiene(llave));
+      Assert.assertEquals(mapa.get(llave), diccionario.getEntero(llave));
+      Assert.assertEquals(mapa.get(llave), diccionario.get(llave));
+    }
+    HashSet<Integer> llaves = new HashSet<Integer>();
+    PrimitiveIterator.OfInt iterador = diccionario.iteradorLlaves();
+    while (iterador.hasNext())
+      Assert.assertTrue(llaves.add(iterador.nextInt()));
+    Assert.assertEquals(mapa.keySet(), llaves);
+    int valores = 0;
+    for (String valor : diccionario) {
+      Assert.assertTrue(mapa.containsValue(valor));
+      valores++;
+    }
+    Assert.assertEquals(mapa.size(), valores);
+  }
+
+  /**
+   * Prueba el diccionario contra {@link HashMap} con operaciones aleatorias,
+   * alternando los métodos con enteros y con {@link Integer}.
+   */
+  @Test public void testAleatorio() {
+    HashMap<Integer, String> mapa = new HashMap<Integer, String>();
+    int rango = total / 2;
+    for (int i = 0; i < total; i++) {
+      int llave = llave(rango);
+      boolean entero = random.nextBoolean();
+      if (random.nextInt(3) == 0) {
+        Assert.assertEquals(mapa.containsKey(llave), diccionario.contieneEntero(llave));
+        if (mapa.remove(llave) == null) continue;
+        if (entero) diccionario.eliminaEntero(llave);
+        else diccionario.elimina(Integer.valueOf(llave));
+      } else {
+        String valor = String.valueOf(random.nextInt());
+        mapa.put(llave, valor);
+        if (entero) diccionario.agregaEntero(llave, valor);
+        else diccionario.agrega(Integer.valueOf(llave), valor);
+      }
+      Assert.assertEquals(mapa.size(), diccionario.getElementos());
+      if (i % 100 == 0) verifica(mapa);
+    }
+    verifica(mapa);
+    for (Integer llave : new HashSet<Integer>(mapa.keySet())) {
+      diccionario.eliminaEntero(llave);
+      mapa.remove(llave);
+      Assert.assertFalse(diccionario.contieneEntero(llave));
+    }
+    verifica(mapa);
+  }
+
+  /**
+   * Prueba que con valores enteros los métodos con {@link Integer} y los
+   * métodos con <code>int</code> se puedan llamar sin ambigüedad.
+   */
+  @Test public void testValoresEnteros() {
+    DiccionarioEnteros<Integer> d = new DiccionarioEnteros<Integer>();
+    d.agrega(1, 2);
+    d.agregaEntero(3, 4);
+    Assert.assertEquals(Integer.valueOf(2), d.get(1));
+    Assert.assertEquals(Integer.valueOf(4), d.getEntero(3));
+    Assert.assertTrue(d.contiene(3));
+    Assert.assertTrue(d.contieneEntero(1));
+    Assert.assertEquals(2, d.getElementos());
+  }
+
+  /**
+   * Prueba que las llaves y valores nulos y las llaves inexistentes se
+   * rechacen.
+   */
+  @Test public void testExcepciones() {
+    diccionario.agregaEntero(1, "a");
+    Assert.assertFalse(diccionario.contiene(null));
+    try {
+      diccionario.agregaEntero(2, null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      diccionario.agrega(null, "a");
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      diccionario.get(null);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+    try {
+      diccionario.getEntero(2);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    try {
+      diccionario.eliminaEntero(2);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    Assert.assertEquals(1, diccionario.getElementos());
+  }
+
+  /**
+   * Prueba {@link DiccionarioEnteros#limpia} y {@link
+   * DiccionarioEnteros#equals}.
+   */
+  @Test public void testLimpiaEquals() {
+    DiccionarioEnteros<String> otro = new DiccionarioEnteros<String>(total);
+    for (int i = 0; i < total; i++) {
+      diccionario.agregaEntero(i, String.valueOf(i));
+      otro.agregaEntero(total - 1 - i, String.valueOf(total - 1 - i));
+    }
+    Assert.assertTrue(diccionario.equals(otro));
+    otro.agregaEntero(0, "x");
+    Assert.assertFalse(diccionario.equals(otro));
+    Assert.assertFalse(diccionario.equals(null));
+    diccionario.limpia();
+    Assert.assertTrue(diccionario.esVacia());
+    Assert.assertFalse(diccionario.contieneEntero(0));
+    Assert.assertFalse(diccionario.iteradorLlaves().hasNext());
+    diccionario.agregaEntero(0, "x");
+    Assert.assertEquals("x", diccionario.getEntero(0));
+  }
+}
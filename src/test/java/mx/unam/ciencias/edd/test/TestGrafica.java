@@ -0,0 +1,153 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolTrayectorias;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.TipoDiccionario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Grafica} con los dos tipos
+ * de diccionario.
+ */
+public class TestGrafica {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de vértices. */
+  private int total;
+  /* Los pesos de las aristas entre elementos; 0 si no son vecinos. */
+  private double[][] pesos;
+  /* Número de aristas. */
+  private int aristas;
+
+  /**
+   * Crea un generador de números aleatorios para cada prueba.
+   */
+  public TestGrafica() {
+    random = new Random();
+    total = 40 + random.nextInt(80);
+  }
+
+  /* Regresa una gráfica aleatoria del tipo recibido y llena la matriz de
+   * pesos. */
+  private Grafica<Integer> grafica(TipoDiccionario tipo, boolean enteros) {
+    Grafica<Integer> grafica = new Grafica<Integer>(tipo);
+    pesos = new double[total][total];
+    aristas = 0;
+    for (int i = 0; i < total; i++)
+      grafica.agrega(i);
+    double densidad = random.nextDouble() * 0.2;
+    for (int i = 0; i < total; i++)
+      for (int j = i + 1; j < total; j++) {
+        if (random.nextDouble() >= densidad) continue;
+        double peso = enteros ? 1 + random.nextInt(50) : 0.5 + random.nextDouble() * 50;
+        grafica.conecta(i, j, peso);
+        pesos[i][j] = pesos[j][i] = peso;
+        aristas++;
+      }
+    return grafica;
+  }
+
+  /* Calcula las distancias desde el origen con Dijkstra sobre la matriz. */
+  private double[] dijkstra(int origen) {
+    double[] d = new double[total];
+    boolean[] listos = new boolean[total];
+    for (int i = 0; i < total; i++)
+      d[i] = Double.POSITIVE_INFINITY;
+    d[origen] = 0;
+    for (int k = 0; k < total; k++) {
+      int v = -1;
+      for (int i = 0; i < total; i++)
+        if (!listos[i] && (v == -1 || d[i] < d[v])) v = i;
+      if (d[v] == Double.POSITIVE_INFINITY) break;
+      listos[v] = true;
+      for (int u = 0; u < total; u++)
+        if (pesos[v][u] > 0 && d[v] + pesos[v][u] < d[u])
+          d[u] = d[v] + pesos[v][u];
+    }
+    return d;
+  }
+
+  /* Elimina vértices al azar y verifica las aristas que quedan. */
+  private void elimina(TipoDiccionario tipo) {
+    Grafica<Integer> grafica = grafica(tipo, true);
+    ArrayList<Integer> restantes = new ArrayList<Integer>();
+    for (int i = 0; i < total; i++)
+      restantes.add(i);
+    while (!restantes.isEmpty()) {
+      int e = restantes.remove(random.nextInt(restantes.size()));
+      grafica.elimina(e);
+      for (int u = 0; u < total; u++)
+        if (pesos[e][u] > 0) {
+          pesos[e][u] = pesos[u][e] = 0;
+          aristas--;
+        }
+      Assert.assertFalse(grafica.contiene(e));
+      Assert.assertEquals(restantes.size(), grafica.getElementos());
+      Assert.assertEquals(aristas, grafica.getAristas());
+      for (int a : restantes) {
+        int grado = 0;
+        for (int b : restantes) {
+          boolean vecinos = pesos[a][b] > 0;
+          if (vecinos) grado++;
+          Assert.assertEquals(vecinos, grafica.sonVecinos(a, b));
+        }
+        Assert.assertEquals(grado, grafica.vertice(a).getGrado());
+      }
+    }
+    Assert.assertTrue(grafica.esVacia());
+    try {
+      grafica.elimina(0);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+  }
+
+  /* Compara Dijkstra con la implementación de referencia. */
+  private void dijkstra(TipoDiccionario tipo, boolean enteros) {
+    Grafica<Integer> grafica = grafica(tipo, enteros);
+    for (int k = 0; k < 5; k++) {
+      int origen = random.nextInt(total);
+      double[] d = dijkstra(origen);
+      ArbolTrayectorias<Integer> arbol = grafica.dijkstra(origen);
+      for (int destino = 0; destino < total; destino++)
+        Assert.assertEquals(d[destino], arbol.distancia(destino), 1e-9);
+    }
+  }
+
+  /**
+   * Prueba eliminar vértices de varias gráficas con diccionarios encadenados.
+   */
+  @Test public void testEliminaEncadenado() {
+    for (int i = 0; i < 5; i++)
+      elimina(TipoDiccionario.ENCADENADO);
+  }
+
+  /**
+   * Prueba eliminar vértices de varias gráficas con diccionarios abiertos: al
+   * quitar las aristas de regreso no se deben saltar vecinos.
+   */
+  @Test public void testEliminaAbierto() {
+    for (int i = 0; i < 5; i++)
+      elimina(TipoDiccionario.ABIERTO);
+  }
+
+  /**
+   * Prueba Dijkstra con pesos enteros, que utiliza un montículo de cubetas,
+   * y con pesos fraccionarios, con los dos tipos de diccionario.
+   */
+  @Test public void testDijkstra() {
+    for (TipoDiccionario tipo : TipoDiccionario.values()) {
+      dijkstra(tipo, true);
+      dijkstra(tipo, false);
+    }
+  }
+}
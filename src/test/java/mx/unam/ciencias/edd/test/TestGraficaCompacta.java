@@ -0,0 +1,200 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GraficaCompacta}.
+ */
+public class TestGraficaCompacta {
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de vértices. */
+  private int total;
+  /* Los pesos de las aristas entre elementos; 0 si no son vecinos. */
+  private double[][] pesos;
+  /* Número de aristas. */
+  private int aristas;
+  /* La gráfica. */
+  private Grafica<Integer> grafica;
+  /* La gráfica congelada. */
+  private GraficaCompacta<Integer> compacta;
+
+  /**
+   * Crea una gráfica aleatoria y la congela para cada prueba.
+   */
+  public TestGraficaCompacta() {
+    random = new Random();
+    total = 40 + random.nextInt(80);
+    pesos = new double[total][total];
+    grafica = new Grafica<Integer>();
+    for (int i = 0; i < total; i++)
+      grafica.agrega(i);
+    double densidad = random.nextDouble() * 0.1;
+    boolean enteros = random.nextBoolean();
+    for (int i = 0; i < total; i++)
+      for (int j = i + 1; j < total; j++) {
+        if (random.nextDouble() >= densidad) continue;
+        double peso = enteros ? 1 + random.nextInt(20) : 0.5 + random.nextDouble() * 20;
+        grafica.conecta(i, j, peso);
+        pesos[i][j] = pesos[j][i] = peso;
+        aristas++;
+      }
+    compacta = grafica.congela();
+  }
+
+  /* Calcula las distancias desde el origen con Dijkstra sobre la matriz. */
+  private double[] dijkstra(int origen) {
+    double[] d = new double[total];
+    boolean[] listos = new boolean[total];
+    for (int i = 0; i < total; i++)
+      d[i] = Double.POSITIVE_INFINITY;
+    d[origen] = 0;
+    for (int k = 0; k < total; k++) {
+      int v = -1;
+      for (int i = 0; i < total; i++)
+        if (!listos[i] && (v == -1 || d[i] < d[v])) v = i;
+      if (d[v] == Double.POSITIVE_INFINITY) break;
+      listos[v] = true;
+      for (int u = 0; u < total; u++)
+        if (pesos[v][u] > 0 && d[v] + pesos[v][u] < d[u])
+          d[u] = d[v] + pesos[v][u];
+    }
+    return d;
+  }
+
+  /* Calcula el número de aristas desde el origen con BFS sobre la matriz. */
+  private int[] bfs(int origen) {
+    int[] d = new int[total];
+    for (int i = 0; i < total; i++)
+      d[i] = -1;
+    d[origen] = 0;
+    ArrayDeque<Integer> cola = new ArrayDeque<Integer>();
+    cola.add(origen);
+    while (!cola.isEmpty()) {
+      int v = cola.remove();
+      for (int u = 0; u < total; u++)
+        if (pesos[v][u] > 0 && d[u] == -1) {
+          d[u] = d[v] + 1;
+          cola.add(u);
+        }
+    }
+    return d;
+  }
+
+  /**
+   * Prueba que la gráfica congelada tenga los mismos vértices, aristas y
+   * pesos que la original.
+   */
+  @Test public void testEstructura() {
+    Assert.assertEquals(total, compacta.getElementos());
+    Assert.assertEquals(aristas, compacta.getAristas());
+    Assert.assertEquals(grafica.getAristas(), compacta.getAristas());
+    for (int e = 0; e < total; e++) {
+      int v = compacta.id(e);
+      Assert.assertEquals(Integer.valueOf(e), compacta.elemento(v));
+      int grado = 0;
+      for (int u = 0; u < total; u++)
+        if (pesos[e][u] > 0) grado++;
+      Assert.assertEquals(grado, compacta.getGrado(v));
+      for (int i = 0; i < compacta.getGrado(v); i++) {
+        int u = compacta.elemento(compacta.vecino(v, i));
+        Assert.assertEquals(pesos[e][u], compacta.peso(v, i), 0);
+      }
+    }
+    try {
+      compacta.id(total);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    try {
+      compacta.getGrado(total);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+  }
+
+  /**
+   * Prueba que congelar no se vea afectado por cambios posteriores en la
+   * gráfica.
+   */
+  @Test public void testInmutable() {
+    grafica.agrega(total);
+    grafica.conecta(0, total, 1);
+    Assert.assertEquals(total, compacta.getElementos());
+    Assert.assertEquals(aristas, compacta.getAristas());
+  }
+
+  /**
+   * Prueba las distancias y trayectorias de Dijkstra contra una
+   * implementación de referencia sobre la matriz de pesos.
+   */
+  @Test public void testDijkstra() {
+    int[] trayectoria = new int[total];
+    for (int k = 0; k < 10; k++) {
+      int origen = random.nextInt(total);
+      double[] d = dijkstra(origen);
+      for (int destino = 0; destino < total; destino++) {
+        double c = compacta.dijkstra(compacta.id(origen), compacta.id(destino));
+        Assert.assertEquals(d[destino], c, 1e-9);
+        int n = compacta.trayectoria(compacta.id(destino), trayectoria);
+        if (d[destino] == Double.POSITIVE_INFINITY) {
+          Assert.assertEquals(0, n);
+          continue;
+        }
+        Assert.assertEquals(origen, (int) compacta.elemento(trayectoria[0]));
+        Assert.assertEquals(destino, (int) compacta.elemento(trayectoria[n - 1]));
+        double suma = 0;
+        for (int i = 1; i < n; i++) {
+          double p = pesos[compacta.elemento(trayectoria[i - 1])][compacta.elemento(trayectoria[i])];
+          Assert.assertTrue(p > 0);
+          suma += p;
+        }
+        Assert.assertEquals(d[destino], suma, 1e-9);
+      }
+    }
+  }
+
+  /**
+   * Prueba que BFS y DFS visiten la componente conexa del origen, y que BFS
+   * deje en cada vértice su número de aristas al origen.
+   */
+  @Test public void testRecorridos() {
+    int[] orden = new int[total];
+    for (int k = 0; k < 10; k++) {
+      int origen = random.nextInt(total);
+      int[] d = bfs(origen);
+      int componente = 0;
+      for (int i = 0; i < total; i++)
+        if (d[i] != -1) componente++;
+      Assert.assertEquals(componente, compacta.bfs(compacta.id(origen), orden));
+      Assert.assertEquals(origen, (int) compacta.elemento(orden[0]));
+      for (int i = 0; i < total; i++) {
+        double c = compacta.distancia(compacta.id(i));
+        if (d[i] == -1) Assert.assertEquals(Double.POSITIVE_INFINITY, c, 0);
+        else Assert.assertEquals(d[i], c, 0);
+      }
+      boolean[] visto = new boolean[total];
+      Assert.assertEquals(componente, compacta.dfs(compacta.id(origen), orden));
+      for (int i = 0; i < componente; i++) {
+        int e = compacta.elemento(orden[i]);
+        Assert.assertTrue(d[e] != -1 && !visto[e]);
+        visto[e] = true;
+      }
+    }
+    int[] d = bfs(0);
+    boolean conexa = true;
+    for (int i = 0; i < total; i++)
+      conexa &= d[i] != -1;
+    Assert.assertEquals(conexa, compacta.esConexa());
+  }
+}
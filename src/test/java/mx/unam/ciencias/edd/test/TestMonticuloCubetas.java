@@ -0,0 +1,191 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ComparableIndexable;
+import mx.unam.ciencias.edd.MonticuloCubetas;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloCubetas}.
+ */
+public class TestMonticuloCubetas {
+
+  /* Elemento con prioridad entera para las pruebas. */
+  private static class Elemento implements ComparableIndexable<Elemento> {
+    /* La prioridad del elemento. */
+    private int prioridad;
+    /* El índice del elemento. */
+    private int indice;
+
+    /* Construye un elemento con la prioridad recibida. */
+    public Elemento(int prioridad) {
+      this.prioridad = prioridad;
+      indice = -1;
+    }
+
+    @Override public int getIndice() {
+      return indice;
+    }
+
+    @Override public void setIndice(int indice) {
+      this.indice = indice;
+    }
+
+    @Override public int compareTo(Elemento e) {
+      return Integer.compare(prioridad, e.prioridad);
+    }
+  }
+
+  /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+  @Rule public Timeout expiracion = Timeout.seconds(5);
+
+  /* Generador de números aleatorios. */
+  private Random random;
+  /* Número de elementos. */
+  private int total;
+  /* Peso máximo. */
+  private int pesoMaximo;
+
+  /**
+   * Crea un generador de números aleatorios para cada prueba.
+   */
+  public TestMonticuloCubetas() {
+    random = new Random();
+    total = 500 + random.nextInt(500);
+    pesoMaximo = 1 + random.nextInt(64);
+  }
+
+  /* Regresa el montículo con los elementos recibidos. */
+  private static MonticuloCubetas<Elemento> monticulo(ArrayList<Elemento> elementos,
+                                                      int pesoMaximo) {
+    return new MonticuloCubetas<Elemento>(elementos, elementos.size(),
+                                          e -> e.prioridad, pesoMaximo);
+  }
+
+  /* Regresa la mínima prioridad de los elementos. */
+  private static int minimo(ArrayList<Elemento> elementos) {
+    int m = Integer.MAX_VALUE;
+    for (Elemento e : elementos)
+      m = Math.min(m, e.prioridad);
+    return m;
+  }
+
+  /* Verifica que get recorra exactamente los elementos restantes. */
+  private static void verifica(MonticuloCubetas<Elemento> monticulo,
+                               ArrayList<Elemento> restantes) {
+    Assert.assertEquals(restantes.size(), monticulo.getElementos());
+    Assert.assertEquals(restantes.isEmpty(), monticulo.esVacia());
+    for (int i = 0; i < monticulo.getElementos(); i++) {
+      Elemento e = monticulo.get(i);
+      Assert.assertEquals(i, e.getIndice());
+      Assert.assertTrue(restantes.contains(e));
+    }
+  }
+
+  /**
+   * Prueba que los elementos se eliminen en orden cuando las prioridades
+   * iniciales caben en las cubetas.
+   */
+  @Test public void testEliminaEnOrden() {
+    ArrayList<Elemento> restantes = new ArrayList<Elemento>();
+    for (int i = 0; i < total; i++)
+      restantes.add(new Elemento(random.nextInt(pesoMaximo + 1)));
+    MonticuloCubetas<Elemento> monticulo = monticulo(restantes, pesoMaximo);
+    verifica(monticulo, restantes);
+    int anterior = 0;
+    while (!monticulo.esVacia()) {
+      int m = minimo(restantes);
+      Elemento e = monticulo.elimina();
+      Assert.assertEquals(-1, e.getIndice());
+      Assert.assertEquals(m, e.prioridad);
+      Assert.assertTrue(anterior <= e.prioridad);
+      anterior = e.prioridad;
+      Assert.assertTrue(restantes.remove(e));
+      verifica(monticulo, restantes);
+    }
+  }
+
+  /**
+   * Prueba el montículo como lo usa Dijkstra: todos los elementos empiezan
+   * con prioridad infinita salvo uno, y las prioridades sólo disminuyen hasta
+   * a lo más el peso máximo más la del último elemento eliminado.
+   */
+  @Test public void testReordena() {
+    ArrayList<Elemento> restantes = new ArrayList<Elemento>();
+    for (int i = 0; i < total; i++)
+      restantes.add(new Elemento(i == 0 ? 0 : Integer.MAX_VALUE));
+    MonticuloCubetas<Elemento> monticulo = monticulo(restantes, pesoMaximo);
+    while (!monticulo.esVacia()) {
+      int m = minimo(restantes);
+      Elemento e = monticulo.elimina();
+      Assert.assertEquals(m, e.prioridad);
+      Assert.assertTrue(restantes.remove(e));
+      verifica(monticulo, restantes);
+      if (e.prioridad == Integer.MAX_VALUE) continue;
+      for (int k = 0; k < 4 && !restantes.isEmpty(); k++) {
+        Elemento v = restantes.get(random.nextInt(restantes.size()));
+        int p = e.prioridad + random.nextInt(pesoMaximo + 1);
+        if (p >= v.prioridad) continue;
+        v.prioridad = p;
+        monticulo.reordena(v);
+        verifica(monticulo, restantes);
+      }
+    }
+    /* Reordenar un elemento ya eliminado no hace nada. */
+    Elemento e = new Elemento(0);
+    monticulo.reordena(e);
+    Assert.assertTrue(monticulo.esVacia());
+  }
+
+  /**
+   * Prueba que {@link MonticuloCubetas#get} no regrese elementos eliminados.
+   */
+  @Test public void testGet() {
+    ArrayList<Elemento> elementos = new ArrayList<Elemento>();
+    for (int i = 0; i < total; i++)
+      elementos.add(new Elemento(random.nextInt(pesoMaximo + 1)));
+    MonticuloCubetas<Elemento> monticulo = monticulo(elementos, pesoMaximo);
+    int eliminados = 1 + random.nextInt(total - 1);
+    for (int i = 0; i < eliminados; i++)
+      monticulo.elimina();
+    Assert.assertEquals(total - eliminados, monticulo.getElementos());
+    for (int i = 0; i < monticulo.getElementos(); i++)
+      Assert.assertNotEquals(-1, monticulo.get(i).getIndice());
+    try {
+      monticulo.get(monticulo.getElementos());
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+    try {
+      monticulo.get(-1);
+      Assert.fail();
+    } catch (NoSuchElementException nsee) {}
+  }
+
+  /**
+   * Prueba que eliminar de un montículo vacío lance una excepción.
+   */
+  @Test public void testEliminaVacio() {
+    MonticuloCubetas<Elemento> monticulo =
+      monticulo(new ArrayList<Elemento>(), pesoMaximo);
+    Assert.assertTrue(monticulo.esVacia());
+    try {
+      monticulo.elimina();
+      Assert.fail();
+    } catch (IllegalStateException ise) {}
+  }
+
+  /**
+   * Prueba que el constructor rechace un peso máximo negativo.
+   */
+  @Test public void testPesoMaximoNegativo() {
+    try {
+      monticulo(new ArrayList<Elemento>(), -1);
+      Assert.fail();
+    } catch (IllegalArgumentException iae) {}
+  }
+}